@@ -0,0 +1,230 @@
+// src/main/java/org/example/collectfocep/services/AgenceExportService.java
+package org.example.collectfocep.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.collectfocep.dto.ExportProgress;
+import org.example.collectfocep.util.Montant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exports d'agence (clients avec totaux, historique des mouvements) en flux continu
+ * - Curseur JDBC en avant seulement (fetchSize Integer.MIN_VALUE : Connector/J lit les lignes
+ *   une à une), sans JPA ni contexte de persistance
+ * - Chaque ligne lue est écrite aussitôt (ExportWriter) : mémoire constante quelle que soit la taille,
+ *   et un client lent ralentit la lecture au lieu d'accumuler des lignes (contre-pression)
+ * - Exports simultanés bornés : chacun tient une connexion pendant toute sa durée
+ * - Avancement consultable par exportId (GET /api/exports/{exportId})
+ *
+ * /clients/export, /reports/generate et les téléchargements Excel du flux commission v2
+ * délèguent à ce service.
+ */
+@Service
+public class AgenceExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgenceExportService.class);
+
+    public static final String TYPE_CLIENTS = "clients";
+    public static final String TYPE_MOUVEMENTS = "mouvements";
+    public static final String TYPE_COMPLET = "complet";
+
+    private static final String CLIENTS_AGENCE =
+        "SELECT c.id, c.numero_compte, c.nom, c.prenom, c.telephone, c.ville, c.quartier, c.valide, c.collecteur_id, " +
+        "COALESCE(cs.total_epargne_centimes, 0), COALESCE(cs.total_retraits_centimes, 0), " +
+        "COALESCE(cs.nombre_transactions, 0), cs.derniere_transaction " +
+        "FROM clients c JOIN collecteurs col ON col.id = c.collecteur_id " +
+        "LEFT JOIN client_stats cs ON cs.client_id = c.id " +
+        "WHERE col.agence_id = ? ORDER BY c.collecteur_id, c.id";
+
+    private static final String MOUVEMENTS_AGENCE =
+        "SELECT m.id, m.date_operation, COALESCE(m.collecteur_id, c.collecteur_id), c.id, c.numero_compte, " +
+        "c.nom, c.prenom, m.sens, m.montant, m.libelle, m.type_mouvement " +
+        "FROM mouvements m JOIN clients c ON c.id = m.client_id " +
+        "JOIN collecteurs col ON col.id = c.collecteur_id " +
+        "WHERE col.agence_id = ? AND m.date_operation >= ? AND m.date_operation < ? " +
+        "ORDER BY m.date_operation, m.id";
+
+    private static final String[] COLONNES_CLIENTS = {
+        "ID", "N° compte", "Nom", "Prénom", "Téléphone", "Ville", "Quartier", "Validé", "Collecteur",
+        "Total épargne", "Total retraits", "Solde net", "Nb transactions", "Dernière transaction"
+    };
+
+    private static final String[] COLONNES_MOUVEMENTS = {
+        "ID", "Date", "Collecteur", "Client", "N° compte", "Nom", "Prénom", "Sens", "Montant", "Libellé", "Type"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Semaphore exportsSimultanes;
+    private final Cache<String, ExportProgress> progressions;
+
+    public AgenceExportService(DataSource dataSource,
+                               @Value("${exports.max-concurrent:2}") int maxConcurrent,
+                               @Value("${exports.progress-retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Integer.MIN_VALUE : Connector/J lit les lignes une à une au lieu de tout charger
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        this.exportsSimultanes = new Semaphore(Math.max(1, maxConcurrent));
+        this.progressions = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+            .build();
+    }
+
+    /**
+     * Type d'export normalisé
+     * @throws IllegalArgumentException type inconnu
+     */
+    public static String normaliserType(String type) {
+        String normalise = type == null ? TYPE_COMPLET : type.trim().toLowerCase(Locale.ROOT);
+        if (!TYPE_CLIENTS.equals(normalise) && !TYPE_MOUVEMENTS.equals(normalise) && !TYPE_COMPLET.equals(normalise)) {
+            throw new IllegalArgumentException("Type d'export inconnu: " + type + " (attendus: clients, mouvements, complet)");
+        }
+        return normalise;
+    }
+
+    /**
+     * Réserve une place d'export et enregistre son suivi sous un identifiant généré ici
+     * (jamais fourni par l'appelant : un suivi ne peut pas en écraser un autre)
+     * @return null si le nombre maximal d'exports simultanés est atteint
+     */
+    public ExportProgress reserver(String type, String format, String proprietaire) {
+        if (!exportsSimultanes.tryAcquire()) {
+            return null;
+        }
+        String exportId = UUID.randomUUID().toString();
+        ExportProgress progress = new ExportProgress(exportId, type, ExportWriter.normaliserFormat(format), proprietaire);
+        progressions.put(exportId, progress);
+        return progress;
+    }
+
+    /**
+     * @return le suivi de l'export, null s'il est inconnu, expiré ou lancé par un autre utilisateur
+     */
+    public ExportProgress getProgress(String exportId, String utilisateur) {
+        ExportProgress progress = progressions.getIfPresent(exportId);
+        return progress != null && progress.getProprietaire().equals(utilisateur) ? progress : null;
+    }
+
+    /**
+     * 🔥 Écrit l'export dans le flux, puis libère la place réservée par reserver()
+     * Les mouvements couvrent [dateDebut, dateFin] (bornes incluses)
+     */
+    public void exporter(ExportProgress progress, Long agenceId, LocalDate dateDebut, LocalDate dateFin, OutputStream out) {
+        long debut = System.nanoTime();
+        String type = progress.getType();
+        try (ExportWriter writer = ExportWriter.create(progress.getFormat(), out)) {
+            progress.setLignesEstimees(estimer(type, agenceId, dateDebut, dateFin));
+
+            if (!TYPE_MOUVEMENTS.equals(type)) {
+                writer.startSheet("Clients", COLONNES_CLIENTS);
+                streamingJdbcTemplate.query(CLIENTS_AGENCE, ligneClient(writer, progress), agenceId);
+            }
+            if (!TYPE_CLIENTS.equals(type)) {
+                writer.startSheet("Mouvements", COLONNES_MOUVEMENTS);
+                streamingJdbcTemplate.query(MOUVEMENTS_AGENCE, ligneMouvement(writer, progress),
+                    agenceId,
+                    Timestamp.valueOf(dateDebut.atStartOfDay()),
+                    Timestamp.valueOf(dateFin.plusDays(1).atStartOfDay()));
+            }
+
+            writer.finish();
+            progress.terminer();
+            logger.info("📤 Export {} {} de l'agence {} : {} ligne(s) en {} ms", type, progress.getFormat(), agenceId,
+                        progress.getLignes(), (System.nanoTime() - debut) / 1_000_000);
+        } catch (RuntimeException e) {
+            progress.echouer(e.getMessage());
+            throw e;
+        } finally {
+            exportsSimultanes.release();
+        }
+    }
+
+    /**
+     * Nombre de lignes attendu, lu dans les agrégats (aucun parcours de mouvements)
+     */
+    private long estimer(String type, Long agenceId, LocalDate dateDebut, LocalDate dateFin) {
+        long lignes = 0;
+        if (!TYPE_MOUVEMENTS.equals(type)) {
+            Long clients = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM clients c JOIN collecteurs col ON col.id = c.collecteur_id WHERE col.agence_id = ?",
+                Long.class, agenceId);
+            lignes += clients != null ? clients : 0;
+        }
+        if (!TYPE_CLIENTS.equals(type)) {
+            Long mouvements = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(nombre_transactions), 0) FROM rollup_journalier WHERE agence_id = ? AND jour BETWEEN ? AND ?",
+                Long.class, agenceId, Date.valueOf(dateDebut), Date.valueOf(dateFin));
+            lignes += mouvements != null ? mouvements : 0;
+        }
+        return lignes;
+    }
+
+    private static RowCallbackHandler ligneClient(ExportWriter writer, ExportProgress progress) {
+        return rs -> {
+            long epargne = rs.getLong(10);
+            long retraits = rs.getLong(11);
+            writer.row(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7),
+                (Boolean) rs.getObject(8, Boolean.class),
+                rs.getObject(9, Long.class),
+                Montant.ofCentimes(epargne).toBigDecimal(),
+                Montant.ofCentimes(retraits).toBigDecimal(),
+                Montant.ofCentimes(epargne - retraits).toBigDecimal(),
+                rs.getLong(12),
+                toLocalDateTime(rs, 13));
+            progress.ligneEcrite();
+        };
+    }
+
+    private static RowCallbackHandler ligneMouvement(ExportWriter writer, ExportProgress progress) {
+        return rs -> {
+            Double montant = rs.getObject(9, Double.class);
+            writer.row(
+                rs.getLong(1),
+                toLocalDateTime(rs, 2),
+                rs.getObject(3, Long.class),
+                rs.getLong(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getString(8),
+                montant != null ? Montant.of(montant).toBigDecimal() : null,
+                rs.getString(10),
+                rs.getString(11));
+            progress.ligneEcrite();
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, int colonne) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(colonne);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,57 @@
+// src/main/java/org/example/collectfocep/dto/BulkMouvementRequestDTO.java
+package org.example.collectfocep.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lot de mouvements collectés hors ligne par un collecteur (POST /mouvements/bulk)
+ * Chaque élément porte une clé d'idempotence générée par l'application : un lot renvoyé
+ * après une coupure réseau ne crée jamais de doublon
+ */
+public class BulkMouvementRequestDTO {
+
+    private Long collecteurId;
+    private List<Item> mouvements;
+
+    public BulkMouvementRequestDTO() {}
+
+    public Long getCollecteurId() { return collecteurId; }
+    public void setCollecteurId(Long collecteurId) { this.collecteurId = collecteurId; }
+
+    public List<Item> getMouvements() { return mouvements; }
+    public void setMouvements(List<Item> mouvements) { this.mouvements = mouvements; }
+
+    /**
+     * Mouvement saisi hors ligne
+     */
+    public static class Item {
+        private String cleIdempotence;
+        private Long clientId;
+        private Double montant;
+        private String sens; // EPARGNE ou RETRAIT (casse ignorée)
+        // Heure de saisie sur le téléphone ; heure de réception si absente
+        private LocalDateTime dateOperation;
+        private String libelle;
+
+        public Item() {}
+
+        public String getCleIdempotence() { return cleIdempotence; }
+        public void setCleIdempotence(String cleIdempotence) { this.cleIdempotence = cleIdempotence; }
+
+        public Long getClientId() { return clientId; }
+        public void setClientId(Long clientId) { this.clientId = clientId; }
+
+        public Double getMontant() { return montant; }
+        public void setMontant(Double montant) { this.montant = montant; }
+
+        public String getSens() { return sens; }
+        public void setSens(String sens) { this.sens = sens; }
+
+        public LocalDateTime getDateOperation() { return dateOperation; }
+        public void setDateOperation(LocalDateTime dateOperation) { this.dateOperation = dateOperation; }
+
+        public String getLibelle() { return libelle; }
+        public void setLibelle(String libelle) { this.libelle = libelle; }
+    }
+}
@@ -0,0 +1,83 @@
+// src/main/java/org/example/collectfocep/dto/BulkMouvementResultDTO.java
+package org.example.collectfocep.dto;
+
+import org.example.collectfocep.util.Montant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Résultat d'un lot de mouvements : un résultat par élément, dans l'ordre de la requête
+ * CREE et DEJA_TRAITE sont des succès (l'application retire l'opération de sa file) ;
+ * REJETE est définitif (solde insuffisant, client inconnu, donnée invalide)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkMouvementResultDTO {
+
+    public static final String CREE = "CREE";
+    public static final String DEJA_TRAITE = "DEJA_TRAITE";
+    public static final String REJETE = "REJETE";
+
+    private Integer crees;
+    private Integer dejaTraites;
+    private Integer rejetes;
+    private List<ItemResult> resultats;
+
+    public BulkMouvementResultDTO() {}
+
+    // Getters et Setters
+    public Integer getCrees() { return crees; }
+    public void setCrees(Integer crees) { this.crees = crees; }
+
+    public Integer getDejaTraites() { return dejaTraites; }
+    public void setDejaTraites(Integer dejaTraites) { this.dejaTraites = dejaTraites; }
+
+    public Integer getRejetes() { return rejetes; }
+    public void setRejetes(Integer rejetes) { this.rejetes = rejetes; }
+
+    public List<ItemResult> getResultats() { return resultats; }
+    public void setResultats(List<ItemResult> resultats) { this.resultats = resultats; }
+
+    /**
+     * Résultat d'un élément du lot
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private String cleIdempotence;
+        private String statut;
+        private Long mouvementId;
+        // Solde du compte client après ce mouvement (CREE uniquement)
+        private Montant soldeApres;
+        private String errorCode;
+        private String message;
+
+        public ItemResult() {}
+
+        public ItemResult(String cleIdempotence) {
+            this.cleIdempotence = cleIdempotence;
+        }
+
+        public void rejeter(String errorCode, String message) {
+            this.statut = REJETE;
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+
+        public String getCleIdempotence() { return cleIdempotence; }
+        public void setCleIdempotence(String cleIdempotence) { this.cleIdempotence = cleIdempotence; }
+
+        public String getStatut() { return statut; }
+        public void setStatut(String statut) { this.statut = statut; }
+
+        public Long getMouvementId() { return mouvementId; }
+        public void setMouvementId(Long mouvementId) { this.mouvementId = mouvementId; }
+
+        public Montant getSoldeApres() { return soldeApres; }
+        public void setSoldeApres(Montant soldeApres) { this.soldeApres = soldeApres; }
+
+        public String getErrorCode() { return errorCode; }
+        public void setErrorCode(String errorCode) { this.errorCode = errorCode; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
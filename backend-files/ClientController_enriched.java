@@ -2,18 +2,35 @@
 // src/main/java/org/example/collectfocep/web/controllers/ClientController.java
 
 import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.ClientSummaryView;
+import org.example.collectfocep.services.ClientSearchIndex;
 import org.example.collectfocep.services.ClientStatsService;
+import org.example.collectfocep.services.ClientStreamingService;
+import org.example.collectfocep.services.ClientVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 /**
  * 🔥 VERSION ENRICHIE de la méthode getClientsCollecteur
  * Remplace la méthode existante dans ClientController.java
+ * ?view=list|card|full (défaut full) ou ?fields=totaux,transactions,commission
  */
 @GetMapping("/collecteur/{collecteurId}")
-public ResponseEntity<?> getClientsCollecteur(@PathVariable Long collecteurId, Authentication authentication) {
+public ResponseEntity<?> getClientsCollecteur(@PathVariable Long collecteurId,
+                                              @RequestParam(required = false) String view,
+                                              @RequestParam(required = false) String fields,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              Authentication authentication) {
     try {
-        logger.info("📋 Récupération des clients ENRICHIS pour le collecteur: {} par {}", 
-                   collecteurId, authentication.getName());
+        ClientSummaryView summaryView = ClientSummaryView.of(view, fields);
+        logger.info("📋 Récupération des clients ENRICHIS ({}) pour le collecteur: {} par {}", 
+                   summaryView, collecteurId, authentication.getName());
 
         // Vérification des permissions (code existant inchangé)
         if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
@@ -30,21 +47,50 @@ public ResponseEntity<?> getClientsCollecteur(@PathVariable Long collecteurId, A
                 .body(ApiResponse.error("Collecteur non trouvé", null));
         }
 
-        // 🔥 RÉCUPÉRATION CLASSIQUE DES CLIENTS
-        List<Client> clients = clientRepository.findByCollecteurId(collecteurId);
+        // 🔥 REQUÊTE CONDITIONNELLE : empreinte lue AVANT l'enrichissement
+        // Une écriture concurrente donne au pire une réponse plus récente que son ETag, jamais l'inverse
+        String etag = clientVersionService.collecteurEtag(collecteurId, summaryView);
+        if (ClientVersionService.matches(ifNoneMatch, etag)) {
+            logger.debug("♻️ Liste des clients du collecteur {} inchangée (304)", collecteurId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+
+        // 🔥 RÉCUPÉRATION DES CLIENTS PAR PROJECTION (aucune entité chargée, compte client joint)
+        List<ClientSummaryDTO> clients = clientRepository.findSummariesByCollecteurId(collecteurId);
         
-        // 🔥 ENRICHISSEMENT AVEC STATS, TRANSACTIONS ET TOTAUX
-        List<ClientSummaryDTO> enrichedClients = clients.parallelStream() // Parallélisation pour les perfs
-            .map(clientStatsService::enrichClientWithStats)
-            .collect(Collectors.toList());
+        // 🔥 ENRICHISSEMENT AVEC STATS, TRANSACTIONS ET TOTAUX (parties de la vue seulement)
+        // Requêtes groupées : nombre de requêtes constant quel que soit le nombre de clients
+        List<ClientSummaryDTO> enrichedClients = clientStatsService.enrichSummariesWithStats(clients, summaryView);
+
+        long incomplets = enrichedClients.stream()
+            .filter(c -> Boolean.TRUE.equals(c.getStatsIncompletes()))
+            .count();
+        if (incomplets > 0) {
+            logger.warn("⏱️ {} client(s) sans statistiques (échéance dépassée) pour le collecteur {}", incomplets, collecteurId);
+            // 🔥 Réponse partielle : ni ETag ni mise en cache, sinon le 304 suivant la figerait côté client
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success(
+                    "Récupéré " + clients.size() + " clients, statistiques incomplètes pour " + incomplets,
+                    enrichedClients));
+        }
 
         logger.info("✅ Récupéré {} clients ENRICHIS pour le collecteur {}", clients.size(), collecteurId);
         
         // 🔥 RÉPONSE ENRICHIE
-        return ResponseEntity.ok(ApiResponse.success(
-            "Récupéré " + clients.size() + " clients avec statistiques complètes", 
-            enrichedClients));
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(ApiResponse.success(
+                "Récupéré " + clients.size() + " clients avec statistiques complètes",
+                enrichedClients));
 
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+            .body(ApiResponse.error(e.getMessage(), null));
     } catch (Exception e) {
         logger.error("❌ Erreur lors de la récupération des clients enrichis pour collecteur {}: {}", 
                     collecteurId, e.getMessage());
@@ -53,32 +99,95 @@ public ResponseEntity<?> getClientsCollecteur(@PathVariable Long collecteurId, A
     }
 }
 
+// 🔥 VARIANTE STREAMING : même URL, sélectionnée par "Accept: application/x-ndjson"
+// Un ClientSummaryDTO par ligne, envoyé dès que sa tranche est enrichie
+@GetMapping(value = "/collecteur/{collecteurId}", produces = ClientStreamingService.APPLICATION_NDJSON_VALUE)
+public void streamClientsCollecteur(@PathVariable Long collecteurId, Authentication authentication,
+                                    HttpServletResponse response) throws IOException {
+    logger.info("📋 Streaming NDJSON des clients du collecteur: {} par {}", collecteurId, authentication.getName());
+
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        logger.warn("🚫 Accès refusé au collecteur {} pour {}", collecteurId, authentication.getName());
+        response.sendError(HttpServletResponse.SC_FORBIDDEN, "Accès non autorisé");
+        return;
+    }
+
+    if (!collecteurRepository.existsById(collecteurId)) {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND, "Collecteur non trouvé");
+        return;
+    }
+
+    response.setContentType(ClientStreamingService.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+
+    try {
+        int count = clientStreamingService.streamClientsCollecteur(collecteurId, response.getOutputStream());
+        logger.info("✅ {} clients ENRICHIS diffusés pour le collecteur {}", count, collecteurId);
+    } catch (Exception e) {
+        // En-têtes déjà envoyés : le client détecte la coupure du flux
+        logger.error("❌ Erreur pendant le streaming des clients du collecteur {}: {}", collecteurId, e.getMessage());
+    }
+}
+
 // 🔥 NOUVELLE MÉTHODE : Endpoint dédié pour un client avec détails complets
+// Mêmes paramètres view / fields que la liste
 @GetMapping("/{clientId}/summary")
-public ResponseEntity<?> getClientSummary(@PathVariable Long clientId, Authentication authentication) {
+public ResponseEntity<?> getClientSummary(@PathVariable Long clientId,
+                                          @RequestParam(required = false) String view,
+                                          @RequestParam(required = false) String fields,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          Authentication authentication) {
     try {
-        logger.info("📊 Récupération du résumé complet pour le client: {} par {}", clientId, authentication.getName());
+        ClientSummaryView summaryView = ClientSummaryView.of(view, fields);
+        logger.info("📊 Récupération du résumé ({}) pour le client: {} par {}", summaryView, clientId, authentication.getName());
 
-        // Récupérer le client
-        Optional<Client> clientOpt = clientRepository.findById(clientId);
-        if (!clientOpt.isPresent()) {
+        // 🔥 Empreinte d'abord : existence, collecteur (permissions) et version en une requête
+        ClientVersionService.ClientVersion version = clientVersionService.clientVersion(clientId, summaryView);
+        if (version == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error("Client non trouvé", null));
         }
 
-        Client client = clientOpt.get();
-
-        // Vérification des permissions
-        if (!securityService.canAccessCollecteurData(client.getCollecteur().getId(), authentication)) {
+        // Vérification des permissions (avant toute réponse, 304 compris)
+        if (!securityService.canAccessCollecteurData(version.getCollecteurId(), authentication)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(ApiResponse.error("Accès non autorisé", null));
         }
 
-        // 🔥 ENRICHISSEMENT COMPLET
-        ClientSummaryDTO enrichedClient = clientStatsService.enrichClientWithStats(client);
+        if (ClientVersionService.matches(ifNoneMatch, version.getEtag())) {
+            logger.debug("♻️ Résumé du client {} inchangé (304)", clientId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+
+        // 🔥 PROJECTION (aucune entité chargée), comme la liste du collecteur
+        List<ClientSummaryDTO> summaries = clientRepository.findSummariesByCollecteurIdAndIdIn(
+            version.getCollecteurId(), List.of(clientId));
+        if (summaries.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Client non trouvé", null));
+        }
+
+        // 🔥 ENRICHISSEMENT (parties de la vue seulement)
+        ClientSummaryDTO enrichedClient = clientStatsService.enrichSummariesWithStats(summaries, summaryView).get(0);
 
-        return ResponseEntity.ok(ApiResponse.success("Résumé client récupéré", enrichedClient));
+        if (Boolean.TRUE.equals(enrichedClient.getStatsIncompletes())) {
+            // Réponse partielle : ni ETag ni mise en cache (voir la liste du collecteur)
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success("Résumé client récupéré, statistiques incomplètes", enrichedClient));
+        }
+
+        return ResponseEntity.ok()
+            .eTag(version.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(ApiResponse.success("Résumé client récupéré", enrichedClient));
 
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+            .body(ApiResponse.error(e.getMessage(), null));
     } catch (Exception e) {
         logger.error("❌ Erreur lors de la récupération du résumé client {}: {}", clientId, e.getMessage());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -86,6 +195,108 @@ public ResponseEntity<?> getClientSummary(@PathVariable Long clientId, Authentic
     }
 }
 
+// 🔥 RECHERCHE PAR INDEX EN MÉMOIRE (ClientSearchIndex) : aucune requête LIKE par frappe
+// Nom / prénom (préfixe, trigrammes, sans accents), numéro de compte et téléphone (exact ou préfixe)
+
+@GetMapping("/collecteur/{collecteurId}/search-unified")
+public ResponseEntity<?> searchUnified(@PathVariable Long collecteurId,
+                                       @RequestParam String query,
+                                       @RequestParam(defaultValue = "" + ClientSearchIndex.LIMIT_DEFAUT) int limit,
+                                       Authentication authentication) {
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        logger.warn("🚫 Recherche refusée sur le collecteur {} pour {}", collecteurId, authentication.getName());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    try {
+        List<ClientSummaryDTO> clients = clientSearchIndex.rechercher(collecteurId, query, limit);
+        return ResponseEntity.ok(ApiResponse.success(clients.size() + " client(s) trouvé(s)", clients));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors de la recherche de clients du collecteur {}: {}", collecteurId, e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors de la recherche", null));
+    }
+}
+
+/**
+ * Remplace l'ancienne implémentation LIKE de GET /clients/search?q=&collecteurId=
+ * ⚠️ Changement de contrat : collecteurId est désormais obligatoire (400 sinon) ; la recherche
+ * sur toute une agence passe par /agence/{agenceId}/search (administrateurs de l'agence).
+ * L'application mobile (clientService.searchClients) complète déjà le paramètre.
+ */
+@GetMapping("/search")
+public ResponseEntity<?> searchClients(@RequestParam String q,
+                                       @RequestParam(required = false) Long collecteurId,
+                                       @RequestParam(defaultValue = "" + ClientSearchIndex.LIMIT_DEFAUT) int limit,
+                                       Authentication authentication) {
+    if (collecteurId == null) {
+        return ResponseEntity.badRequest()
+            .body(ApiResponse.error("collecteurId requis (recherche d'agence : /clients/agence/{agenceId}/search)", null));
+    }
+    return searchUnified(collecteurId, q, limit, authentication);
+}
+
+@GetMapping("/agence/{agenceId}/search")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public ResponseEntity<?> searchAgence(@PathVariable Long agenceId,
+                                      @RequestParam String query,
+                                      @RequestParam(defaultValue = "" + ClientSearchIndex.LIMIT_DEFAUT) int limit,
+                                      Authentication authentication) {
+    // Un ADMIN ne recherche que dans sa propre agence
+    if (!securityService.canAccessAgenceData(agenceId, authentication)) {
+        logger.warn("🚫 Recherche dans l'agence {} refusée à {}", agenceId, authentication.getName());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    try {
+        List<ClientSummaryDTO> clients = clientSearchIndex.rechercherAgence(agenceId, query, limit);
+        return ResponseEntity.ok(ApiResponse.success(clients.size() + " client(s) trouvé(s)", clients));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors de la recherche de clients de l'agence {}: {}", agenceId, e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors de la recherche", null));
+    }
+}
+
+/**
+ * Client par numéro de compte exact ; data null (et non 404) si aucun client,
+ * le 404 déclenchant le repli « liste complète » de l'application mobile
+ */
+@GetMapping("/collecteur/{collecteurId}/by-account/{numeroCompte}")
+public ResponseEntity<?> findByAccount(@PathVariable Long collecteurId,
+                                       @PathVariable String numeroCompte,
+                                       Authentication authentication) {
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    ClientSummaryDTO client = clientSearchIndex.trouverParCompte(collecteurId, numeroCompte);
+    return ResponseEntity.ok(ApiResponse.success(
+        client != null ? "Client trouvé" : "Aucun client avec ce numéro de compte", client));
+}
+
+@GetMapping("/collecteur/{collecteurId}/accounts/suggest")
+public ResponseEntity<?> suggestAccounts(@PathVariable Long collecteurId,
+                                         @RequestParam String partial,
+                                         @RequestParam(defaultValue = "5") int limit,
+                                         Authentication authentication) {
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    return ResponseEntity.ok(ApiResponse.success("Suggestions générées",
+        clientSearchIndex.suggererComptes(collecteurId, partial, limit)));
+}
+
 // 🔥 INJECTION DU NOUVEAU SERVICE
 @Autowired
-private ClientStatsService clientStatsService;
\ No newline at end of file
+private ClientStatsService clientStatsService;
+
+@Autowired
+private ClientStreamingService clientStreamingService;
+
+@Autowired
+private ClientVersionService clientVersionService;
+
+@Autowired
+private ClientSearchIndex clientSearchIndex;
@@ -0,0 +1,144 @@
+// src/main/java/org/example/collectfocep/services/ClientEnrichmentExecutor.java
+package org.example.collectfocep.services;
+
+import jakarta.annotation.PreDestroy;
+import org.example.collectfocep.metrics.RequestProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exécuteur dédié à l'enrichissement des clients (remplace parallelStream / ForkJoinPool commun)
+ * - Threads virtuels si la JVM les supporte (Java 21+), sinon pool borné
+ * - Sémaphore global calé sur le pool Hikari : l'enrichissement ne peut jamais
+ *   occuper toutes les connexions, quel que soit le nombre de requêtes simultanées
+ * - Échéance par requête : les tâches en retard sont abandonnées (résultat partiel) ; la transaction
+ *   d'une tâche expire à l'échéance, ses requêtes SQL sont annulées et son permis rendu
+ */
+@Component
+public class ClientEnrichmentExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientEnrichmentExecutor.class);
+
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+    private final long deadlineNanos;
+    private final PlatformTransactionManager transactionManager;
+
+    public ClientEnrichmentExecutor(PlatformTransactionManager transactionManager,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                    @Value("${client-enrichment.max-concurrent-queries:0}") int maxConcurrentQueries,
+                                    @Value("${client-enrichment.deadline-ms:5000}") long deadlineMs) {
+        // Par défaut la moitié du pool : le reste est garanti aux écritures (épargne / retrait)
+        int permits = maxConcurrentQueries > 0 ? maxConcurrentQueries : Math.max(1, poolSize / 2);
+
+        this.dbPermits = new Semaphore(permits, true);
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        this.executor = createExecutor(permits);
+        this.transactionManager = transactionManager;
+
+        logger.info("🧵 Exécuteur d'enrichissement : {} requête(s) simultanée(s) max, échéance {} ms", permits, deadlineMs);
+    }
+
+    /**
+     * 🔥 Exécute les tâches en parallèle, chacune dans sa transaction en lecture seule
+     * @return un résultat par tâche, dans l'ordre ; null pour une tâche non terminée à l'échéance
+     */
+    public <T> List<T> invokeAllReadOnly(List<Supplier<T>> tasks) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        // Les requêtes des tâches sont comptées pour la requête HTTP appelante
+        RequestProfile profile = RequestProfile.current();
+
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Supplier<T> task : tasks) {
+            futures.add(executor.submit(() -> runWithPermit(() -> RequestProfile.runWith(profile, task), deadline)));
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : futures) {
+            results.add(await(future, deadline));
+        }
+        return results;
+    }
+
+    private <T> T runWithPermit(Supplier<T> task, long deadline) throws InterruptedException, TimeoutException {
+        if (!dbPermits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Aucune connexion disponible avant l'échéance");
+        }
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Échéance atteinte avant le début de la tâche");
+            }
+            return readOnlyTransaction(remaining).execute(status -> task.get());
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    /**
+     * Transaction en lecture seule qui expire à l'échéance : Spring applique le temps restant
+     * comme délai de chaque requête (JdbcTemplate, requêtes JPA), le pilote annule la requête en cours
+     * (délai en secondes, arrondi au-dessus)
+     */
+    private TransactionTemplate readOnlyTransaction(long remainingNanos) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        return transaction;
+    }
+
+    private <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Pas d'interruption : une requête JDBC interrompue peut laisser la connexion inutilisable.
+            // Une tâche pas encore démarrée ne démarre plus ; une tâche en cours expire avec sa transaction
+            // et rend son permis dans son finally
+            future.cancel(false);
+            logger.warn("⏱️ Enrichissement abandonné à l'échéance");
+        } catch (ExecutionException e) {
+            logger.warn("⚠️ Enrichissement en échec: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Threads virtuels (Java 21+) par réflexion, pour rester compilable en Java 17
+     */
+    private static ExecutorService createExecutor(int permits) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            // Le sémaphore borne déjà la concurrence : quelques threads de plus pour les attentes
+            return Executors.newFixedThreadPool(permits * 2, runnable -> {
+                Thread thread = new Thread(runnable, "client-enrichment-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
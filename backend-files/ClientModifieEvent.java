@@ -0,0 +1,16 @@
+// src/main/java/org/example/collectfocep/events/ClientModifieEvent.java
+package org.example.collectfocep.events;
+
+/**
+ * Publié dans la transaction qui crée, modifie (identité, compte, collecteur) ou supprime un client
+ */
+public class ClientModifieEvent {
+
+    private final Long clientId;
+
+    public ClientModifieEvent(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public Long getClientId() { return clientId; }
+}
@@ -0,0 +1,97 @@
+// AJOUTS À FAIRE dans ClientRepository.java
+// src/main/java/org/example/collectfocep/repositories/ClientRepository.java
+
+// 🔥 NOUVELLES MÉTHODES À AJOUTER dans l'interface ClientRepository
+
+import jakarta.persistence.LockModeType;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 🔥 PROJECTION ClientSummaryDTO : colonnes utiles seulement, compte client par jointure
+ * Ni Client ni CompteClient hydratés sur les chemins de lecture
+ */
+String CLIENT_SUMMARY_SELECT = "SELECT new org.example.collectfocep.dto.ClientSummaryDTO(" +
+        "c.id, c.nom, c.prenom, c.numeroCompte, c.telephone, c.valide, c.quartier, c.ville, c.dateCreation, " +
+        "c.collecteur.id, cc.id, cc.numeroCompte, cc.solde, cc.typeCompte) " +
+        "FROM Client c LEFT JOIN c.compteClient cc ";
+
+/**
+ * Liste des clients d'un collecteur (base de la liste enrichie)
+ */
+@Query(CLIENT_SUMMARY_SELECT + "WHERE c.collecteur.id = :collecteurId")
+List<ClientSummaryDTO> findSummariesByCollecteurId(@Param("collecteurId") Long collecteurId);
+
+/**
+ * 🔥 PARCOURS PAR CURSEUR : Tranche suivante des clients d'un collecteur (id > afterId)
+ * Coût constant quelle que soit la position, contrairement à un OFFSET
+ */
+@Query(CLIENT_SUMMARY_SELECT + "WHERE c.collecteur.id = :collecteurId AND c.id > :afterId ORDER BY c.id ASC")
+List<ClientSummaryDTO> findNextSummariesByCollecteurId(@Param("collecteurId") Long collecteurId,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
+
+
+/**
+ * 🔥 SYNCHRONISATION : Clients d'un collecteur modifiés depuis un instant
+ * Parcours borné par l'index (collecteur_id, updated_at)
+ */
+@Query(CLIENT_SUMMARY_SELECT + "WHERE c.collecteur.id = :collecteurId AND c.updatedAt > :since")
+List<ClientSummaryDTO> findChangedSinceForCollecteur(@Param("collecteurId") Long collecteurId,
+                                                     @Param("since") LocalDateTime since);
+
+/**
+ * Collecteur d'un client, sans charger le client (résolution des paramètres de commission)
+ */
+@Query("SELECT c.collecteur.id FROM Client c WHERE c.id = :clientId")
+Long findCollecteurIdById(@Param("clientId") Long clientId);
+
+/**
+ * Clients d'un collecteur parmi une liste d'ids (clients touchés par de nouveaux mouvements)
+ */
+@Query(CLIENT_SUMMARY_SELECT + "WHERE c.collecteur.id = :collecteurId AND c.id IN :clientIds")
+List<ClientSummaryDTO> findSummariesByCollecteurIdAndIdIn(@Param("collecteurId") Long collecteurId,
+                                                          @Param("clientIds") Collection<Long> clientIds);
+
+/**
+ * 🔥 INGESTION PAR LOT : comptes des clients du collecteur, verrouillés jusqu'au commit
+ * Lignes [clientId, CompteClient] ; sérialise les lots concurrents touchant les mêmes clients
+ */
+@Lock(LockModeType.PESSIMISTIC_WRITE)
+@Query("SELECT c.id, cc FROM Client c JOIN c.compteClient cc " +
+       "WHERE c.collecteur.id = :collecteurId AND c.id IN :clientIds ORDER BY c.id")
+List<Object[]> findComptesForUpdate(@Param("collecteurId") Long collecteurId,
+                                    @Param("clientIds") Collection<Long> clientIds);
+
+/**
+ * 🔥 EMPREINTE D'UN CLIENT (requêtes conditionnelles, ETag)
+ * Ligne unique [collecteurId, clients.updated_at, client_stats.version, dernière modif. mouvement, dernière suppression]
+ * Lectures par clé primaire et plongées d'index uniquement
+ */
+@Query(value = "SELECT c.collecteur_id, c.updated_at, COALESCE(cs.version, 0), " +
+               "(SELECT MAX(m.updated_at) FROM mouvements m WHERE m.client_id = c.id), " +
+               "(SELECT MAX(t.id) FROM sync_tombstones t WHERE t.collecteur_id = c.collecteur_id) " +
+               "FROM clients c LEFT JOIN client_stats cs ON cs.client_id = c.id " +
+               "WHERE c.id = :clientId",
+       nativeQuery = true)
+List<Object[]> findVersionRowById(@Param("clientId") Long clientId);
+
+/**
+ * 🔥 EMPREINTE DE LA LISTE D'UN COLLECTEUR (requêtes conditionnelles, ETag)
+ * Ligne unique [nombre de clients, max updated_at, somme des versions client_stats,
+ * dernière modif. mouvement, dernière suppression] ; une plongée d'index par client
+ */
+@Query(value = "SELECT COUNT(*), MAX(x.updated_at), COALESCE(SUM(x.version), 0), MAX(x.mouvement_maj), " +
+               "(SELECT MAX(t.id) FROM sync_tombstones t WHERE t.collecteur_id = :collecteurId) " +
+               "FROM (SELECT c.updated_at, cs.version, " +
+               "(SELECT MAX(m.updated_at) FROM mouvements m WHERE m.client_id = c.id) AS mouvement_maj " +
+               "FROM clients c LEFT JOIN client_stats cs ON cs.client_id = c.id " +
+               "WHERE c.collecteur_id = :collecteurId) x",
+       nativeQuery = true)
+List<Object[]> findVersionRowByCollecteurId(@Param("collecteurId") Long collecteurId);
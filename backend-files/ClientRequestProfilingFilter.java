@@ -0,0 +1,82 @@
+// src/main/java/org/example/collectfocep/metrics/ClientRequestProfilingFilter.java
+package org.example.collectfocep.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+
+/**
+ * Profilage des requêtes /api/clients/** : durée totale, requêtes SQL, phases, sérialisation
+ * Le profil est attaché au thread pendant toute la requête (voir RequestProfile)
+ */
+@Component
+public class ClientRequestProfilingFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXE = "/api/clients";
+
+    @Autowired
+    private ClientStatsMetrics clientStatsMetrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PREFIXE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestProfile profile = new RequestProfile(request.getMethod(), request.getRequestURI());
+        RequestProfile.attach(profile);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestProfile.detach();
+            clientStatsMetrics.recordRequest(profile, endpoint(request), response.getStatus());
+        }
+    }
+
+    /**
+     * Motif de la route (/api/clients/{clientId}/summary) : cardinalité bornée, jamais l'URI brute
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : "UNKNOWN";
+    }
+
+    /**
+     * Marque le début de l'écriture du corps JSON (fin du travail du contrôleur)
+     */
+    @ControllerAdvice
+    public static class SerializationMarker implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return RequestProfile.current() != null;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            RequestProfile profile = RequestProfile.current();
+            if (profile != null && body != null) {
+                profile.marquerSerialisation();
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,680 @@
+// src/main/java/org/example/collectfocep/services/ClientSearchIndex.java
+package org.example.collectfocep.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.events.ClientModifieEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Index de recherche des clients en mémoire, un par agence
+ * - Noms (prénom + nom) : préfixe de mot, sous-chaîne et trigrammes (tolère une faute de frappe),
+ *   sans accents ni casse (« Hélène » = « helene »)
+ * - Numéro de compte et téléphone : exact ou préfixe (téléphone avec ou sans indicatif)
+ * - Construit à la première recherche dans l'agence, tenu à jour au commit de chaque
+ *   modification de client (ClientModifieEvent), reconstruit périodiquement (écritures hors application)
+ * - Recherche restreinte aux clients d'un collecteur (droits) ou ouverte à toute l'agence (admin)
+ *
+ * 🔥 Les clés peuvent être un instant en décalage avec les fiches pendant une mise à jour :
+ * chaque candidat est revérifié et noté sur sa fiche courante, jamais de résultat erroné
+ */
+@Component
+public class ClientSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientSearchIndex.class);
+
+    public static final int LIMIT_DEFAUT = 10;
+    public static final int LIMIT_MAX = 50;
+
+    private static final int LONGUEUR_MIN = 2;
+    private static final int CHIFFRES_TELEPHONE_MIN = 3;
+    // Numéro national (9 chiffres) : un numéro saisi avec indicatif est aussi trouvé sans
+    private static final int CHIFFRES_NUMERO_NATIONAL = 9;
+    // Part minimale des trigrammes d'un mot recherché présents dans un nom (faute de frappe)
+    private static final double SIMILARITE_MIN = 0.5;
+
+    // Préfixes des clés : une seule table triée pour les recherches exactes et par préfixe
+    private static final String CLE_MOT = "m:";
+    private static final String CLE_TRIGRAMME = "t:";
+    private static final String CLE_COMPTE = "c:";
+    private static final String CLE_TELEPHONE = "p:";
+
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIQUE = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NON_CHIFFRE = Pattern.compile("[^0-9]+");
+    private static final Pattern LETTRE = Pattern.compile("[a-z]");
+
+    private static final String CLIENT_SELECT =
+        "SELECT c.id, c.collecteur_id, col.agence_id, c.nom, c.prenom, c.numero_compte, c.telephone, " +
+        "c.valide, c.quartier, c.ville " +
+        "FROM clients c JOIN collecteurs col ON col.id = c.collecteur_id ";
+
+    private static final Comparator<Resultat> MEILLEUR_D_ABORD = Comparator
+        .comparingDouble((Resultat r) -> r.score).reversed()
+        .thenComparing(r -> r.fiche.nomPlie)
+        .thenComparing(r -> r.fiche.id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, AgenceIndex> indexes;
+
+    // Collecteur → agence (un transfert de collecteur entre agences est pris en compte à l'expiration)
+    private final Cache<Long, Long> agenceParCollecteur;
+
+    // Clients modifiés récemment (id → System.nanoTime()) : rejoués sur un index construit
+    // pendant ces modifications, qui a pu les lire avant leur commit
+    private final Cache<Long, Long> modificationsRecentes;
+
+    private final Timer searchTimer;
+
+    public ClientSearchIndex(DataSource dataSource,
+                             @Value("${client-search.idle-minutes:60}") long idleMinutes,
+                             @Value("${client-search.max-agences:50}") long maxAgences,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.indexes = Caffeine.newBuilder()
+            .maximumSize(maxAgences)
+            // Agence sans recherche : index libéré
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .recordStats()
+            .build();
+        this.agenceParCollecteur = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+        this.modificationsRecentes = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(registry, indexes, "clientSearchIndex");
+        this.searchTimer = Timer.builder("client.search")
+            .description("Durée d'une recherche de clients dans l'index en mémoire")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+    }
+
+    /**
+     * 🔥 Clients d'un collecteur correspondant à la saisie (nom, prénom, numéro de compte, téléphone),
+     * meilleurs résultats d'abord (vue LIST : identité seulement)
+     */
+    public List<ClientSummaryDTO> rechercher(Long collecteurId, String query, int limit) {
+        Long agenceId = agenceDuCollecteur(collecteurId);
+        if (agenceId == null) {
+            return Collections.emptyList();
+        }
+        return rechercher(index(agenceId), collecteurId, query, limit);
+    }
+
+    /**
+     * Recherche sur tous les clients d'une agence (administrateurs)
+     */
+    public List<ClientSummaryDTO> rechercherAgence(Long agenceId, String query, int limit) {
+        return rechercher(index(agenceId), null, query, limit);
+    }
+
+    /**
+     * Client d'un collecteur par numéro de compte exact (casse, espaces et tirets ignorés)
+     * @return null si aucun client
+     */
+    public ClientSummaryDTO trouverParCompte(Long collecteurId, String numeroCompte) {
+        Long agenceId = agenceDuCollecteur(collecteurId);
+        String compte = plierCompte(numeroCompte);
+        if (agenceId == null || compte.isEmpty()) {
+            return null;
+        }
+        AgenceIndex index = index(agenceId);
+        for (Long id : index.exact(CLE_COMPTE + compte)) {
+            Fiche fiche = index.fiches.get(id);
+            if (fiche != null && collecteurId.equals(fiche.collecteurId) && compte.equals(fiche.comptePlie)) {
+                return fiche.toSummary();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Numéros de compte des clients d'un collecteur commençant par la saisie (autocomplétion)
+     */
+    public List<String> suggererComptes(Long collecteurId, String debut, int limit) {
+        Long agenceId = agenceDuCollecteur(collecteurId);
+        String compte = plierCompte(debut);
+        if (agenceId == null || compte.length() < LONGUEUR_MIN) {
+            return Collections.emptyList();
+        }
+        AgenceIndex index = index(agenceId);
+        List<String> comptes = new ArrayList<>();
+        // Parcours dans l'ordre des numéros : arrêt dès la limite atteinte
+        for (Set<Long> ids : index.prefixe(CLE_COMPTE + compte)) {
+            for (Long id : ids) {
+                Fiche fiche = index.fiches.get(id);
+                if (fiche != null && collecteurId.equals(fiche.collecteurId) && fiche.comptePlie.startsWith(compte)) {
+                    comptes.add(fiche.numeroCompte);
+                    if (comptes.size() >= borner(limit)) {
+                        return comptes;
+                    }
+                }
+            }
+        }
+        return comptes;
+    }
+
+    /**
+     * 🔥 Au commit d'une modification de client : fiche relue et remplacée dans l'index de son agence
+     * (retirée des autres agences en cas de transfert, et de toutes en cas de suppression)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onClientCommitted(ClientModifieEvent event) {
+        Long clientId = event.getClientId();
+        if (clientId == null) {
+            return;
+        }
+        modificationsRecentes.put(clientId, System.nanoTime());
+        if (indexes.estimatedSize() == 0) {
+            return;
+        }
+        try {
+            appliquer(clientId);
+        } catch (RuntimeException e) {
+            // Un index ne doit jamais rester périmé : reconstruit à la prochaine recherche
+            indexes.invalidateAll();
+            logger.warn("⚠️ Index de recherche invalidé après la modification du client {}: {}", clientId, e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruction des index chargés : rattrape les écritures faites hors application (scripts SQL)
+     * Les recherches continuent sur l'ancien index pendant la construction
+     */
+    @Scheduled(cron = "${client-search.rebuild-cron:0 */30 * * * *}")
+    public void reconstruire() {
+        for (Long agenceId : new ArrayList<>(indexes.asMap().keySet())) {
+            try {
+                AgenceIndex neuf = construire(agenceId);
+                // computeIfPresent : une agence libérée entre-temps n'est pas rechargée
+                if (indexes.asMap().computeIfPresent(agenceId, (id, ancien) -> neuf) != null) {
+                    rattraper(neuf);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Reconstruction de l'index de recherche de l'agence {} impossible: {}", agenceId, e.getMessage());
+            }
+        }
+    }
+
+    private List<ClientSummaryDTO> rechercher(AgenceIndex index, Long collecteurId, String query, int limit) {
+        long debut = System.nanoTime();
+        String plie = plier(query);
+        if (plie.length() < LONGUEUR_MIN) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        // 1. Numéro de compte : exact ou préfixe
+        String compte = plie.replace(" ", "");
+        for (Set<Long> ids : index.prefixe(CLE_COMPTE + compte)) {
+            for (Long id : ids) {
+                noter(scores, index, id, collecteurId, fiche -> scoreCompte(fiche, compte));
+            }
+        }
+
+        boolean contientLettre = LETTRE.matcher(plie).find();
+
+        // 2. Téléphone : saisie numérique seulement (espaces, +, tirets tolérés)
+        String chiffres = plierTelephone(query);
+        if (!contientLettre && chiffres.length() >= CHIFFRES_TELEPHONE_MIN) {
+            for (Set<Long> ids : index.prefixe(CLE_TELEPHONE + chiffres)) {
+                for (Long id : ids) {
+                    noter(scores, index, id, collecteurId, fiche -> scoreTelephone(fiche, chiffres));
+                }
+            }
+        }
+
+        // 3. Noms : chaque mot saisi doit correspondre à un mot du nom complet
+        if (contientLettre) {
+            String[] mots = plie.split(" ");
+            for (Long id : candidatsNom(index, mots)) {
+                noter(scores, index, id, collecteurId, fiche -> scoreNom(fiche, mots));
+            }
+        }
+
+        List<Resultat> resultats = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            Fiche fiche = index.fiches.get(id);
+            if (fiche != null) {
+                resultats.add(new Resultat(fiche, score));
+            }
+        });
+        resultats.sort(MEILLEUR_D_ABORD);
+
+        List<ClientSummaryDTO> clients = new ArrayList<>();
+        for (int i = 0; i < resultats.size() && i < borner(limit); i++) {
+            clients.add(resultats.get(i).fiche.toSummary());
+        }
+
+        long duree = System.nanoTime() - debut;
+        searchTimer.record(Duration.ofNanos(duree));
+        logger.debug("🔍 Recherche \"{}\" : {} résultat(s) sur {} candidat(s) en {} µs",
+                     plie, clients.size(), scores.size(), duree / 1_000);
+        return clients;
+    }
+
+    /**
+     * Candidats par mot saisi (préfixe de mot, ou trigrammes à partir de 3 caractères),
+     * intersection sur tous les mots en partant du plus sélectif
+     */
+    private static Set<Long> candidatsNom(AgenceIndex index, String[] mots) {
+        List<Set<Long>> parMot = new ArrayList<>(mots.length);
+        for (String mot : mots) {
+            Set<Long> candidats = new HashSet<>();
+            for (Set<Long> ids : index.prefixe(CLE_MOT + mot)) {
+                candidats.addAll(ids);
+            }
+            List<String> trigrammes = trigrammes(mot);
+            if (!trigrammes.isEmpty()) {
+                Map<Long, Integer> occurrences = new HashMap<>();
+                for (String trigramme : trigrammes) {
+                    for (Long id : index.exact(CLE_TRIGRAMME + trigramme)) {
+                        occurrences.merge(id, 1, Integer::sum);
+                    }
+                }
+                int minimum = (int) Math.ceil(SIMILARITE_MIN * trigrammes.size());
+                occurrences.forEach((id, n) -> {
+                    if (n >= minimum) {
+                        candidats.add(id);
+                    }
+                });
+            }
+            if (candidats.isEmpty()) {
+                return Collections.emptySet();
+            }
+            parMot.add(candidats);
+        }
+
+        parMot.sort(Comparator.comparingInt(Set::size));
+        Set<Long> resultat = parMot.get(0);
+        for (int i = 1; i < parMot.size() && !resultat.isEmpty(); i++) {
+            resultat.retainAll(parMot.get(i));
+        }
+        return resultat;
+    }
+
+    private static void noter(Map<Long, Double> scores, AgenceIndex index, Long id, Long collecteurId,
+                              ToDoubleFunction<Fiche> score) {
+        Fiche fiche = index.fiches.get(id);
+        if (fiche == null || (collecteurId != null && !collecteurId.equals(fiche.collecteurId))) {
+            return;
+        }
+        double valeur = score.applyAsDouble(fiche);
+        if (valeur > 0) {
+            scores.merge(id, valeur, Math::max);
+        }
+    }
+
+    // Scores : numéro de compte > téléphone > nom ; exact > préfixe > sous-chaîne > approché
+
+    private static double scoreCompte(Fiche fiche, String compte) {
+        if (fiche.comptePlie.equals(compte)) {
+            return 3.0;
+        }
+        return fiche.comptePlie.startsWith(compte) ? 2.5 : 0;
+    }
+
+    private static double scoreTelephone(Fiche fiche, String chiffres) {
+        double score = 0;
+        for (String telephone : fiche.telephones) {
+            if (telephone.equals(chiffres)) {
+                return 2.8;
+            }
+            if (telephone.startsWith(chiffres)) {
+                score = 2.2;
+            }
+        }
+        return score;
+    }
+
+    private static double scoreNom(Fiche fiche, String[] mots) {
+        double total = 0;
+        for (String mot : mots) {
+            double meilleur = 0;
+            for (String motFiche : fiche.mots) {
+                if (motFiche.equals(mot)) {
+                    meilleur = 1.0;
+                    break;
+                }
+                if (motFiche.startsWith(mot)) {
+                    meilleur = Math.max(meilleur, 0.9);
+                } else if (mot.length() >= 3 && motFiche.contains(mot)) {
+                    meilleur = Math.max(meilleur, 0.7);
+                }
+            }
+            if (meilleur == 0) {
+                double similarite = similarite(mot, fiche.mots);
+                if (similarite < SIMILARITE_MIN) {
+                    return 0;
+                }
+                meilleur = 0.6 * similarite;
+            }
+            total += meilleur;
+        }
+        return total / mots.length;
+    }
+
+    /**
+     * Part des trigrammes du mot saisi présents dans le mot le plus proche de la fiche
+     */
+    private static double similarite(String mot, String[] motsFiche) {
+        List<String> trigrammes = trigrammes(mot);
+        if (trigrammes.isEmpty()) {
+            return 0;
+        }
+        double meilleure = 0;
+        for (String motFiche : motsFiche) {
+            int communs = 0;
+            for (String trigramme : trigrammes) {
+                if (motFiche.contains(trigramme)) {
+                    communs++;
+                }
+            }
+            meilleure = Math.max(meilleure, (double) communs / trigrammes.size());
+        }
+        return meilleure;
+    }
+
+    private AgenceIndex index(Long agenceId) {
+        AgenceIndex index = indexes.get(agenceId, this::construire);
+        rattraper(index);
+        return index;
+    }
+
+    private Long agenceDuCollecteur(Long collecteurId) {
+        if (collecteurId == null) {
+            return null;
+        }
+        Long agenceId = agenceParCollecteur.getIfPresent(collecteurId);
+        if (agenceId == null) {
+            List<Long> agences = jdbcTemplate.queryForList(
+                "SELECT agence_id FROM collecteurs WHERE id = ?", Long.class, collecteurId);
+            agenceId = agences.isEmpty() ? null : agences.get(0);
+            if (agenceId != null) {
+                agenceParCollecteur.put(collecteurId, agenceId);
+            }
+        }
+        return agenceId;
+    }
+
+    private AgenceIndex construire(Long agenceId) {
+        long debut = System.nanoTime();
+        AgenceIndex index = new AgenceIndex(debut);
+        jdbcTemplate.query(CLIENT_SELECT + "WHERE col.agence_id = ?",
+            rs -> { index.mettreAJour(fiche(rs)); }, agenceId);
+        logger.info("🔍 Index de recherche de l'agence {} : {} client(s) en {} ms",
+                    agenceId, index.fiches.size(), (System.nanoTime() - debut) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Rejoue une fois, sur un index neuf, les modifications commitées depuis le début de sa construction
+     */
+    private void rattraper(AgenceIndex index) {
+        if (!index.rattrape.compareAndSet(false, true)) {
+            return;
+        }
+        modificationsRecentes.asMap().forEach((clientId, instant) -> {
+            if (instant - index.construitA >= 0) {
+                appliquer(clientId);
+            }
+        });
+    }
+
+    private void appliquer(Long clientId) {
+        List<Fiche> lues = jdbcTemplate.query(CLIENT_SELECT + "WHERE c.id = ?", (rs, n) -> fiche(rs), clientId);
+        Fiche fiche = lues.isEmpty() ? null : lues.get(0);
+        indexes.asMap().forEach((agenceId, index) -> {
+            if (fiche != null && agenceId.equals(fiche.agenceId)) {
+                index.mettreAJour(fiche);
+            } else {
+                index.retirer(clientId);
+            }
+        });
+    }
+
+    private static Fiche fiche(ResultSet rs) throws SQLException {
+        return new Fiche(
+            rs.getLong(1),
+            rs.getObject(2, Long.class),
+            rs.getObject(3, Long.class),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            (Boolean) rs.getObject(8, Boolean.class),
+            rs.getString(9),
+            rs.getString(10));
+    }
+
+    /**
+     * Minuscules, sans accents ni ponctuation, espaces simples (« N'Guessan-Éloïse » → « n guessan eloise »)
+     */
+    static String plier(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        String minuscules = texte.toLowerCase(Locale.ROOT).replace("œ", "oe").replace("æ", "ae");
+        String sansAccents = DIACRITIQUES.matcher(Normalizer.normalize(minuscules, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIQUE.matcher(sansAccents).replaceAll(" ").trim();
+    }
+
+    static String plierCompte(String numeroCompte) {
+        return plier(numeroCompte).replace(" ", "");
+    }
+
+    /**
+     * Chiffres seuls, préfixe international « 00 » retiré
+     */
+    static String plierTelephone(String telephone) {
+        if (telephone == null) {
+            return "";
+        }
+        String chiffres = NON_CHIFFRE.matcher(telephone).replaceAll("");
+        return chiffres.startsWith("00") ? chiffres.substring(2) : chiffres;
+    }
+
+    private static List<String> trigrammes(String mot) {
+        if (mot.length() < 3) {
+            return Collections.emptyList();
+        }
+        Set<String> trigrammes = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= mot.length(); i++) {
+            trigrammes.add(mot.substring(i, i + 3));
+        }
+        return new ArrayList<>(trigrammes);
+    }
+
+    private static int borner(int limit) {
+        return limit <= 0 ? LIMIT_DEFAUT : Math.min(limit, LIMIT_MAX);
+    }
+
+    /**
+     * Index d'une agence : fiches par id et table triée clé → ids
+     * Un seul écrivain à la fois (synchronized), lectures sans verrou
+     */
+    private static final class AgenceIndex {
+
+        private final long construitA;
+        private final AtomicBoolean rattrape = new AtomicBoolean();
+        private final ConcurrentHashMap<Long, Fiche> fiches = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<Long>> cles = new ConcurrentSkipListMap<>();
+
+        private AgenceIndex(long construitA) {
+            this.construitA = construitA;
+        }
+
+        /**
+         * Nouvelles clés ajoutées avant le retrait des anciennes : le client reste trouvable pendant la mise à jour
+         */
+        private synchronized void mettreAJour(Fiche fiche) {
+            Fiche ancienne = fiches.put(fiche.id, fiche);
+            for (String cle : fiche.cles) {
+                cles.computeIfAbsent(cle, k -> ConcurrentHashMap.newKeySet()).add(fiche.id);
+            }
+            if (ancienne != null) {
+                for (String cle : ancienne.cles) {
+                    if (!fiche.cles.contains(cle)) {
+                        retirerCle(cle, fiche.id);
+                    }
+                }
+            }
+        }
+
+        private synchronized void retirer(Long clientId) {
+            Fiche ancienne = fiches.remove(clientId);
+            if (ancienne != null) {
+                for (String cle : ancienne.cles) {
+                    retirerCle(cle, clientId);
+                }
+            }
+        }
+
+        private void retirerCle(String cle, Long clientId) {
+            cles.computeIfPresent(cle, (k, ids) -> {
+                ids.remove(clientId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+
+        private Set<Long> exact(String cle) {
+            Set<Long> ids = cles.get(cle);
+            return ids != null ? ids : Collections.emptySet();
+        }
+
+        /**
+         * Ids des clés commençant par le préfixe, dans l'ordre des clés
+         */
+        private Iterable<Set<Long>> prefixe(String debut) {
+            return cles.subMap(debut, true, debut + Character.MAX_VALUE, false).values();
+        }
+    }
+
+    /**
+     * Fiche immuable d'un client : champs affichés et formes pliées indexées
+     */
+    private static final class Fiche {
+
+        private final Long id;
+        private final Long collecteurId;
+        private final Long agenceId;
+        private final String nom;
+        private final String prenom;
+        private final String numeroCompte;
+        private final String telephone;
+        private final Boolean valide;
+        private final String quartier;
+        private final String ville;
+
+        private final String nomPlie;
+        private final String[] mots;
+        private final String comptePlie;
+        private final String[] telephones;
+        private final Set<String> cles;
+
+        private Fiche(Long id, Long collecteurId, Long agenceId, String nom, String prenom, String numeroCompte,
+                      String telephone, Boolean valide, String quartier, String ville) {
+            this.id = id;
+            this.collecteurId = collecteurId;
+            this.agenceId = agenceId;
+            this.nom = nom;
+            this.prenom = prenom;
+            this.numeroCompte = numeroCompte;
+            this.telephone = telephone;
+            this.valide = valide;
+            this.quartier = quartier;
+            this.ville = ville;
+
+            this.nomPlie = plier((prenom != null ? prenom : "") + " " + (nom != null ? nom : ""));
+            this.mots = nomPlie.isEmpty() ? new String[0] : new LinkedHashSet<>(List.of(nomPlie.split(" "))).toArray(new String[0]);
+            this.comptePlie = plierCompte(numeroCompte);
+
+            String chiffres = plierTelephone(telephone);
+            if (chiffres.length() > CHIFFRES_NUMERO_NATIONAL) {
+                this.telephones = new String[] { chiffres, chiffres.substring(chiffres.length() - CHIFFRES_NUMERO_NATIONAL) };
+            } else {
+                this.telephones = chiffres.isEmpty() ? new String[0] : new String[] { chiffres };
+            }
+
+            Set<String> cles = new HashSet<>();
+            for (String mot : mots) {
+                cles.add(CLE_MOT + mot);
+                for (String trigramme : trigrammes(mot)) {
+                    cles.add(CLE_TRIGRAMME + trigramme);
+                }
+            }
+            if (!comptePlie.isEmpty()) {
+                cles.add(CLE_COMPTE + comptePlie);
+            }
+            for (String numero : telephones) {
+                cles.add(CLE_TELEPHONE + numero);
+            }
+            this.cles = cles;
+        }
+
+        private ClientSummaryDTO toSummary() {
+            ClientSummaryDTO dto = new ClientSummaryDTO();
+            dto.setId(id);
+            dto.setNom(nom);
+            dto.setPrenom(prenom);
+            dto.setNumeroCompte(numeroCompte);
+            dto.setTelephone(telephone);
+            dto.setValide(valide);
+            dto.setQuartier(quartier);
+            dto.setVille(ville);
+            dto.setCollecteurId(collecteurId);
+            return dto;
+        }
+    }
+
+    private static final class Resultat {
+
+        private final Fiche fiche;
+        private final double score;
+
+        private Resultat(Fiche fiche, double score) {
+            this.fiche = fiche;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+// AJOUTS À FAIRE dans le service qui modifie les clients (création, mise à jour, transfert)
+// src/main/java/org/example/collectfocep/services/impl/ClientServiceImpl.java
+
+// 🔥 INJECTION DU PUBLISHER
+@Autowired
+private ApplicationEventPublisher eventPublisher;
+
+// 🔥 À APPELER après chaque clientRepository.save(...), nouveau client compris (index de recherche),
+// dans la même méthode @Transactional (saveClient, updateClient, transfert de collecteur, ...)
+Client saved = clientRepository.save(client);
+eventPublisher.publishEvent(new ClientModifieEvent(saved.getId()));
+
+// Suppression : même événement après clientRepository.delete(...) (client retiré de l'index de recherche)
+clientRepository.delete(client);
+eventPublisher.publishEvent(new ClientModifieEvent(client.getId()));
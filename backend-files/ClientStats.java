@@ -0,0 +1,59 @@
+// src/main/java/org/example/collectfocep/entities/ClientStats.java
+package org.example.collectfocep.entities;
+
+import org.example.collectfocep.util.Montant;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Projection des statistiques d'un client (une ligne par client)
+ * Mise à jour incrémentalement dans la transaction de chaque mouvement,
+ * recalculable depuis la table mouvements (voir ClientStatsRebuildJob)
+ *
+ * 🔥 Lecture seule côté JPA : toutes les écritures passent par les requêtes
+ * atomiques de ClientStatsRepository
+ */
+@Entity
+@Immutable
+@Table(name = "client_stats")
+public class ClientStats {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "total_epargne_centimes", nullable = false)
+    private long totalEpargneCentimes;
+
+    @Column(name = "total_retraits_centimes", nullable = false)
+    private long totalRetraitsCentimes;
+
+    @Column(name = "nombre_transactions", nullable = false)
+    private Long nombreTransactions;
+
+    @Column(name = "derniere_transaction")
+    private LocalDateTime derniereTransaction;
+
+    // Incrémentée à chaque mouvement appliqué
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public ClientStats() {}
+
+    public Long getClientId() { return clientId; }
+
+    public Montant getTotalEpargne() { return Montant.ofCentimes(totalEpargneCentimes); }
+
+    public Montant getTotalRetraits() { return Montant.ofCentimes(totalRetraitsCentimes); }
+
+    public Long getNombreTransactions() { return nombreTransactions; }
+
+    public LocalDateTime getDerniereTransaction() { return derniereTransaction; }
+
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,209 @@
+// src/main/java/org/example/collectfocep/metrics/ClientStatsMetrics.java
+package org.example.collectfocep.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métriques du chemin chaud des résumés clients (Micrometer, exposées par /actuator/prometheus)
+ *
+ *   client.enrichment          timer      enrichissement d'une liste (tag view)
+ *   client.enrichment.clients  résumé     clients enrichis par appel (tag view)
+ *   client.enrichment.query    timer      chaque requête de l'enrichissement (tag query)
+ *   client.enrichment.mapping  timer      application des résultats aux DTO
+ *   client.request             timer      requête HTTP /api/clients/** (tags endpoint, status)
+ *   client.request.queries     résumé     requêtes SQL par requête HTTP (tag endpoint)
+ *   client.request.serialization timer    sérialisation + écriture du corps JSON (tag endpoint)
+ *
+ * Les requêtes plus lentes que client-metrics.slow-request-ms sont journalisées avec leur
+ * décomposition et conservées (client-metrics.slow-request-samples dernières) pour
+ * l'endpoint actuator « clientslowrequests ».
+ */
+@Component
+public class ClientStatsMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientStatsMetrics.class);
+
+    private final MeterRegistry registry;
+    private final long slowRequestNanos;
+    private final int maxSamples;
+    private final Deque<SlowRequestSample> slowRequests = new ArrayDeque<>();
+
+    public ClientStatsMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                              @Value("${client-metrics.slow-request-ms:1000}") long slowRequestMs,
+                              @Value("${client-metrics.slow-request-samples:50}") int maxSamples) {
+        // Registre local si Micrometer n'est pas configuré (benchmarks, tests)
+        this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * 🔥 Enrichissement d'une liste de clients : durée et nombre de clients
+     */
+    public <T> T timeEnrichment(String view, int clients, Supplier<T> enrichment) {
+        DistributionSummary.builder("client.enrichment.clients")
+            .description("Clients enrichis par appel")
+            .tag("view", view)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(clients);
+
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.addClients(clients);
+        }
+        return time(timer("client.enrichment", "view", view), "enrichissement", enrichment);
+    }
+
+    /**
+     * Une requête de l'enrichissement (nom stable, faible cardinalité)
+     */
+    public <T> T timeQuery(String query, Supplier<T> call) {
+        return time(timer("client.enrichment.query", "query", query), "requete." + query, call);
+    }
+
+    public void timeMapping(Runnable mapping) {
+        time(timer("client.enrichment.mapping", null, null), "mapping", () -> {
+            mapping.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fin d'une requête profilée : timers de la requête, échantillon si lente
+     */
+    void recordRequest(RequestProfile profile, String endpoint, int status) {
+        long fin = System.nanoTime();
+        long totalNanos = fin - profile.getDebutNanos();
+
+        Timer.builder("client.request")
+            .tag("endpoint", endpoint)
+            .tag("status", String.valueOf(status))
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(totalNanos, TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("client.request.queries")
+            .description("Requêtes SQL par requête HTTP")
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(profile.getRequetes());
+
+        long serialisationNanos = profile.serialisationNanos(fin);
+        if (serialisationNanos >= 0) {
+            timer("client.request.serialization", "endpoint", endpoint)
+                .record(serialisationNanos, TimeUnit.NANOSECONDS);
+            profile.addPhase("serialisation", serialisationNanos);
+        }
+
+        if (totalNanos >= slowRequestNanos) {
+            SlowRequestSample sample = new SlowRequestSample(profile, endpoint, status, totalNanos);
+            logger.warn("🐢 Requête lente {} {} ({}) : {} ms, {} requête(s) SQL, {} client(s), phases {}",
+                       profile.getMethode(), profile.getUri(), status, sample.getDureeMs(),
+                       sample.getRequetes(), sample.getClients(), sample.getPhasesMs());
+            synchronized (slowRequests) {
+                if (slowRequests.size() >= maxSamples) {
+                    slowRequests.removeFirst();
+                }
+                slowRequests.addLast(sample);
+            }
+        }
+    }
+
+    /**
+     * Dernières requêtes lentes, la plus récente en premier
+     */
+    public List<SlowRequestSample> getSlowRequests() {
+        synchronized (slowRequests) {
+            List<SlowRequestSample> samples = new ArrayList<>(slowRequests);
+            Collections.reverse(samples);
+            return samples;
+        }
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue) {
+        Timer.Builder builder = Timer.builder(name).publishPercentileHistogram();
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        return builder.register(registry);
+    }
+
+    private <T> T time(Timer timer, String phase, Supplier<T> call) {
+        long debut = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long nanos = System.nanoTime() - debut;
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            RequestProfile profile = RequestProfile.current();
+            if (profile != null) {
+                profile.addPhase(phase, nanos);
+            }
+        }
+    }
+
+    /**
+     * Décomposition d'une requête lente
+     */
+    public static class SlowRequestSample {
+
+        private final LocalDateTime date = LocalDateTime.now();
+        private final String methode;
+        private final String uri;
+        private final String endpoint;
+        private final int status;
+        private final double dureeMs;
+        private final long requetes;
+        private final long clients;
+        private final Map<String, Double> phasesMs;
+
+        SlowRequestSample(RequestProfile profile, String endpoint, int status, long totalNanos) {
+            this.methode = profile.getMethode();
+            this.uri = profile.getUri();
+            this.endpoint = endpoint;
+            this.status = status;
+            this.dureeMs = totalNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            this.requetes = profile.getRequetes();
+            this.clients = profile.getClients();
+            this.phasesMs = profile.phasesMillis();
+        }
+
+        public LocalDateTime getDate() { return date; }
+
+        public String getMethode() { return methode; }
+
+        public String getUri() { return uri; }
+
+        public String getEndpoint() { return endpoint; }
+
+        public int getStatus() { return status; }
+
+        public double getDureeMs() { return dureeMs; }
+
+        public long getRequetes() { return requetes; }
+
+        public long getClients() { return clients; }
+
+        public Map<String, Double> getPhasesMs() { return phasesMs; }
+    }
+}
@@ -0,0 +1,182 @@
+// src/main/java/org/example/collectfocep/services/ClientStatsProjectionService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.entities.Mouvement;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.events.MouvementEnregistreEvent;
+import org.example.collectfocep.events.MouvementModifieEvent;
+import org.example.collectfocep.repositories.ClientStatsRepository;
+import org.example.collectfocep.util.Montant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Maintient la projection client_stats et les agrégats journaliers (rollup_journalier)
+ * à jour, et publie MouvementEnregistreEvent / MouvementModifieEvent
+ * Doit être appelé dans la transaction qui enregistre, corrige ou supprime le mouvement
+ * (voir MouvementService_additions.java)
+ */
+@Service
+public class ClientStatsProjectionService {
+
+    @Autowired
+    private ClientStatsRepository clientStatsRepository;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 🔥 Applique un mouvement persisté à la projection de son client
+     * MANDATORY : échoue si appelé hors transaction, la projection ne peut pas diverger
+     * d'un mouvement validé
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMouvementPersisted(Mouvement mouvement) {
+        long centimes = Montant.of(mouvement.getMontant()).getCentimes();
+        // sens_code est généré par MySQL : pas encore relu sur l'entité juste persistée
+        SensMouvement sens = SensMouvement.fromLibelle(mouvement.getSens());
+
+        // 🔥 Agrégat journalier du collecteur (tableaux de bord collecteur / agence)
+        dashboardRollupService.applyMouvement(mouvement, sens, centimes);
+
+        if (mouvement.getClient() == null) {
+            return;
+        }
+
+        boolean epargne = sens == SensMouvement.EPARGNE;
+        boolean retrait = sens == SensMouvement.RETRAIT;
+
+        clientStatsRepository.applyMouvement(
+            mouvement.getClient().getId(),
+            epargne ? centimes : 0L,
+            retrait ? centimes : 0L,
+            1,
+            mouvement.getDateOperation());
+
+        // Reçu par les caches au commit (ClientSummaryCache, RecentTransactionsStore)
+        eventPublisher.publishEvent(new MouvementEnregistreEvent(mouvement.getClient().getId(), mouvement.getId()));
+    }
+
+    /**
+     * 🔥 Applique en une fois les mouvements d'un client insérés par lot (MouvementBulkService)
+     * Les agrégats journaliers sont appliqués par l'appelant, par jour
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMouvementsPersisted(Long clientId, long epargneCentimes, long retraitCentimes, int nombre,
+                                      LocalDateTime derniereOperation, Long dernierMouvementId) {
+        clientStatsRepository.applyMouvement(clientId, epargneCentimes, retraitCentimes, nombre, derniereOperation);
+        eventPublisher.publishEvent(new MouvementEnregistreEvent(clientId, dernierMouvementId, nombre));
+    }
+
+    /**
+     * 🔥 Correction d'un mouvement : retire l'ancien état, applique le nouveau
+     * @param avant état capturé par EtatMouvement.of AVANT la modification de l'entité
+     * À appeler après l'écriture (flush) : la dernière transaction du client est relue dans mouvements
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMouvementUpdated(EtatMouvement avant, Mouvement mouvement) {
+        EtatMouvement apres = EtatMouvement.of(mouvement);
+
+        appliquerRollup(avant, -1);
+        appliquerRollup(apres, 1);
+
+        if (Objects.equals(avant.clientId, apres.clientId)) {
+            if (apres.clientId != null) {
+                clientStatsRepository.applyCorrection(apres.clientId,
+                    apres.epargneCentimes() - avant.epargneCentimes(),
+                    apres.retraitCentimes() - avant.retraitCentimes(),
+                    0);
+                eventPublisher.publishEvent(new MouvementModifieEvent(apres.clientId, mouvement.getId(), false));
+            }
+            return;
+        }
+
+        // Mouvement rattaché à un autre client : un retrait chez l'ancien, un ajout chez le nouveau
+        if (avant.clientId != null) {
+            clientStatsRepository.applyCorrection(avant.clientId, -avant.epargneCentimes(), -avant.retraitCentimes(), -1);
+            eventPublisher.publishEvent(new MouvementModifieEvent(avant.clientId, mouvement.getId(), true));
+        }
+        if (apres.clientId != null) {
+            clientStatsRepository.applyCorrection(apres.clientId, apres.epargneCentimes(), apres.retraitCentimes(), 1);
+            eventPublisher.publishEvent(new MouvementModifieEvent(apres.clientId, mouvement.getId(), false));
+        }
+    }
+
+    /**
+     * 🔥 Suppression d'un mouvement : écart inverse sur la projection et l'agrégat journalier
+     * À appeler après mouvementRepository.delete(...) et flush, avec l'entité supprimée
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMouvementDeleted(Mouvement mouvement) {
+        EtatMouvement avant = EtatMouvement.of(mouvement);
+        appliquerRollup(avant, -1);
+
+        if (avant.clientId != null) {
+            clientStatsRepository.applyCorrection(avant.clientId, -avant.epargneCentimes(), -avant.retraitCentimes(), -1);
+            eventPublisher.publishEvent(new MouvementModifieEvent(avant.clientId, mouvement.getId(), true));
+        }
+    }
+
+    private void appliquerRollup(EtatMouvement etat, int signe) {
+        if (etat.collecteurId == null || etat.dateOperation == null) {
+            return;
+        }
+        dashboardRollupService.applyAgregat(etat.dateOperation.toLocalDate(), etat.collecteurId,
+            signe * etat.epargneCentimes(), signe * etat.retraitCentimes(),
+            etat.sens == SensMouvement.EPARGNE ? signe : 0,
+            etat.sens == SensMouvement.RETRAIT ? signe : 0,
+            signe);
+    }
+
+    /**
+     * Valeurs d'un mouvement qui comptent dans client_stats et rollup_journalier
+     * (même rattachement au collecteur que DashboardRollupService.applyMouvement)
+     */
+    public static final class EtatMouvement {
+        private final Long clientId;
+        private final Long collecteurId;
+        private final SensMouvement sens;
+        private final long centimes;
+        private final LocalDateTime dateOperation;
+
+        private EtatMouvement(Long clientId, Long collecteurId, SensMouvement sens, long centimes, LocalDateTime dateOperation) {
+            this.clientId = clientId;
+            this.collecteurId = collecteurId;
+            this.sens = sens;
+            this.centimes = centimes;
+            this.dateOperation = dateOperation;
+        }
+
+        public static EtatMouvement of(Mouvement mouvement) {
+            Long collecteurId = null;
+            if (mouvement.getCollecteur() != null) {
+                collecteurId = mouvement.getCollecteur().getId();
+            } else if (mouvement.getClient() != null && mouvement.getClient().getCollecteur() != null) {
+                collecteurId = mouvement.getClient().getCollecteur().getId();
+            }
+            return new EtatMouvement(
+                mouvement.getClient() != null ? mouvement.getClient().getId() : null,
+                collecteurId,
+                SensMouvement.fromLibelle(mouvement.getSens()),
+                Montant.of(mouvement.getMontant()).getCentimes(),
+                mouvement.getDateOperation());
+        }
+
+        long epargneCentimes() {
+            return sens == SensMouvement.EPARGNE ? centimes : 0L;
+        }
+
+        long retraitCentimes() {
+            return sens == SensMouvement.RETRAIT ? centimes : 0L;
+        }
+    }
+}
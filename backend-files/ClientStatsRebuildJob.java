@@ -0,0 +1,100 @@
+// src/main/java/org/example/collectfocep/services/ClientStatsRebuildJob.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.repositories.ClientStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vérification / reconstruction de la projection client_stats
+ * Recalcule les totaux depuis la table mouvements et signale les écarts
+ * (nécessite @EnableScheduling sur la configuration)
+ *
+ * Transactions par TransactionTemplate et non @Transactional : la tâche planifiée appelle verify
+ * puis rebuild sur this, sans passer par le proxy Spring
+ */
+@Component
+public class ClientStatsRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientStatsRebuildJob.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ClientStatsRepository clientStatsRepository;
+    private final TransactionTemplate transaction;
+    private final boolean autoRepair;
+
+    public ClientStatsRebuildJob(ClientStatsRepository clientStatsRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${client-stats.auto-repair:true}") boolean autoRepair) {
+        this.clientStatsRepository = clientStatsRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.autoRepair = autoRepair;
+    }
+
+    /**
+     * 🔥 Vérification nocturne : signale les écarts et les corrige si auto-repair est actif
+     */
+    @Scheduled(cron = "${client-stats.verify-cron:0 30 2 * * *}")
+    public void scheduledVerify() {
+        verify(autoRepair);
+    }
+
+    /**
+     * Compare la projection au recalcul depuis les mouvements
+     * @param repair reconstruit les clients en écart si true
+     * @return identifiants des clients en écart
+     */
+    public List<Long> verify(boolean repair) {
+        // Comparaison et réparation dans la même transaction
+        return transaction.execute(status -> verifyInTransaction(repair));
+    }
+
+    private List<Long> verifyInTransaction(boolean repair) {
+        List<Long> driftedClientIds = new ArrayList<>();
+
+        for (Object[] row : clientStatsRepository.findDrift()) {
+            Long clientId = ((Number) row[0]).longValue();
+            driftedClientIds.add(clientId);
+            logger.warn("⚠️ Écart client_stats client={} : épargne attendue={} projetée={}, " +
+                        "retraits attendus={} projetés={}, transactions attendues={} projetées={}",
+                        clientId, row[1], row[2], row[3], row[4], row[5], row[6]);
+        }
+
+        if (driftedClientIds.isEmpty()) {
+            logger.info("✅ Projection client_stats cohérente");
+            return driftedClientIds;
+        }
+
+        logger.warn("⚠️ {} client(s) en écart dans client_stats", driftedClientIds.size());
+
+        if (repair) {
+            rebuild(driftedClientIds);
+            logger.info("✅ {} client(s) reconstruit(s) dans client_stats", driftedClientIds.size());
+        }
+
+        return driftedClientIds;
+    }
+
+    /**
+     * Reconstruit la projection des clients donnés depuis la table mouvements
+     * (rejoint la transaction de verify, sinon en ouvre une)
+     */
+    public void rebuild(List<Long> clientIds) {
+        transaction.executeWithoutResult(status -> {
+            for (int from = 0; from < clientIds.size(); from += REBUILD_BATCH_SIZE) {
+                List<Long> batch = clientIds.subList(from, Math.min(from + REBUILD_BATCH_SIZE, clientIds.size()));
+                clientStatsRepository.rebuildForClients(batch);
+                clientStatsRepository.deleteOrphansForClients(batch);
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+// src/test/java/org/example/collectfocep/services/ClientStatsRebuildJobTest.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.repositories.ClientStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * La vérification planifiée appelle verify / rebuild sur this : la réparation doit quand même
+ * s'exécuter dans une transaction (pas de proxy @Transactional sur ce chemin)
+ */
+class ClientStatsRebuildJobTest {
+
+    @Test
+    void scheduledVerifyRepairsInsideATransaction() {
+        ClientStatsRepository repository = mock(ClientStatsRepository.class);
+        TrackingTransactionManager transactionManager = new TrackingTransactionManager();
+        List<Integer> transactionsOuvertes = new ArrayList<>();
+
+        when(repository.findDrift()).thenReturn(List.<Object[]>of(new Object[] { 42L, 1000L, 900L, 0L, 0L, 3L, 2L }));
+        when(repository.rebuildForClients(anyCollection())).thenAnswer(invocation -> {
+            transactionsOuvertes.add(transactionManager.ouvertes);
+            return 1;
+        });
+        when(repository.deleteOrphansForClients(anyCollection())).thenAnswer(invocation -> {
+            transactionsOuvertes.add(transactionManager.ouvertes);
+            return 0;
+        });
+
+        new ClientStatsRebuildJob(repository, transactionManager, true).scheduledVerify();
+
+        verify(repository).rebuildForClients(List.of(42L));
+        verify(repository).deleteOrphansForClients(List.of(42L));
+        assertEquals(2, transactionsOuvertes.size());
+        assertTrue(transactionsOuvertes.stream().allMatch(ouvertes -> ouvertes > 0),
+            "réparation exécutée hors transaction");
+        assertEquals(0, transactionManager.ouvertes);
+        assertEquals(0, transactionManager.rollbacks);
+    }
+
+    @Test
+    void scheduledVerifyWithoutAutoRepairOnlyReports() {
+        ClientStatsRepository repository = mock(ClientStatsRepository.class);
+        when(repository.findDrift()).thenReturn(List.<Object[]>of(new Object[] { 42L, 1000L, 900L, 0L, 0L, 3L, 2L }));
+
+        new ClientStatsRebuildJob(repository, new TrackingTransactionManager(), false).scheduledVerify();
+
+        verify(repository, never()).rebuildForClients(anyCollection());
+    }
+
+    /**
+     * Compte les transactions ouvertes (une transaction imbriquée REQUIRED est comptée comme ouverte)
+     */
+    private static final class TrackingTransactionManager implements PlatformTransactionManager {
+
+        private int ouvertes;
+        private int rollbacks;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            ouvertes++;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            ouvertes--;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            ouvertes--;
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// src/main/java/org/example/collectfocep/repositories/ClientStatsRepository.java
+package org.example.collectfocep.repositories;
+
+import org.example.collectfocep.entities.ClientStats;
+import org.example.collectfocep.util.Montant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Accès à la projection client_stats (requêtes natives MySQL 8)
+ */
+@Repository
+public interface ClientStatsRepository extends JpaRepository<ClientStats, Long> {
+
+    /**
+     * 🔥 UPSERT ATOMIQUE : Applique un ou plusieurs mouvements à la projection du client
+     * (nombre = 1 à l'enregistrement unitaire, agrégat du client en ingestion par lot)
+     * Le verrou de ligne de l'upsert sérialise les mouvements concurrents d'un même client
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_stats " +
+                   "(client_id, total_epargne_centimes, total_retraits_centimes, nombre_transactions, derniere_transaction, version) " +
+                   "VALUES (:clientId, :epargneCentimes, :retraitCentimes, :nombre, :dateOperation, 1) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_epargne_centimes = total_epargne_centimes + VALUES(total_epargne_centimes), " +
+                   "total_retraits_centimes = total_retraits_centimes + VALUES(total_retraits_centimes), " +
+                   "nombre_transactions = nombre_transactions + VALUES(nombre_transactions), " +
+                   // GREATEST renvoie NULL si un argument est NULL : un mouvement sans date garde la date connue
+                   "derniere_transaction = GREATEST(COALESCE(derniere_transaction, VALUES(derniere_transaction)), " +
+                   "COALESCE(VALUES(derniere_transaction), derniere_transaction)), " +
+                   "version = version + 1",
+           nativeQuery = true)
+    int applyMouvement(@Param("clientId") Long clientId,
+                       @Param("epargneCentimes") long epargneCentimes,
+                       @Param("retraitCentimes") long retraitCentimes,
+                       @Param("nombre") int nombre,
+                       @Param("dateOperation") LocalDateTime dateOperation);
+
+    /**
+     * 🔥 CORRECTION / SUPPRESSION : applique un écart signé à la projection du client et relit sa dernière
+     * transaction dans mouvements (index (client_id, date_operation DESC, id DESC))
+     * À appeler après l'écriture du mouvement (flush), dans sa transaction
+     */
+    @Modifying
+    @Query(value = "UPDATE client_stats SET " +
+                   "total_epargne_centimes = total_epargne_centimes + :epargneCentimes, " +
+                   "total_retraits_centimes = total_retraits_centimes + :retraitCentimes, " +
+                   "nombre_transactions = nombre_transactions + :nombre, " +
+                   "derniere_transaction = (SELECT MAX(m.date_operation) FROM mouvements m WHERE m.client_id = :clientId), " +
+                   "version = version + 1 " +
+                   "WHERE client_id = :clientId",
+           nativeQuery = true)
+    int applyCorrection(@Param("clientId") Long clientId,
+                        @Param("epargneCentimes") long epargneCentimes,
+                        @Param("retraitCentimes") long retraitCentimes,
+                        @Param("nombre") int nombre);
+
+    /**
+     * Compare la projection à un recalcul complet depuis la table mouvements
+     * Comparaison exacte en centimes (arrondi par ligne, comme Montant.of)
+     * Retourne uniquement les clients en écart :
+     * [clientId, totalEpargne attendu, totalEpargne projeté, totalRetraits attendu, totalRetraits projeté,
+     *  nombreTransactions attendu, nombreTransactions projeté]
+     */
+    @Query(value = "WITH a AS (" +
+                   "SELECT m.client_id, " +
+                   "SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END) AS total_epargne, " +
+                   "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END) AS total_retraits, " +
+                   "COUNT(*) AS nombre_transactions " +
+                   "FROM mouvements m WHERE m.client_id IS NOT NULL GROUP BY m.client_id" +
+                   ") " +
+                   "SELECT a.client_id, a.total_epargne, s.total_epargne_centimes, a.total_retraits, s.total_retraits_centimes, " +
+                   "a.nombre_transactions, s.nombre_transactions " +
+                   "FROM a LEFT JOIN client_stats s ON s.client_id = a.client_id " +
+                   "WHERE s.client_id IS NULL " +
+                   "OR a.total_epargne <> s.total_epargne_centimes " +
+                   "OR a.total_retraits <> s.total_retraits_centimes " +
+                   "OR a.nombre_transactions <> s.nombre_transactions " +
+                   "UNION ALL " +
+                   "SELECT s.client_id, 0, s.total_epargne_centimes, 0, s.total_retraits_centimes, 0, s.nombre_transactions " +
+                   "FROM client_stats s LEFT JOIN a ON a.client_id = s.client_id " +
+                   "WHERE a.client_id IS NULL AND s.nombre_transactions <> 0",
+           nativeQuery = true)
+    List<Object[]> findDrift();
+
+    /**
+     * 🔥 RECALCUL : Reconstruit la projection des clients donnés depuis la table mouvements
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_stats " +
+                   "(client_id, total_epargne_centimes, total_retraits_centimes, nombre_transactions, derniere_transaction, version) " +
+                   "SELECT m.client_id, " +
+                   "COALESCE(SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), 0), " +
+                   "COUNT(*), MAX(m.date_operation), 1 " +
+                   "FROM mouvements m WHERE m.client_id IN (:clientIds) GROUP BY m.client_id " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_epargne_centimes = VALUES(total_epargne_centimes), " +
+                   "total_retraits_centimes = VALUES(total_retraits_centimes), " +
+                   "nombre_transactions = VALUES(nombre_transactions), " +
+                   "derniere_transaction = VALUES(derniere_transaction), " +
+                   "version = version + 1",
+           nativeQuery = true)
+    int rebuildForClients(@Param("clientIds") Collection<Long> clientIds);
+
+    /**
+     * Supprime les lignes de projection des clients qui n'ont plus aucun mouvement
+     */
+    @Modifying
+    @Query(value = "DELETE FROM client_stats WHERE client_id IN (:clientIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM mouvements m WHERE m.client_id = client_stats.client_id)",
+           nativeQuery = true)
+    int deleteOrphansForClients(@Param("clientIds") Collection<Long> clientIds);
+}
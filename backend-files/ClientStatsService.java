@@ -2,8 +2,11 @@
 package org.example.collectfocep.services;
 
 import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.ClientSummaryView;
 import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.dto.MouvementPageDTO;
 import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.util.Montant;
 
 import java.util.List;
 
@@ -18,23 +21,53 @@ public interface ClientStatsService {
      */
     ClientSummaryDTO enrichClientWithStats(Client client);
     
+    /**
+     * Enrichit un client avec les seules parties de la vue demandée
+     */
+    ClientSummaryDTO enrichClientWithStats(Client client, ClientSummaryView view);
+    
+    /**
+     * Enrichit une liste de clients en un nombre constant de requêtes,
+     * quelle que soit la taille de la liste (ordre de la liste conservé)
+     */
+    List<ClientSummaryDTO> enrichClientsWithStats(List<Client> clients);
+    
+    /**
+     * Enrichit des résumés issus des projections de ClientRepository (sans entité Client)
+     * Les résumés fournis sont complétés sur place, ou remplacés par ceux du cache
+     */
+    List<ClientSummaryDTO> enrichSummariesWithStats(List<ClientSummaryDTO> summaries);
+    
+    /**
+     * Enrichit des résumés avec les seules parties de la vue demandée
+     * Les parties non demandées ne sont ni calculées ni sérialisées (vue « list » : aucune requête)
+     */
+    List<ClientSummaryDTO> enrichSummariesWithStats(List<ClientSummaryDTO> summaries, ClientSummaryView view);
+    
     /**
      * Récupère les transactions récentes d'un client
      */
     List<MouvementDTO> getRecentTransactions(Long clientId, int limit);
     
+    /**
+     * Récupère une page de l'historique d'un client, paginée par curseur
+     * @param after curseur renvoyé par la page précédente (null ou vide pour la première page)
+     */
+    MouvementPageDTO getTransactionHistory(Long clientId, String after, int limit);
+    
     /**
      * Calcule le total des épargnes d'un client
      */
-    Double getTotalEpargne(Long clientId);
+    Montant getTotalEpargne(Long clientId);
     
     /**
      * Calcule le total des retraits d'un client
      */
-    Double getTotalRetraits(Long clientId);
+    Montant getTotalRetraits(Long clientId);
     
     /**
-     * Récupère les paramètres de commission d'un client (si définis)
+     * Récupère les paramètres de commission effectifs d'un client (client → collecteur → agence)
+     * @return null si aucun niveau n'est paramétré
      */
     ClientSummaryDTO.CommissionParameterDTO getCommissionParameters(Long clientId);
 }
\ No newline at end of file
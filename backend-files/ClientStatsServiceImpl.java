@@ -2,17 +2,34 @@
 package org.example.collectfocep.services.impl;
 
 import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.ClientSummaryView;
 import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.dto.MouvementPageDTO;
 import org.example.collectfocep.entities.Client;
-import org.example.collectfocep.entities.Mouvement;
+import org.example.collectfocep.entities.ClientStats;
+import org.example.collectfocep.metrics.ClientStatsMetrics;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.example.collectfocep.repositories.ClientStatsRepository;
 import org.example.collectfocep.repositories.MouvementRepository;
+import org.example.collectfocep.services.ClientEnrichmentExecutor;
 import org.example.collectfocep.services.ClientStatsService;
+import org.example.collectfocep.services.ClientSummaryCache;
+import org.example.collectfocep.services.CommissionParameterStore;
+import org.example.collectfocep.services.RecentTransactionsStore;
+import org.example.collectfocep.util.Montant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -22,94 +39,306 @@ import java.util.stream.Collectors;
 @Service
 public class ClientStatsServiceImpl implements ClientStatsService {
 
+    private static final int RECENT_TRANSACTIONS_LIMIT = RecentTransactionsStore.RECENT_CAPACITY;
+
+    // Tranche enrichie par une tâche (2 requêtes) ; reste sous la limite de paramètres JDBC
+    private static final int ENRICHMENT_CHUNK_SIZE = 200;
+
     @Autowired
     private MouvementRepository mouvementRepository;
 
+    @Autowired
+    private ClientStatsRepository clientStatsRepository;
+
+    @Autowired
+    private ClientSummaryCache clientSummaryCache;
+
+    @Autowired
+    private ClientEnrichmentExecutor clientEnrichmentExecutor;
+
+    @Autowired
+    private CommissionParameterStore commissionParameterStore;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientStatsMetrics clientStatsMetrics;
+
+    @Autowired
+    private RecentTransactionsStore recentTransactionsStore;
+
     @Override
     public ClientSummaryDTO enrichClientWithStats(Client client) {
-        ClientSummaryDTO dto = new ClientSummaryDTO(client);
-        
-        // 🔥 OPTIMISATION : Une seule requête pour toutes les stats
-        enrichWithAllStats(dto, client.getId());
-        
-        return dto;
+        return enrichClientWithStats(client, ClientSummaryView.FULL);
     }
 
     @Override
-    public List<MouvementDTO> getRecentTransactions(Long clientId, int limit) {
-        PageRequest pageRequest = PageRequest.of(0, limit, 
-            Sort.by(Sort.Direction.DESC, "dateOperation"));
-        
-        List<Mouvement> mouvements = mouvementRepository.findByClientIdOrderByDateOperationDesc(
-            clientId, pageRequest);
-            
-        return mouvements.stream()
-            .map(MouvementDTO::new)
-            .collect(Collectors.toList());
+    public ClientSummaryDTO enrichClientWithStats(Client client, ClientSummaryView view) {
+        // 🔥 OPTIMISATION : Même chemin que la liste (2 requêtes au total)
+        return enrichSummariesWithStats(Collections.singletonList(new ClientSummaryDTO(client)), view).get(0);
     }
 
     @Override
-    public Double getTotalEpargne(Long clientId) {
-        Double total = mouvementRepository.sumMontantByClientIdAndSens(clientId, "EPARGNE");
-        return total != null ? total : 0.0;
+    public List<ClientSummaryDTO> enrichClientsWithStats(List<Client> clients) {
+        if (clients == null || clients.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return enrichSummariesWithStats(clients.stream()
+            .map(ClientSummaryDTO::new)
+            .collect(Collectors.toList()));
     }
 
     @Override
-    public Double getTotalRetraits(Long clientId) {
-        Double total = mouvementRepository.sumMontantByClientIdAndSens(clientId, "RETRAIT");
-        return total != null ? total : 0.0;
+    public List<ClientSummaryDTO> enrichSummariesWithStats(List<ClientSummaryDTO> summaries) {
+        return enrichSummariesWithStats(summaries, ClientSummaryView.FULL);
     }
 
     @Override
-    public ClientSummaryDTO.CommissionParameterDTO getCommissionParameters(Long clientId) {
-        // 🔥 TODO: Implémenter quand la table commission_parameters sera créée
-        // Pour l'instant, retourner des paramètres par défaut selon le profil client
-        
-        // Exemple de logique simple basée sur le solde actuel
-        return createDefaultCommissionParameters(clientId);
+    public List<ClientSummaryDTO> enrichSummariesWithStats(List<ClientSummaryDTO> summaries, ClientSummaryView view) {
+        if (summaries == null || summaries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 📈 Durée et nombre de clients par vue (client.enrichment, client.enrichment.clients)
+        return clientStatsMetrics.timeEnrichment(view.getCle(), summaries.size(), () -> enrich(summaries, view));
+    }
+
+    private List<ClientSummaryDTO> enrich(List<ClientSummaryDTO> summaries, ClientSummaryView view) {
+        // 🔥 VUE « list » : identité et compte déjà lus par la projection, aucune requête
+        if (view.isVide()) {
+            return summaries;
+        }
+
+        // 🔥 CACHE (résumés complets uniquement) : seuls les clients absents du cache sont recalculés
+        Map<Long, ClientSummaryDTO> enriched = new HashMap<>();
+        Map<Long, Long> generations = new HashMap<>();
+        List<ClientSummaryDTO> misses = new ArrayList<>();
+        for (ClientSummaryDTO summary : summaries) {
+            ClientSummaryDTO cached = clientSummaryCache.get(summary.getId());
+            if (cached != null) {
+                enriched.put(summary.getId(), cached.restreindre(view));
+            } else {
+                // Génération lue avant le calcul : protège contre un mouvement validé entre-temps
+                generations.put(summary.getId(), clientSummaryCache.generation(summary.getId()));
+                misses.add(summary);
+            }
+        }
+
+        loadStats(misses, view);
+        for (ClientSummaryDTO dto : misses) {
+            // Seul un résumé complet peut servir les vues suivantes
+            if (view.isComplete() && !Boolean.TRUE.equals(dto.getStatsIncompletes())) {
+                clientSummaryCache.put(dto, generations.get(dto.getId()));
+            }
+            enriched.put(dto.getId(), dto.restreindre(view));
+        }
+
+        List<ClientSummaryDTO> result = new ArrayList<>(summaries.size());
+        for (ClientSummaryDTO summary : summaries) {
+            result.add(enriched.get(summary.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * Complète les résumés avec leurs statistiques, en requêtes groupées
+     * Les tranches sont enrichies en parallèle sur l'exécuteur dédié ; une tranche
+     * non terminée à l'échéance donne des résumés sans statistiques (statsIncompletes)
+     * Seules les parties de la vue sont chargées
+     */
+    private void loadStats(List<ClientSummaryDTO> summaries, ClientSummaryView view) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        boolean totaux = view.contient(ClientSummaryView.Partie.TOTAUX);
+        boolean transactions = view.contient(ClientSummaryView.Partie.TRANSACTIONS);
+        boolean commission = view.contient(ClientSummaryView.Partie.COMMISSION);
+
+        // 🔥 Commission seule : résolution en mémoire, aucune requête
+        if (!totaux && !transactions) {
+            for (ClientSummaryDTO dto : summaries) {
+                dto.setCommissionParameter(commissionParameterStore.resolve(dto.getId(), dto.getCollecteurId()));
+            }
+            return;
+        }
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < summaries.size(); from += ENRICHMENT_CHUNK_SIZE) {
+            chunks.add(summaries.subList(from, Math.min(from + ENRICHMENT_CHUNK_SIZE, summaries.size())).stream()
+                .map(ClientSummaryDTO::getId)
+                .collect(Collectors.toList()));
+        }
+
+        // Toujours par l'exécuteur, même pour une seule tranche : sémaphore et échéance s'appliquent à tout enrichissement
+        List<ChunkStats> chunkResults = clientEnrichmentExecutor.invokeAllReadOnly(chunks.stream()
+            .map(chunk -> (Supplier<ChunkStats>) () -> loadChunkStats(chunk, totaux, transactions))
+            .collect(Collectors.toList()));
+
+        Map<Long, ClientStats> statsByClient = new HashMap<>();
+        Map<Long, List<MouvementDTO>> transactionsByClient = new HashMap<>();
+        Set<Long> incomplete = new HashSet<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkStats chunkStats = chunkResults.get(i);
+            if (chunkStats == null) {
+                incomplete.addAll(chunks.get(i));
+            } else {
+                statsByClient.putAll(chunkStats.statsByClient);
+                transactionsByClient.putAll(chunkStats.transactionsByClient);
+            }
+        }
+
+        clientStatsMetrics.timeMapping(() -> applyChunkResults(summaries, statsByClient, transactionsByClient,
+                                                               incomplete, totaux, transactions, commission));
     }
 
     /**
-     * 🔥 MÉTHODE OPTIMISÉE : Enrichit toutes les stats en une seule fois
+     * Applique les résultats des tranches aux résumés (aucune requête)
      */
-    private void enrichWithAllStats(ClientSummaryDTO dto, Long clientId) {
-        // Récupérer les transactions récentes
-        dto.setTransactions(getRecentTransactions(clientId, 20));
-        
-        // 🔥 OPTIMISATION : Calcul direct via requête groupée
-        Object[] totals = mouvementRepository.calculateTotalsForClient(clientId);
-        if (totals != null && totals.length >= 2) {
-            Double totalEpargne = (Double) totals[0];
-            Double totalRetraits = (Double) totals[1];
-            
-            dto.setTotalEpargne(totalEpargne != null ? totalEpargne : 0.0);
-            dto.setTotalRetraits(totalRetraits != null ? totalRetraits : 0.0);
+    private void applyChunkResults(List<ClientSummaryDTO> summaries, Map<Long, ClientStats> statsByClient,
+                                   Map<Long, List<MouvementDTO>> transactionsByClient, Set<Long> incomplete,
+                                   boolean totaux, boolean transactions, boolean commission) {
+        for (ClientSummaryDTO dto : summaries) {
+            if (incomplete.contains(dto.getId())) {
+                dto.setStatsIncompletes(true);
+            } else {
+                if (transactions) {
+                    dto.setTransactions(transactionsByClient.getOrDefault(dto.getId(), Collections.emptyList()));
+                }
+                if (totaux) {
+                    applyStats(dto, statsByClient.get(dto.getId()));
+                }
+                if (commission) {
+                    // 🔥 Résolution client → collecteur → agence en mémoire, sans requête
+                    dto.setCommissionParameter(commissionParameterStore.resolve(dto.getId(), dto.getCollecteurId()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 🔥 OPTIMISATION : 3 requêtes par tranche d'ids, au lieu de 2 requêtes par client
+     * (totaux, ids des mouvements récents, projection de ces mouvements), moins celles
+     * des parties non demandées
+     */
+    private ChunkStats loadChunkStats(List<Long> clientIds, boolean totaux, boolean transactions) {
+        ChunkStats chunkStats = new ChunkStats();
+
+        // Totaux lus dans la projection client_stats (clé primaire), sans agrégation
+        if (totaux) {
+            for (ClientStats stats : clientStatsMetrics.timeQuery("client_stats",
+                    () -> clientStatsRepository.findAllById(clientIds))) {
+                chunkStats.statsByClient.put(stats.getClientId(), stats);
+            }
+        }
+
+        if (!transactions) {
+            return chunkStats;
+        }
+
+        // 🔥 Clients actifs servis depuis la mémoire ; requêtes pour les autres seulement
+        chunkStats.transactionsByClient.putAll(recentTransactionsStore.getAll(clientIds, this::loadRecentTransactions));
+        return chunkStats;
+    }
+
+    /**
+     * Derniers mouvements de plusieurs clients en 2 requêtes (ids par fenêtre, puis projection)
+     */
+    private Map<Long, List<MouvementDTO>> loadRecentTransactions(Collection<Long> clientIds) {
+        Map<Long, List<MouvementDTO>> transactionsByClient = new HashMap<>();
+        List<Long> recentIds = clientStatsMetrics.timeQuery("recent_ids",
+            () -> mouvementRepository.findRecentIdsByClientIds(clientIds, RECENT_TRANSACTIONS_LIMIT));
+        if (!recentIds.isEmpty()) {
+            for (MouvementDTO mouvement : clientStatsMetrics.timeQuery("mouvement_dtos",
+                    () -> mouvementRepository.findDTOsByIds(recentIds))) {
+                transactionsByClient
+                    .computeIfAbsent(mouvement.getClientId(), id -> new ArrayList<>())
+                    .add(mouvement);
+            }
+        }
+        return transactionsByClient;
+    }
+
+    /**
+     * Résultat de l'enrichissement d'une tranche de clients
+     */
+    private static class ChunkStats {
+        private final Map<Long, ClientStats> statsByClient = new HashMap<>();
+        private final Map<Long, List<MouvementDTO>> transactionsByClient = new HashMap<>();
+    }
+
+    @Override
+    public List<MouvementDTO> getRecentTransactions(Long clientId, int limit) {
+        // 🔥 Client actif : liste en mémoire ; sinon requête triée (dateOperation DESC, id DESC) puis mise en mémoire
+        return recentTransactionsStore.get(clientId, limit);
+    }
+
+    @Override
+    public MouvementPageDTO getTransactionHistory(Long clientId, String after, int limit) {
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+
+        List<MouvementDTO> mouvements;
+        if (after == null || after.isEmpty()) {
+            mouvements = mouvementRepository.findHistoryFirstPage(clientId, pageRequest);
         } else {
-            // Fallback si la méthode groupée échoue
-            dto.setTotalEpargne(getTotalEpargne(clientId));
-            dto.setTotalRetraits(getTotalRetraits(clientId));
+            MouvementPageDTO.Cursor cursor = MouvementPageDTO.Cursor.decode(after);
+            mouvements = cursor.getDateOperation() != null
+                ? mouvementRepository.findHistoryPageAfter(
+                    clientId, cursor.getDateOperation(), cursor.getId(), pageRequest)
+                : mouvementRepository.findHistoryPageAfterUndated(clientId, cursor.getId(), pageRequest);
         }
-        
-        // Paramètres de commission
-        dto.setCommissionParameter(getCommissionParameters(clientId));
+
+        boolean hasMore = mouvements.size() > limit;
+        List<MouvementDTO> content = hasMore ? mouvements.subList(0, limit) : mouvements;
+
+        String nextCursor = null;
+        if (hasMore) {
+            MouvementDTO last = content.get(content.size() - 1);
+            nextCursor = new MouvementPageDTO.Cursor(last.getDateOperation(), last.getId()).encode();
+        }
+
+        return new MouvementPageDTO(content, nextCursor);
+    }
+
+    @Override
+    public Montant getTotalEpargne(Long clientId) {
+        return clientStatsRepository.findById(clientId)
+            .map(ClientStats::getTotalEpargne)
+            .orElse(Montant.ZERO);
+    }
+
+    @Override
+    public Montant getTotalRetraits(Long clientId) {
+        return clientStatsRepository.findById(clientId)
+            .map(ClientStats::getTotalRetraits)
+            .orElse(Montant.ZERO);
     }
-    
+
+    @Override
+    public ClientSummaryDTO.CommissionParameterDTO getCommissionParameters(Long clientId) {
+        // Hors enrichissement : collecteur lu en base, résolution en mémoire
+        return commissionParameterStore.resolve(clientId, clientRepository.findCollecteurIdById(clientId));
+    }
+
     /**
-     * Crée des paramètres de commission par défaut
-     * 🔥 TODO: Remplacer par la vraie logique métier
+     * Applique la projection client_stats au DTO
+     * Un client sans mouvement n'a pas de ligne : totaux à zéro
      */
-    private ClientSummaryDTO.CommissionParameterDTO createDefaultCommissionParameters(Long clientId) {
-        ClientSummaryDTO.CommissionParameterDTO params = 
-            new ClientSummaryDTO.CommissionParameterDTO();
-        
-        // Exemple de logique simple : commission par pourcentage
-        params.setTypeCommission("POURCENTAGE");
-        params.setPourcentage(2.0); // 2% par défaut
-        
-        // TODO: Implémenter la vraie logique selon les règles métier
-        // - Lire depuis une table commission_parameters
-        // - Appliquer les règles selon le profil client, ancienneté, etc.
-        
-        return params;
+    private void applyStats(ClientSummaryDTO dto, ClientStats stats) {
+        if (stats == null) {
+            dto.setTotalEpargne(Montant.ZERO);
+            dto.setTotalRetraits(Montant.ZERO);
+            dto.setNombreTransactions(0);
+            return;
+        }
+
+        dto.setTotalEpargne(stats.getTotalEpargne());
+        dto.setTotalRetraits(stats.getTotalRetraits());
+        // Nombre réel de transactions (et non la taille de la liste récente)
+        dto.setNombreTransactions(stats.getNombreTransactions().intValue());
+        dto.setDerniereTransaction(stats.getDerniereTransaction());
     }
 }
\ No newline at end of file
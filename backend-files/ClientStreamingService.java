@@ -0,0 +1,99 @@
+// src/main/java/org/example/collectfocep/services/ClientStreamingService.java
+package org.example.collectfocep.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Diffusion NDJSON (un ClientSummaryDTO par ligne) de la liste enrichie d'un collecteur
+ * La mémoire reste constante : seule une tranche de clients est chargée à la fois
+ */
+@Service
+public class ClientStreamingService {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientStatsService clientStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ClientStreamingService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 🔥 Écrit les clients enrichis du collecteur au fil de l'eau
+     * Chaque tranche est chargée et enrichie dans sa propre transaction courte,
+     * puis écrite et flushée : la connexion n'est pas retenue pendant l'écriture réseau
+     *
+     * @return nombre de clients écrits
+     */
+    public int streamClientsCollecteur(Long collecteurId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClientSummaryDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        int count = 0;
+        long afterId = 0L;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+
+            while (true) {
+                final long cursor = afterId;
+                List<ClientSummaryDTO> chunk = readOnlyTransaction.execute(status -> loadChunk(collecteurId, cursor));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+
+                for (ClientSummaryDTO dto : chunk) {
+                    writer.writeValue(generator, dto);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+
+                count += chunk.size();
+                afterId = chunk.get(chunk.size() - 1).getId();
+
+                if (chunk.size() < STREAM_CHUNK_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Charge et enrichit la tranche suivante
+     * Projections uniquement : le contexte de persistance ne grossit pas au fil du flux
+     */
+    private List<ClientSummaryDTO> loadChunk(Long collecteurId, long afterId) {
+        List<ClientSummaryDTO> summaries = clientRepository.findNextSummariesByCollecteurId(
+            collecteurId, afterId, PageRequest.of(0, STREAM_CHUNK_SIZE));
+
+        return clientStatsService.enrichSummariesWithStats(summaries);
+    }
+}
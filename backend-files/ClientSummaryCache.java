@@ -0,0 +1,142 @@
+// src/main/java/org/example/collectfocep/services/ClientSummaryCache.java
+package org.example.collectfocep.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.events.ClientModifieEvent;
+import org.example.collectfocep.events.CommissionParametresRechargesEvent;
+import org.example.collectfocep.events.MouvementEnregistreEvent;
+import org.example.collectfocep.events.MouvementModifieEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache borné des ClientSummaryDTO par id client
+ * Invalidé à chaque mouvement (création, correction, suppression) ou modification du client,
+ * au commit de la transaction
+ *
+ * 🔥 Les DTO mis en cache sont partagés : ne jamais les modifier après lecture
+ */
+@Component
+public class ClientSummaryCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, ClientSummaryDTO> cache;
+
+    // Génération d'invalidation par tranche d'ids : un résumé calculé avant une invalidation
+    // n'est jamais remis en cache après celle-ci
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ClientSummaryCache(@Value("${client-summary-cache.max-weight:200000}") long maxWeight,
+                              @Value("${client-summary-cache.ttl-minutes:10}") long ttlMinutes,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            // Poids ≈ nombre d'objets retenus : le résumé + ses transactions récentes
+            .maximumWeight(maxWeight)
+            .weigher((Long clientId, ClientSummaryDTO dto) ->
+                1 + (dto.getTransactions() != null ? dto.getTransactions().size() : 0))
+            // Filet de sécurité pour les écritures hors application (scripts SQL)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .build();
+
+        // Expose hits / misses / evictions si Micrometer est présent
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "clientSummary"));
+    }
+
+    public ClientSummaryDTO get(Long clientId) {
+        return cache.getIfPresent(clientId);
+    }
+
+    /**
+     * Génération courante, à lire AVANT de calculer le résumé à mettre en cache
+     */
+    public long generation(Long clientId) {
+        return generations.get(stripe(clientId));
+    }
+
+    /**
+     * Met en cache un résumé calculé, sauf si le client a été invalidé depuis
+     * la lecture de la génération (le résumé peut alors être périmé)
+     */
+    public void put(ClientSummaryDTO dto, long generation) {
+        cache.asMap().compute(dto.getId(), (id, current) ->
+            generations.get(stripe(id)) == generation ? dto : current);
+    }
+
+    public void evict(Long clientId) {
+        generations.incrementAndGet(stripe(clientId));
+        cache.invalidate(clientId);
+    }
+
+    /**
+     * Invalide tous les résumés (changement global, ex. paramètres de commission)
+     */
+    public void evictAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 🔥 Invalidation au commit (et avant, pour fermer la fenêtre entre lecture et commit)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeMouvementCommit(MouvementEnregistreEvent event) {
+        evict(event.getClientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMouvementCommitted(MouvementEnregistreEvent event) {
+        evict(event.getClientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeMouvementModifieCommit(MouvementModifieEvent event) {
+        evict(event.getClientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMouvementModifieCommitted(MouvementModifieEvent event) {
+        evict(event.getClientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeClientCommit(ClientModifieEvent event) {
+        evict(event.getClientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onClientCommitted(ClientModifieEvent event) {
+        evict(event.getClientId());
+    }
+
+    /**
+     * Les résumés en cache portent le paramètre de commission de l'ancienne version
+     */
+    @EventListener
+    public void onCommissionParametresRecharges(CommissionParametresRechargesEvent event) {
+        evictAll();
+    }
+
+    private static int stripe(Long clientId) {
+        return (int) Math.floorMod(clientId, (long) GENERATION_STRIPES);
+    }
+}
@@ -3,6 +3,8 @@ package org.example.collectfocep.dto;
 
 import org.example.collectfocep.entities.Client;
 import org.example.collectfocep.entities.CompteClient;
+import org.example.collectfocep.util.Montant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +26,10 @@ public class ClientSummaryDTO {
     private String ville;
     private LocalDateTime dateCreation;
     
+    // Collecteur du client : résolution des paramètres de commission (non exposé)
+    @JsonIgnore
+    private Long collecteurId;
+    
     // 🔥 COMPTE CLIENT AVEC SOLDE
     private CompteClientDTO compteClient;
     
@@ -31,9 +37,9 @@ public class ClientSummaryDTO {
     private List<MouvementDTO> transactions;
     
     // 🔥 TOTAUX CALCULÉS
-    private Double totalEpargne;
-    private Double totalRetraits;
-    private Double soldeNet; // totalEpargne - totalRetraits
+    private Montant totalEpargne;
+    private Montant totalRetraits;
+    private Montant soldeNet; // totalEpargne - totalRetraits
     
     // 🔥 PARAMÈTRES DE COMMISSION (pour calcul solde disponible)
     private CommissionParameterDTO commissionParameter;
@@ -42,6 +48,9 @@ public class ClientSummaryDTO {
     private Integer nombreTransactions;
     private LocalDateTime derniereTransaction;
     
+    // true si les statistiques n'ont pas pu être calculées avant l'échéance de la requête
+    private Boolean statsIncompletes;
+    
     // Constructeurs
     public ClientSummaryDTO() {}
     
@@ -55,6 +64,7 @@ public class ClientSummaryDTO {
         this.quartier = client.getQuartier();
         this.ville = client.getVille();
         this.dateCreation = client.getDateCreation();
+        this.collecteurId = client.getCollecteur() != null ? client.getCollecteur().getId() : null;
         
         // Convertir le compte client
         if (client.getCompteClient() != null) {
@@ -62,6 +72,33 @@ public class ClientSummaryDTO {
         }
     }
     
+    /**
+     * 🔥 PROJECTION JPQL : construit directement depuis les colonnes (ClientRepository.CLIENT_SUMMARY_SELECT)
+     * Ni Client ni CompteClient hydratés, compte lu par jointure dans la même requête
+     */
+    public ClientSummaryDTO(Long id, String nom, String prenom, String numeroCompte, String telephone,
+                            Boolean valide, String quartier, String ville, LocalDateTime dateCreation,
+                            Long collecteurId, Long compteId, String compteNumero, Double compteSolde, String typeCompte) {
+        this.id = id;
+        this.nom = nom;
+        this.prenom = prenom;
+        this.numeroCompte = numeroCompte;
+        this.telephone = telephone;
+        this.valide = valide;
+        this.quartier = quartier;
+        this.ville = ville;
+        this.dateCreation = dateCreation;
+        this.collecteurId = collecteurId;
+        
+        if (compteId != null) {
+            this.compteClient = new CompteClientDTO();
+            this.compteClient.setId(compteId);
+            this.compteClient.setNumeroCompte(compteNumero);
+            this.compteClient.setSolde(Montant.of(compteSolde));
+            this.compteClient.setTypeCompte(typeCompte);
+        }
+    }
+    
     // Getters et Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -90,6 +127,9 @@ public class ClientSummaryDTO {
     public LocalDateTime getDateCreation() { return dateCreation; }
     public void setDateCreation(LocalDateTime dateCreation) { this.dateCreation = dateCreation; }
     
+    public Long getCollecteurId() { return collecteurId; }
+    public void setCollecteurId(Long collecteurId) { this.collecteurId = collecteurId; }
+    
     public CompteClientDTO getCompteClient() { return compteClient; }
     public void setCompteClient(CompteClientDTO compteClient) { this.compteClient = compteClient; }
     
@@ -106,20 +146,20 @@ public class ClientSummaryDTO {
         }
     }
     
-    public Double getTotalEpargne() { return totalEpargne; }
-    public void setTotalEpargne(Double totalEpargne) { 
+    public Montant getTotalEpargne() { return totalEpargne; }
+    public void setTotalEpargne(Montant totalEpargne) { 
         this.totalEpargne = totalEpargne; 
         calculerSoldeNet();
     }
     
-    public Double getTotalRetraits() { return totalRetraits; }
-    public void setTotalRetraits(Double totalRetraits) { 
+    public Montant getTotalRetraits() { return totalRetraits; }
+    public void setTotalRetraits(Montant totalRetraits) { 
         this.totalRetraits = totalRetraits; 
         calculerSoldeNet();
     }
     
-    public Double getSoldeNet() { return soldeNet; }
-    public void setSoldeNet(Double soldeNet) { this.soldeNet = soldeNet; }
+    public Montant getSoldeNet() { return soldeNet; }
+    public void setSoldeNet(Montant soldeNet) { this.soldeNet = soldeNet; }
     
     public CommissionParameterDTO getCommissionParameter() { return commissionParameter; }
     public void setCommissionParameter(CommissionParameterDTO commissionParameter) { 
@@ -132,10 +172,52 @@ public class ClientSummaryDTO {
     public LocalDateTime getDerniereTransaction() { return derniereTransaction; }
     public void setDerniereTransaction(LocalDateTime derniereTransaction) { this.derniereTransaction = derniereTransaction; }
     
+    public Boolean getStatsIncompletes() { return statsIncompletes; }
+    public void setStatsIncompletes(Boolean statsIncompletes) { this.statsIncompletes = statsIncompletes; }
+    
+    /**
+     * 🔥 VUE PARTIELLE : copie limitée aux parties demandées (identité et compte toujours présents)
+     * Ne modifie pas ce DTO, qui peut être partagé par le cache
+     */
+    public ClientSummaryDTO restreindre(ClientSummaryView view) {
+        if (view.isComplete()) {
+            return this;
+        }
+
+        ClientSummaryDTO copie = new ClientSummaryDTO();
+        copie.id = id;
+        copie.nom = nom;
+        copie.prenom = prenom;
+        copie.numeroCompte = numeroCompte;
+        copie.telephone = telephone;
+        copie.valide = valide;
+        copie.quartier = quartier;
+        copie.ville = ville;
+        copie.dateCreation = dateCreation;
+        copie.collecteurId = collecteurId;
+        copie.compteClient = compteClient;
+        copie.statsIncompletes = statsIncompletes;
+
+        if (view.contient(ClientSummaryView.Partie.TOTAUX)) {
+            copie.totalEpargne = totalEpargne;
+            copie.totalRetraits = totalRetraits;
+            copie.soldeNet = soldeNet;
+            copie.nombreTransactions = nombreTransactions;
+            copie.derniereTransaction = derniereTransaction;
+        }
+        if (view.contient(ClientSummaryView.Partie.TRANSACTIONS)) {
+            copie.transactions = transactions;
+        }
+        if (view.contient(ClientSummaryView.Partie.COMMISSION)) {
+            copie.commissionParameter = commissionParameter;
+        }
+        return copie;
+    }
+
     // Méthode utilitaire
     private void calculerSoldeNet() {
         if (totalEpargne != null && totalRetraits != null) {
-            this.soldeNet = totalEpargne - totalRetraits;
+            this.soldeNet = totalEpargne.minus(totalRetraits);
         }
     }
     
@@ -145,7 +227,7 @@ public class ClientSummaryDTO {
     public static class CompteClientDTO {
         private Long id;
         private String numeroCompte;
-        private Double solde;
+        private Montant solde;
         private String typeCompte;
         
         public CompteClientDTO() {}
@@ -153,7 +235,7 @@ public class ClientSummaryDTO {
         public CompteClientDTO(CompteClient compte) {
             this.id = compte.getId();
             this.numeroCompte = compte.getNumeroCompte();
-            this.solde = compte.getSolde();
+            this.solde = Montant.of(compte.getSolde());
             this.typeCompte = compte.getTypeCompte();
         }
         
@@ -164,8 +246,8 @@ public class ClientSummaryDTO {
         public String getNumeroCompte() { return numeroCompte; }
         public void setNumeroCompte(String numeroCompte) { this.numeroCompte = numeroCompte; }
         
-        public Double getSolde() { return solde; }
-        public void setSolde(Double solde) { this.solde = solde; }
+        public Montant getSolde() { return solde; }
+        public void setSolde(Montant solde) { this.solde = solde; }
         
         public String getTypeCompte() { return typeCompte; }
         public void setTypeCompte(String typeCompte) { this.typeCompte = typeCompte; }
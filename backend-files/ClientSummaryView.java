@@ -0,0 +1,100 @@
+// src/main/java/org/example/collectfocep/dto/ClientSummaryView.java
+package org.example.collectfocep.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parties d'un ClientSummaryDTO calculées et sérialisées pour une requête
+ * L'identité du client et son compte (solde) sont toujours présents ; les autres parties
+ * ne sont calculées que si elles sont demandées.
+ *
+ * Vues prédéfinies (paramètre « view ») :
+ *   list → identité + compte, aucune requête de statistiques
+ *   card → + totaux client_stats (lecture par clé primaire)
+ *   full → + transactions récentes + paramètres de commission (défaut)
+ * Ou liste explicite (paramètre « fields ») : totaux,transactions,commission
+ */
+public final class ClientSummaryView {
+
+    public enum Partie {
+        TOTAUX,
+        TRANSACTIONS,
+        COMMISSION
+    }
+
+    public static final ClientSummaryView LIST = new ClientSummaryView("list", EnumSet.noneOf(Partie.class));
+    public static final ClientSummaryView CARD = new ClientSummaryView("card", EnumSet.of(Partie.TOTAUX));
+    public static final ClientSummaryView FULL = new ClientSummaryView("full", EnumSet.allOf(Partie.class));
+
+    private final String cle;
+    private final Set<Partie> parties;
+
+    private ClientSummaryView(String cle, Set<Partie> parties) {
+        this.cle = cle;
+        this.parties = Collections.unmodifiableSet(parties);
+    }
+
+    /**
+     * Vue demandée ; « fields » prime sur « view », FULL si aucun des deux n'est fourni
+     * @throws IllegalArgumentException vue ou partie inconnue
+     */
+    public static ClientSummaryView of(String view, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            Set<Partie> parties = EnumSet.noneOf(Partie.class);
+            for (String field : fields.split(",")) {
+                String nom = field.trim().toUpperCase(Locale.ROOT);
+                if (nom.isEmpty()) {
+                    continue;
+                }
+                try {
+                    parties.add(Partie.valueOf(nom));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Champ inconnu: " + field.trim()
+                        + " (attendus: totaux, transactions, commission)");
+                }
+            }
+            // Clé stable quel que soit l'ordre des champs (ETag, journaux)
+            String cle = parties.stream()
+                .map(partie -> partie.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(",", "fields:", ""));
+            return new ClientSummaryView(cle, parties);
+        }
+
+        if (view == null || view.isBlank()) {
+            return FULL;
+        }
+        switch (view.trim().toLowerCase(Locale.ROOT)) {
+            case "list":
+                return LIST;
+            case "card":
+                return CARD;
+            case "full":
+                return FULL;
+            default:
+                throw new IllegalArgumentException("Vue inconnue: " + view + " (attendues: list, card, full)");
+        }
+    }
+
+    public boolean contient(Partie partie) {
+        return parties.contains(partie);
+    }
+
+    public boolean isComplete() {
+        return parties.size() == Partie.values().length;
+    }
+
+    public boolean isVide() {
+        return parties.isEmpty();
+    }
+
+    public String getCle() { return cle; }
+
+    @Override
+    public String toString() {
+        return cle;
+    }
+}
@@ -0,0 +1,112 @@
+// src/main/java/org/example/collectfocep/services/ClientVersionService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.dto.ClientSummaryView;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Empreintes de version des résumés clients, émises en ETag
+ * Une empreinte change dès qu'un élément du résumé enrichi peut changer : client modifié,
+ * mouvement appliqué (client_stats.version), mouvement modifié ou supprimé, paramètres de
+ * commission rechargés. Son calcul ne lit ni les clients complets ni l'historique.
+ *
+ * 🔥 Vérifiée AVANT ClientStatsService : un « If-None-Match » à jour est servi en 304 sans enrichissement
+ */
+@Service
+public class ClientVersionService {
+
+    // À incrémenter si la forme du résumé change (invalide les ETag déjà distribués)
+    private static final String FORMAT = "1";
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private CommissionParameterStore commissionParameterStore;
+
+    /**
+     * Version du résumé d'un client dans une vue, ou null si le client n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public ClientVersion clientVersion(Long clientId, ClientSummaryView view) {
+        List<Object[]> rows = clientRepository.findVersionRowById(clientId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = rows.get(0);
+        Long collecteurId = row[0] != null ? ((Number) row[0]).longValue() : null;
+        return new ClientVersion(collecteurId, etag("client", clientId, view, row));
+    }
+
+    /**
+     * ETag de la liste enrichie des clients d'un collecteur dans une vue
+     */
+    @Transactional(readOnly = true)
+    public String collecteurEtag(Long collecteurId, ClientSummaryView view) {
+        List<Object[]> rows = clientRepository.findVersionRowByCollecteurId(collecteurId);
+        return etag("collecteur", collecteurId, view, rows.isEmpty() ? new Object[0] : rows.get(0));
+    }
+
+    /**
+     * Comparaison faible d'un en-tête If-None-Match (liste, « * », préfixe W/) avec un ETag
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+
+        String attendu = opaque(etag);
+        for (String candidat : ifNoneMatch.split(",")) {
+            String valeur = candidat.trim();
+            if ("*".equals(valeur) || opaque(valeur).equals(attendu)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String etag(String portee, Long id, ClientSummaryView view, Object[] composantes) {
+        // Chaque vue est une représentation distincte : son propre ETag
+        StringBuilder empreinte = new StringBuilder(FORMAT)
+            .append('|').append(portee)
+            .append('|').append(id)
+            .append('|').append(view.getCle())
+            .append('|').append(commissionParameterStore.getVersion());
+        for (Object composante : composantes) {
+            empreinte.append('|').append(composante);
+        }
+
+        // Faible : l'égalité garantit le même contenu, pas les mêmes octets JSON
+        return "W/\"" + DigestUtils.md5DigestAsHex(empreinte.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Version d'un client et son collecteur (contrôle d'accès avant la réponse 304)
+     */
+    public static class ClientVersion {
+
+        private final Long collecteurId;
+        private final String etag;
+
+        public ClientVersion(Long collecteurId, String etag) {
+            this.collecteurId = collecteurId;
+            this.etag = etag;
+        }
+
+        public Long getCollecteurId() { return collecteurId; }
+
+        public String getEtag() { return etag; }
+    }
+}
@@ -0,0 +1,9 @@
+// AJOUTS À FAIRE dans l'entité Client.java
+// src/main/java/org/example/collectfocep/entities/Client.java
+
+// 🔥 VERSION DE SYNCHRONISATION : maintenue par MySQL (ON UPDATE CURRENT_TIMESTAMP(6)),
+// jamais écrite par Hibernate (voir migration_delta_sync.sql)
+@Column(name = "updated_at", insertable = false, updatable = false)
+private LocalDateTime updatedAt;
+
+public LocalDateTime getUpdatedAt() { return updatedAt; }
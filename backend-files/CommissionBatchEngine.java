@@ -0,0 +1,393 @@
+// src/main/java/org/example/collectfocep/services/CommissionBatchEngine.java
+package org.example.collectfocep.services;
+
+import jakarta.annotation.PreDestroy;
+import org.example.collectfocep.dto.CommissionBatchResultDTO;
+import org.example.collectfocep.util.Montant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moteur de calcul des commissions par lots (client → collecteur → agence, TVA 19,25 %)
+ * Pour un collecteur :
+ * 1. un seul parcours en flux des épargnes de la période, triées par client
+ *    (jeu de résultats MySQL en streaming : mémoire constante)
+ * 2. paramètre de chaque client résolu dans une table préchargée (aucune requête par client)
+ * 3. calcul par blocs de clients en parallèle, pendant la lecture du flux
+ * 4. remplacement des résultats de la période dans commission_calcul_client : suppression des lignes
+ *    du collecteur puis écriture par lots JDBC, dans la même transaction (un client sans épargne ou
+ *    sans paramètre au nouveau calcul ne garde pas l'ancien résultat)
+ * Le calcul tous collecteurs (fin de mois) traite plusieurs collecteurs en parallèle,
+ * chacun dans sa transaction, avec une table de paramètres chargée une seule fois.
+ */
+@Component
+public class CommissionBatchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommissionBatchEngine.class);
+
+    public static final BigDecimal TAUX_TVA = new BigDecimal("19.25");
+
+    // Clients par tâche de calcul
+    private static final int BLOC_CLIENTS = 500;
+
+    // Lignes par lot JDBC (rewriteBatchedStatements=true : un INSERT multi-lignes par lot)
+    private static final int LOT_ECRITURE = 500;
+
+    private static final String EPARGNES_PERIODE =
+        "SELECT m.client_id, " + Montant.TO_CENTIMES_SQL + " " +
+        "FROM clients cl JOIN mouvements m ON m.client_id = cl.id " +
+        "WHERE cl.collecteur_id = ? AND m.sens_code = 'E' " +
+        "AND m.date_operation >= ? AND m.date_operation < ? " +
+        "ORDER BY m.client_id";
+
+    private static final String SUPPRIMER_RESULTATS =
+        "DELETE FROM commission_calcul_client WHERE collecteur_id = ? AND date_debut = ? AND date_fin = ?";
+
+    // Upsert : un client transféré depuis un autre collecteur reprend sa ligne de la période
+    private static final String UPSERT_RESULTAT =
+        "INSERT INTO commission_calcul_client " +
+        "(collecteur_id, client_id, date_debut, date_fin, montant_epargne_centimes, commission_centimes, " +
+        "tva_centimes, type_commission, niveau_parametre, parametre_id, calcule_le) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE " +
+        "collecteur_id = VALUES(collecteur_id), " +
+        "montant_epargne_centimes = VALUES(montant_epargne_centimes), " +
+        "commission_centimes = VALUES(commission_centimes), " +
+        "tva_centimes = VALUES(tva_centimes), " +
+        "type_commission = VALUES(type_commission), " +
+        "niveau_parametre = VALUES(niveau_parametre), " +
+        "parametre_id = VALUES(parametre_id), " +
+        "calcule_le = VALUES(calcule_le)";
+
+    private final CommissionParameterLoader parameterLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ExecutorService calculExecutor;
+    private final ExecutorService collecteurExecutor;
+
+    public CommissionBatchEngine(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 CommissionParameterLoader parameterLoader,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                 @Value("${commission-batch.max-concurrent-collecteurs:0}") int maxConcurrentCollecteurs) {
+        this.parameterLoader = parameterLoader;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Integer.MIN_VALUE : Connector/J lit les lignes une à une au lieu de tout charger
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Calcul pur (aucun accès base) : un thread par cœur
+        this.calculExecutor = newPool(Runtime.getRuntime().availableProcessors(), "commission-calcul-");
+
+        // Chaque collecteur tient une connexion : la moitié du pool au plus, comme l'enrichissement
+        int collecteurs = maxConcurrentCollecteurs > 0 ? maxConcurrentCollecteurs : Math.max(1, poolSize / 2);
+        this.collecteurExecutor = newPool(collecteurs, "commission-collecteur-");
+
+        logger.info("🧮 Moteur de commission : {} collecteur(s) en parallèle, {} thread(s) de calcul",
+                    collecteurs, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 🔥 Calcule et enregistre les commissions d'un collecteur sur la période (bornes incluses)
+     */
+    public CommissionBatchResultDTO calculerCollecteur(Long collecteurId, LocalDate dateDebut, LocalDate dateFin) {
+        checkPeriode(dateDebut, dateFin);
+        CommissionParameterTable parametres = parameterLoader.load(dateFin);
+        return transaction.execute(status -> calculer(parametres, collecteurId, dateDebut, dateFin, true));
+    }
+
+    /**
+     * 🔥 Calcul de fin de mois : tous les collecteurs, en parallèle
+     * Un collecteur en échec n'interrompt pas les autres (success=false dans son résultat)
+     */
+    public List<CommissionBatchResultDTO> calculerTousCollecteurs(LocalDate dateDebut, LocalDate dateFin) {
+        checkPeriode(dateDebut, dateFin);
+        long debut = System.nanoTime();
+        CommissionParameterTable parametres = parameterLoader.load(dateFin);
+        List<Long> collecteurIds = jdbcTemplate.queryForList("SELECT id FROM collecteurs ORDER BY id", Long.class);
+
+        List<Future<CommissionBatchResultDTO>> futures = new ArrayList<>(collecteurIds.size());
+        for (Long collecteurId : collecteurIds) {
+            futures.add(collecteurExecutor.submit(() ->
+                transaction.execute(status -> calculer(parametres, collecteurId, dateDebut, dateFin, false))));
+        }
+
+        List<CommissionBatchResultDTO> results = new ArrayList<>(collecteurIds.size());
+        int echecs = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                echecs++;
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("❌ Commission du collecteur {} en échec: {}", collecteurIds.get(i), cause.getMessage());
+                results.add(echec(collecteurIds.get(i), dateDebut, dateFin, cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Calcul des commissions interrompu", e);
+            }
+        }
+
+        logger.info("✅ Commissions du {} au {} : {} collecteur(s), {} échec(s), {} ms",
+                    dateDebut, dateFin, collecteurIds.size(), echecs, (System.nanoTime() - debut) / 1_000_000);
+        return results;
+    }
+
+    private CommissionBatchResultDTO calculer(CommissionParameterTable parametres, Long collecteurId,
+                                              LocalDate dateDebut, LocalDate dateFin, boolean details) {
+        long debut = System.nanoTime();
+
+        List<Long> agence = jdbcTemplate.query("SELECT agence_id FROM collecteurs WHERE id = ?",
+            (rs, rowNum) -> (Long) rs.getObject(1, Long.class), collecteurId);
+        if (agence.isEmpty()) {
+            throw new IllegalArgumentException("Collecteur non trouvé");
+        }
+        Long agenceId = agence.get(0);
+
+        // 1-3. Flux des épargnes trié par client ; chaque bloc complet part au calcul
+        EpargneAggregator aggregator = new EpargneAggregator(parametres, collecteurId, agenceId);
+        streamingJdbcTemplate.query(EPARGNES_PERIODE, aggregator,
+            collecteurId,
+            Timestamp.valueOf(dateDebut.atStartOfDay()),
+            Timestamp.valueOf(dateFin.plusDays(1).atStartOfDay()));
+        List<CommissionCalculee> calculs = aggregator.finish();
+
+        // 4. Remplacement par lots, après fermeture du flux (une connexion en streaming n'accepte rien d'autre)
+        Date sqlDebut = Date.valueOf(dateDebut);
+        Date sqlFin = Date.valueOf(dateFin);
+        Timestamp calculeLe = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(SUPPRIMER_RESULTATS, collecteurId, sqlDebut, sqlFin);
+        jdbcTemplate.batchUpdate(UPSERT_RESULTAT, calculs, LOT_ECRITURE, (ps, calcul) -> {
+            ps.setLong(1, collecteurId);
+            ps.setLong(2, calcul.clientId);
+            ps.setDate(3, sqlDebut);
+            ps.setDate(4, sqlFin);
+            ps.setLong(5, calcul.epargneCentimes);
+            ps.setLong(6, calcul.commissionCentimes);
+            ps.setLong(7, calcul.tvaCentimes);
+            ps.setString(8, calcul.regle.getType());
+            ps.setString(9, calcul.regle.getNiveau());
+            ps.setLong(10, calcul.regle.getParametreId());
+            ps.setTimestamp(11, calculeLe);
+        });
+
+        long totalCommission = 0L;
+        long totalTva = 0L;
+        List<CommissionBatchResultDTO.CommissionClientDTO> commissionsClients = details ? new ArrayList<>(calculs.size()) : null;
+        for (CommissionCalculee calcul : calculs) {
+            totalCommission += calcul.commissionCentimes;
+            totalTva += calcul.tvaCentimes;
+            if (details) {
+                commissionsClients.add(calcul.toDTO());
+            }
+        }
+
+        CommissionBatchResultDTO result = new CommissionBatchResultDTO();
+        result.setCollecteurId(collecteurId);
+        result.setPeriode(new CommissionBatchResultDTO.PeriodeDTO(dateDebut, dateFin));
+        result.setCommissionsClients(commissionsClients);
+        result.setMontantSCollecteur(Montant.ofCentimes(totalCommission));
+        result.setTotalTVA(Montant.ofCentimes(totalTva));
+        result.setNombreClients(calculs.size());
+        result.setClientsSansParametre(aggregator.sansParametre.get());
+        result.setDureeMs((System.nanoTime() - debut) / 1_000_000);
+        result.setSuccess(true);
+
+        if (aggregator.sansParametre.get() > 0) {
+            logger.warn("⚠️ Collecteur {} : {} client(s) sans paramètre de commission",
+                        collecteurId, aggregator.sansParametre.get());
+        }
+        logger.info("✅ Commissions collecteur {} : {} client(s), S={} en {} ms",
+                    collecteurId, calculs.size(), result.getMontantSCollecteur(), result.getDureeMs());
+        return result;
+    }
+
+    /**
+     * TVA sur une commission, arrondie au centime
+     */
+    public static long tva(long commissionCentimes) {
+        return BigDecimal.valueOf(commissionCentimes)
+            .multiply(TAUX_TVA)
+            .divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP)
+            .longValueExact();
+    }
+
+    private void checkPeriode(LocalDate dateDebut, LocalDate dateFin) {
+        if (dateDebut == null || dateFin == null || dateFin.isBefore(dateDebut)) {
+            throw new IllegalArgumentException("Période invalide");
+        }
+    }
+
+    private static CommissionBatchResultDTO echec(Long collecteurId, LocalDate dateDebut, LocalDate dateFin, String message) {
+        CommissionBatchResultDTO result = new CommissionBatchResultDTO();
+        result.setCollecteurId(collecteurId);
+        result.setPeriode(new CommissionBatchResultDTO.PeriodeDTO(dateDebut, dateFin));
+        result.setSuccess(false);
+        result.setMessage(message);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        collecteurExecutor.shutdown();
+        calculExecutor.shutdown();
+    }
+
+    private static ExecutorService newPool(int threads, String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cumule l'épargne de chaque client au fil du flux trié ;
+     * un client est complet dès que l'identifiant change
+     */
+    private class EpargneAggregator implements RowCallbackHandler {
+
+        private final CommissionParameterTable parametres;
+        private final Long collecteurId;
+        private final Long agenceId;
+        private final List<Future<List<CommissionCalculee>>> blocs = new ArrayList<>();
+        private final AtomicInteger sansParametre = new AtomicInteger();
+
+        private long[] clientIds = new long[BLOC_CLIENTS];
+        private long[] epargnes = new long[BLOC_CLIENTS];
+        private int taille;
+        private long clientCourant = -1L;
+        private long epargneCourante;
+
+        EpargneAggregator(CommissionParameterTable parametres, Long collecteurId, Long agenceId) {
+            this.parametres = parametres;
+            this.collecteurId = collecteurId;
+            this.agenceId = agenceId;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long clientId = rs.getLong(1);
+            if (clientId != clientCourant) {
+                flushClient();
+                clientCourant = clientId;
+                epargneCourante = 0L;
+            }
+            epargneCourante += rs.getLong(2);
+        }
+
+        private void flushClient() {
+            if (clientCourant < 0) {
+                return;
+            }
+            clientIds[taille] = clientCourant;
+            epargnes[taille] = epargneCourante;
+            if (++taille == BLOC_CLIENTS) {
+                submitBloc();
+            }
+        }
+
+        private void submitBloc() {
+            long[] ids = clientIds;
+            long[] montants = epargnes;
+            int n = taille;
+            blocs.add(calculExecutor.submit(() -> calculerBloc(ids, montants, n)));
+            clientIds = new long[BLOC_CLIENTS];
+            epargnes = new long[BLOC_CLIENTS];
+            taille = 0;
+        }
+
+        private List<CommissionCalculee> calculerBloc(long[] ids, long[] montants, int n) {
+            List<CommissionCalculee> calculs = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                CommissionRegle regle = parametres.resolve(ids[i], collecteurId, agenceId);
+                if (regle == null) {
+                    sansParametre.incrementAndGet();
+                    continue;
+                }
+                long commission = regle.calculer(montants[i]);
+                calculs.add(new CommissionCalculee(ids[i], montants[i], commission, tva(commission), regle));
+            }
+            return calculs;
+        }
+
+        List<CommissionCalculee> finish() {
+            flushClient();
+            if (taille > 0) {
+                submitBloc();
+            }
+
+            List<CommissionCalculee> calculs = new ArrayList<>();
+            try {
+                for (Future<List<CommissionCalculee>> bloc : blocs) {
+                    calculs.addAll(bloc.get());
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Calcul de commission en échec", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Calcul de commission interrompu", e);
+            }
+            return calculs;
+        }
+    }
+
+    /**
+     * Commission calculée d'un client (centimes)
+     */
+    private static final class CommissionCalculee {
+        private final long clientId;
+        private final long epargneCentimes;
+        private final long commissionCentimes;
+        private final long tvaCentimes;
+        private final CommissionRegle regle;
+
+        CommissionCalculee(long clientId, long epargneCentimes, long commissionCentimes, long tvaCentimes, CommissionRegle regle) {
+            this.clientId = clientId;
+            this.epargneCentimes = epargneCentimes;
+            this.commissionCentimes = commissionCentimes;
+            this.tvaCentimes = tvaCentimes;
+            this.regle = regle;
+        }
+
+        CommissionBatchResultDTO.CommissionClientDTO toDTO() {
+            CommissionBatchResultDTO.CommissionClientDTO dto = new CommissionBatchResultDTO.CommissionClientDTO();
+            dto.setClientId(clientId);
+            dto.setMontantEpargne(Montant.ofCentimes(epargneCentimes));
+            dto.setCommissionX(Montant.ofCentimes(commissionCentimes));
+            dto.setTva(Montant.ofCentimes(tvaCentimes));
+            dto.setParameterUsed(regle.getType() + " (" + regle.getNiveau() + ")");
+            return dto;
+        }
+    }
+}
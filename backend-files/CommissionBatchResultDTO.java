@@ -0,0 +1,116 @@
+// src/main/java/org/example/collectfocep/dto/CommissionBatchResultDTO.java
+package org.example.collectfocep.dto;
+
+import org.example.collectfocep.util.Montant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Résultat du calcul de commission d'un collecteur sur une période
+ * Même forme que la réponse attendue par l'écran Commission v2 (commissionsClients,
+ * montantSCollecteur, totalTVA) ; commissionsClients est omis pour un calcul tous collecteurs
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommissionBatchResultDTO {
+
+    private Long collecteurId;
+    private PeriodeDTO periode;
+
+    private List<CommissionClientDTO> commissionsClients;
+
+    // 🔥 S : somme des commissions (hors TVA) du collecteur
+    private Montant montantSCollecteur;
+    private Montant totalTVA;
+
+    private Integer nombreClients;
+    // Clients avec épargne sur la période mais sans paramètre à aucun niveau
+    private Integer clientsSansParametre;
+    private Long dureeMs;
+
+    private Boolean success;
+    private String message;
+
+    public CommissionBatchResultDTO() {}
+
+    // Getters et Setters
+    public Long getCollecteurId() { return collecteurId; }
+    public void setCollecteurId(Long collecteurId) { this.collecteurId = collecteurId; }
+
+    public PeriodeDTO getPeriode() { return periode; }
+    public void setPeriode(PeriodeDTO periode) { this.periode = periode; }
+
+    public List<CommissionClientDTO> getCommissionsClients() { return commissionsClients; }
+    public void setCommissionsClients(List<CommissionClientDTO> commissionsClients) { this.commissionsClients = commissionsClients; }
+
+    public Montant getMontantSCollecteur() { return montantSCollecteur; }
+    public void setMontantSCollecteur(Montant montantSCollecteur) { this.montantSCollecteur = montantSCollecteur; }
+
+    public Montant getTotalTVA() { return totalTVA; }
+    public void setTotalTVA(Montant totalTVA) { this.totalTVA = totalTVA; }
+
+    public Integer getNombreClients() { return nombreClients; }
+    public void setNombreClients(Integer nombreClients) { this.nombreClients = nombreClients; }
+
+    public Integer getClientsSansParametre() { return clientsSansParametre; }
+    public void setClientsSansParametre(Integer clientsSansParametre) { this.clientsSansParametre = clientsSansParametre; }
+
+    public Long getDureeMs() { return dureeMs; }
+    public void setDureeMs(Long dureeMs) { this.dureeMs = dureeMs; }
+
+    public Boolean getSuccess() { return success; }
+    public void setSuccess(Boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    /**
+     * Période calculée (bornes incluses)
+     */
+    public static class PeriodeDTO {
+        private LocalDate dateDebut;
+        private LocalDate dateFin;
+
+        public PeriodeDTO() {}
+
+        public PeriodeDTO(LocalDate dateDebut, LocalDate dateFin) {
+            this.dateDebut = dateDebut;
+            this.dateFin = dateFin;
+        }
+
+        public LocalDate getDateDebut() { return dateDebut; }
+        public void setDateDebut(LocalDate dateDebut) { this.dateDebut = dateDebut; }
+
+        public LocalDate getDateFin() { return dateFin; }
+        public void setDateFin(LocalDate dateFin) { this.dateFin = dateFin; }
+    }
+
+    /**
+     * Commission d'un client
+     */
+    public static class CommissionClientDTO {
+        private Long clientId;
+        private Montant montantEpargne;
+        private Montant commissionX;
+        private Montant tva;
+        // ex. "POURCENTAGE (COLLECTEUR)"
+        private String parameterUsed;
+
+        public CommissionClientDTO() {}
+
+        public Long getClientId() { return clientId; }
+        public void setClientId(Long clientId) { this.clientId = clientId; }
+
+        public Montant getMontantEpargne() { return montantEpargne; }
+        public void setMontantEpargne(Montant montantEpargne) { this.montantEpargne = montantEpargne; }
+
+        public Montant getCommissionX() { return commissionX; }
+        public void setCommissionX(Montant commissionX) { this.commissionX = commissionX; }
+
+        public Montant getTva() { return tva; }
+        public void setTva(Montant tva) { this.tva = tva; }
+
+        public String getParameterUsed() { return parameterUsed; }
+        public void setParameterUsed(String parameterUsed) { this.parameterUsed = parameterUsed; }
+    }
+}
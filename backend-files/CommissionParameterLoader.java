@@ -0,0 +1,132 @@
+// src/main/java/org/example/collectfocep/services/CommissionParameterLoader.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.util.Montant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Charge tous les paramètres de commission actifs en 2 requêtes (paramètres + paliers)
+ * Colonnes supposées : commission_parameters (id, type, valeur, client_id, collecteur_id,
+ * agence_id, actif, valid_from, valid_to) et commission_tiers (commission_parameter_id,
+ * montant_min, montant_max, taux) ; à ajuster au schéma réel du backend
+ */
+@Component
+public class CommissionParameterLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommissionParameterLoader.class);
+
+    private static final String PARAMETRES_ACTIFS =
+        "FROM commission_parameters p WHERE p.actif = 1 " +
+        "AND (p.valid_from IS NULL OR p.valid_from <= ?) AND (p.valid_to IS NULL OR p.valid_to >= ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 🔥 Table des paramètres en vigueur à la date donnée
+     * Plusieurs paramètres actifs pour un même propriétaire : le plus récent (id le plus grand) l'emporte
+     */
+    public CommissionParameterTable load(LocalDate dateReference) {
+        Date date = Date.valueOf(dateReference);
+
+        Map<Long, List<CommissionRegle.Palier>> paliersParParametre = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT t.commission_parameter_id, t.montant_min, t.montant_max, t.taux " +
+            "FROM commission_tiers t WHERE t.commission_parameter_id IN (SELECT p.id " + PARAMETRES_ACTIFS + ") " +
+            "ORDER BY t.commission_parameter_id, t.montant_min",
+            rs -> {
+                Object max = rs.getObject(3);
+                paliersParParametre.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                    .add(new CommissionRegle.Palier(
+                        Montant.toCentimes(rs.getDouble(2)),
+                        max != null ? Montant.toCentimes(((Number) max).doubleValue()) : null,
+                        rs.getBigDecimal(4)));
+            },
+            date, date);
+
+        Map<Long, CommissionRegle> parClient = new HashMap<>();
+        Map<Long, CommissionRegle> parCollecteur = new HashMap<>();
+        Map<Long, CommissionRegle> parAgence = new HashMap<>();
+        int ignores = 0;
+
+        List<Object[]> rows = jdbcTemplate.query(
+            "SELECT p.id, p.type, p.valeur, p.client_id, p.collecteur_id, p.agence_id " + PARAMETRES_ACTIFS + " ORDER BY p.id",
+            (rs, rowNum) -> new Object[] {
+                rs.getLong(1), rs.getString(2), rs.getBigDecimal(3),
+                rs.getObject(4), rs.getObject(5), rs.getObject(6)
+            },
+            date, date);
+
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String type = CommissionRegle.normalizeType((String) row[1]);
+            BigDecimal valeur = row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+            if (type == null) {
+                ignores++;
+                continue;
+            }
+
+            long montantFixe = montantFixeCentimes(type, valeur);
+            List<CommissionRegle.Palier> paliers = paliersParParametre.getOrDefault(id, List.of());
+
+            if (row[3] != null) {
+                parClient.put(toLong(row[3]), new CommissionRegle(id, CommissionRegle.NIVEAU_CLIENT, type, montantFixe, valeur, paliers));
+            } else if (row[4] != null) {
+                parCollecteur.put(toLong(row[4]), new CommissionRegle(id, CommissionRegle.NIVEAU_COLLECTEUR, type, montantFixe, valeur, paliers));
+            } else if (row[5] != null) {
+                parAgence.put(toLong(row[5]), new CommissionRegle(id, CommissionRegle.NIVEAU_AGENCE, type, montantFixe, valeur, paliers));
+            } else {
+                ignores++;
+            }
+        }
+
+        if (ignores > 0) {
+            logger.warn("⚠️ {} paramètre(s) de commission ignoré(s) (type inconnu ou sans propriétaire)", ignores);
+        }
+
+        CommissionParameterTable table = new CommissionParameterTable(parClient, parCollecteur, parAgence);
+        logger.info("📋 {} paramètre(s) de commission chargé(s) au {}", table.size(), dateReference);
+        return table;
+    }
+
+    /**
+     * Agence de chaque collecteur (niveau agence de la résolution)
+     */
+    public Map<Long, Long> loadAgencesParCollecteur() {
+        Map<Long, Long> agences = new HashMap<>();
+        jdbcTemplate.query("SELECT c.id, c.agence_id FROM collecteurs c WHERE c.agence_id IS NOT NULL",
+            rs -> {
+                agences.put(rs.getLong(1), rs.getLong(2));
+            });
+        return agences;
+    }
+
+    /**
+     * Compteur incrémenté par trigger à chaque écriture de paramètre (migration_commission_parameter_version.sql)
+     */
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject(
+            "SELECT version FROM commission_parameter_version WHERE id = 1", Long.class);
+        return version != null ? version : 0L;
+    }
+
+    private static long montantFixeCentimes(String type, BigDecimal valeur) {
+        return CommissionRegle.FIXE.equals(type) ? Montant.toCentimes(valeur.doubleValue()) : 0L;
+    }
+
+    private static Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,12 @@
+// AJOUTS À FAIRE dans le service qui enregistre les paramètres de commission (création, modification, suppression)
+// src/main/java/org/example/collectfocep/services/impl/CommissionParameterServiceImpl.java
+
+// 🔥 INJECTION DU PUBLISHER
+@Autowired
+private ApplicationEventPublisher eventPublisher;
+
+// 🔥 À APPELER après chaque save / delete d'un CommissionParameter (ou de ses paliers),
+// dans la même méthode @Transactional : CommissionParameterStore recharge au commit.
+// Les autres instances (et les scripts SQL) sont couverts par le compteur de version.
+CommissionParameter saved = commissionParameterRepository.save(parameter);
+eventPublisher.publishEvent(new CommissionParametresModifiesEvent(saved.getId()));
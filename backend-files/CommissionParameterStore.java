@@ -0,0 +1,220 @@
+// src/main/java/org/example/collectfocep/services/CommissionParameterStore.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.events.CommissionParametresModifiesEvent;
+import org.example.collectfocep.events.CommissionParametresRechargesEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Paramètres de commission en mémoire : version immuable, remplacée d'un bloc
+ * - Résolution client → collecteur → agence sans accès base (lectures de map)
+ * - Rechargement au commit d'une modification (instance locale) et par comparaison
+ *   périodique du compteur de version (autres instances, scripts SQL)
+ * - Rechargement au changement de jour (dates de validité)
+ * - Agences des collecteurs relues à part, à intervalle court (création, transfert, suppression
+ *   de collecteur sans trigger de version : import, base sans la migration)
+ * Un rechargement en échec conserve la version précédente.
+ */
+@Component
+public class CommissionParameterStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommissionParameterStore.class);
+
+    @Autowired
+    private CommissionParameterLoader parameterLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final Snapshot EMPTY = new Snapshot(-1L, null,
+        new CommissionParameterTable(Map.of(), Map.of(), Map.of()), Map.of());
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /**
+     * 🔥 Paramètre effectif d'un client, au format de ClientSummaryDTO
+     * DTO partagé entre clients : ne pas le modifier
+     * @return null si aucun niveau n'est paramétré
+     */
+    public ClientSummaryDTO.CommissionParameterDTO resolve(Long clientId, Long collecteurId) {
+        Snapshot snapshot = snapshot();
+        CommissionRegle regle = snapshot.table.resolve(clientId, collecteurId,
+            collecteurId != null ? snapshot.agencesParCollecteur.get(collecteurId) : null);
+        return regle != null ? snapshot.dtos.get(regle.getParametreId()) : null;
+    }
+
+    /**
+     * Règle effective d'un client (calculs de commission)
+     */
+    public CommissionRegle resolveRegle(Long clientId, Long collecteurId) {
+        Snapshot snapshot = snapshot();
+        return snapshot.table.resolve(clientId, collecteurId,
+            collecteurId != null ? snapshot.agencesParCollecteur.get(collecteurId) : null);
+    }
+
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onParametresModifies(CommissionParametresModifiesEvent event) {
+        refresh();
+    }
+
+    /**
+     * Vérification périodique du compteur de version (1 ligne lue par clé primaire)
+     */
+    @Scheduled(fixedDelayString = "${commission-parameters.refresh-ms:30000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Relit la seule correspondance collecteur → agence (une requête sur collecteurs)
+     */
+    @Scheduled(fixedDelayString = "${commission-parameters.agences-refresh-ms:60000}")
+    public void scheduledAgencesRefresh() {
+        refreshAgences();
+    }
+
+    /**
+     * Remplace la correspondance collecteur → agence si elle a changé, sans recharger les paramètres
+     */
+    public synchronized void refreshAgences() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || snapshot == EMPTY) {
+            return;
+        }
+        try {
+            Map<Long, Long> agences = parameterLoader.loadAgencesParCollecteur();
+            if (agences.equals(snapshot.agencesParCollecteur)) {
+                return;
+            }
+
+            current.set(new Snapshot(snapshot.version, snapshot.jour, snapshot.table, agences));
+            logger.info("🔄 Agences des collecteurs rechargées ({} collecteur(s))", agences.size());
+            eventPublisher.publishEvent(new CommissionParametresRechargesEvent(snapshot.version));
+        } catch (RuntimeException e) {
+            logger.error("❌ Rechargement des agences des collecteurs en échec, correspondance précédente conservée: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recharge si le compteur de version ou le jour a changé
+     */
+    public synchronized void refresh() {
+        try {
+            // Version lue AVANT les paramètres : une écriture concurrente provoquera un nouveau rechargement
+            long version = parameterLoader.currentVersion();
+            LocalDate jour = LocalDate.now();
+
+            Snapshot snapshot = current.get();
+            if (snapshot != null && snapshot.version == version && jour.equals(snapshot.jour)) {
+                return;
+            }
+
+            Snapshot loaded = load(version, jour);
+            current.set(loaded);
+            logger.info("🔄 Paramètres de commission version {} chargés ({} paramètre(s))", version, loaded.table.size());
+
+            // Toute version remplacée, EMPTY compris (premier chargement réussi après un échec) :
+            // des résumés ont pu être mis en cache sans paramètres de commission
+            if (snapshot != null) {
+                eventPublisher.publishEvent(new CommissionParametresRechargesEvent(version));
+            }
+        } catch (RuntimeException e) {
+            logger.error("❌ Rechargement des paramètres de commission en échec, version précédente conservée: {}", e.getMessage());
+            // Premier chargement impossible : aucun paramètre, nouvel essai à la prochaine vérification
+            current.compareAndSet(null, EMPTY);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            // Appel avant ApplicationReadyEvent (jobs au démarrage, tests)
+            refresh();
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    private Snapshot load(long version, LocalDate jour) {
+        CommissionParameterTable table = parameterLoader.load(jour);
+        Map<Long, Long> agences = parameterLoader.loadAgencesParCollecteur();
+        return new Snapshot(version, jour, table, agences);
+    }
+
+    /**
+     * Conversion d'une règle au format attendu par l'application mobile
+     */
+    private static ClientSummaryDTO.CommissionParameterDTO toDTO(CommissionRegle regle) {
+        ClientSummaryDTO.CommissionParameterDTO dto = new ClientSummaryDTO.CommissionParameterDTO();
+        switch (regle.getType()) {
+            case CommissionRegle.FIXE:
+                dto.setTypeCommission("FIXE");
+                dto.setMontantFixe(regle.getMontantFixeCentimes() / 100.0);
+                break;
+            case CommissionRegle.POURCENTAGE:
+                dto.setTypeCommission("POURCENTAGE");
+                dto.setPourcentage(regle.getPourcentage().doubleValue());
+                break;
+            default:
+                dto.setTypeCommission("PALIER");
+                List<ClientSummaryDTO.CommissionParameterDTO.PalierCommissionDTO> paliers = new ArrayList<>();
+                for (CommissionRegle.Palier palier : regle.getPaliers()) {
+                    paliers.add(new ClientSummaryDTO.CommissionParameterDTO.PalierCommissionDTO(
+                        palier.getMinCentimes() / 100.0,
+                        palier.getMaxCentimes() != null ? palier.getMaxCentimes() / 100.0 : null,
+                        palier.getPourcentage().doubleValue()));
+                }
+                dto.setPaliers(Collections.unmodifiableList(paliers));
+        }
+        return dto;
+    }
+
+    /**
+     * Version chargée : table de résolution, agences des collecteurs et DTO précalculés
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final LocalDate jour;
+        private final CommissionParameterTable table;
+        private final Map<Long, Long> agencesParCollecteur;
+        private final Map<Long, ClientSummaryDTO.CommissionParameterDTO> dtos;
+
+        Snapshot(long version, LocalDate jour, CommissionParameterTable table, Map<Long, Long> agencesParCollecteur) {
+            this.version = version;
+            this.jour = jour;
+            this.table = table;
+            this.agencesParCollecteur = Collections.unmodifiableMap(agencesParCollecteur);
+
+            Map<Long, ClientSummaryDTO.CommissionParameterDTO> dtos = new HashMap<>();
+            table.forEach(regle -> dtos.computeIfAbsent(regle.getParametreId(), id -> toDTO(regle)));
+            this.dtos = Collections.unmodifiableMap(dtos);
+        }
+    }
+}
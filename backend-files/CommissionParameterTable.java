@@ -0,0 +1,54 @@
+// src/main/java/org/example/collectfocep/services/CommissionParameterTable.java
+package org.example.collectfocep.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Table des paramètres de commission préchargée, immuable, indexée par propriétaire
+ * Résolution hiérarchique client → collecteur → agence en 3 lectures de map au plus
+ */
+public final class CommissionParameterTable {
+
+    private final Map<Long, CommissionRegle> parClient;
+    private final Map<Long, CommissionRegle> parCollecteur;
+    private final Map<Long, CommissionRegle> parAgence;
+
+    public CommissionParameterTable(Map<Long, CommissionRegle> parClient,
+                                    Map<Long, CommissionRegle> parCollecteur,
+                                    Map<Long, CommissionRegle> parAgence) {
+        this.parClient = Collections.unmodifiableMap(new HashMap<>(parClient));
+        this.parCollecteur = Collections.unmodifiableMap(new HashMap<>(parCollecteur));
+        this.parAgence = Collections.unmodifiableMap(new HashMap<>(parAgence));
+    }
+
+    /**
+     * 🔥 Paramètre effectif d'un client : le sien, sinon celui de son collecteur, sinon celui de l'agence
+     * @return null si aucun niveau n'est paramétré
+     */
+    public CommissionRegle resolve(Long clientId, Long collecteurId, Long agenceId) {
+        CommissionRegle regle = clientId != null ? parClient.get(clientId) : null;
+        if (regle == null && collecteurId != null) {
+            regle = parCollecteur.get(collecteurId);
+        }
+        if (regle == null && agenceId != null) {
+            regle = parAgence.get(agenceId);
+        }
+        return regle;
+    }
+
+    /**
+     * Parcourt toutes les règles chargées, tous niveaux confondus
+     */
+    public void forEach(Consumer<CommissionRegle> action) {
+        parClient.values().forEach(action);
+        parCollecteur.values().forEach(action);
+        parAgence.values().forEach(action);
+    }
+
+    public int size() {
+        return parClient.size() + parCollecteur.size() + parAgence.size();
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/org/example/collectfocep/events/CommissionParametresModifiesEvent.java
+package org.example.collectfocep.events;
+
+/**
+ * Publié dans la transaction qui crée, modifie ou supprime un paramètre de commission
+ * (ou ses paliers) ; déclenche le rechargement du CommissionParameterStore au commit
+ */
+public class CommissionParametresModifiesEvent {
+
+    private final Long parametreId;
+
+    public CommissionParametresModifiesEvent(Long parametreId) {
+        this.parametreId = parametreId;
+    }
+
+    public Long getParametreId() { return parametreId; }
+}
@@ -0,0 +1,17 @@
+// src/main/java/org/example/collectfocep/events/CommissionParametresRechargesEvent.java
+package org.example.collectfocep.events;
+
+/**
+ * Publié après le remplacement de la version en mémoire des paramètres de commission
+ * Les résumés clients en cache portent l'ancien paramètre et doivent être invalidés
+ */
+public class CommissionParametresRechargesEvent {
+
+    private final long version;
+
+    public CommissionParametresRechargesEvent(long version) {
+        this.version = version;
+    }
+
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,150 @@
+// src/main/java/org/example/collectfocep/services/CommissionRegle.java
+package org.example.collectfocep.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Paramètre de commission résolu, immuable, en centimes
+ * Types : FIXE (montant par client et par période), POURCENTAGE (taux sur l'épargne),
+ * PALIERS (taux de la tranche contenant l'épargne, appliqué à tout le montant)
+ */
+public final class CommissionRegle {
+
+    public static final String FIXE = "FIXE";
+    public static final String POURCENTAGE = "POURCENTAGE";
+    public static final String PALIERS = "PALIERS";
+
+    // Niveau de la hiérarchie qui a fourni le paramètre
+    public static final String NIVEAU_CLIENT = "CLIENT";
+    public static final String NIVEAU_COLLECTEUR = "COLLECTEUR";
+    public static final String NIVEAU_AGENCE = "AGENCE";
+
+    private static final BigDecimal CENT = BigDecimal.valueOf(100);
+
+    private final Long parametreId;
+    private final String niveau;
+    private final String type;
+    private final long montantFixeCentimes;
+    private final BigDecimal pourcentage;
+    // Triés par borne basse croissante
+    private final List<Palier> paliers;
+
+    public CommissionRegle(Long parametreId, String niveau, String type,
+                           long montantFixeCentimes, BigDecimal pourcentage, List<Palier> paliers) {
+        this.parametreId = parametreId;
+        this.niveau = niveau;
+        this.type = type;
+        this.montantFixeCentimes = montantFixeCentimes;
+        this.pourcentage = pourcentage;
+        this.paliers = List.copyOf(paliers);
+    }
+
+    /**
+     * 🔥 Commission (hors TVA) due pour une épargne de période, en centimes
+     */
+    public long calculer(long epargneCentimes) {
+        if (epargneCentimes <= 0) {
+            return 0L;
+        }
+
+        switch (type) {
+            case FIXE:
+                return montantFixeCentimes;
+            case POURCENTAGE:
+                return appliquerTaux(epargneCentimes, pourcentage);
+            case PALIERS:
+                Palier palier = findPalier(epargneCentimes);
+                return palier != null ? appliquerTaux(epargneCentimes, palier.getPourcentage()) : 0L;
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * Dernière tranche dont la borne basse est atteinte
+     * (bornes entières et continues : 0-50000, 50001-100000, ...)
+     */
+    private Palier findPalier(long epargneCentimes) {
+        Palier found = null;
+        for (Palier palier : paliers) {
+            if (palier.getMinCentimes() > epargneCentimes) {
+                break;
+            }
+            found = palier;
+        }
+
+        // Au-delà du plafond de la dernière tranche : pas de taux défini
+        boolean dernier = found != null && found == paliers.get(paliers.size() - 1);
+        if (dernier && found.getMaxCentimes() != null && epargneCentimes > found.getMaxCentimes()) {
+            return null;
+        }
+        return found;
+    }
+
+    private static long appliquerTaux(long centimes, BigDecimal taux) {
+        return BigDecimal.valueOf(centimes)
+            .multiply(taux)
+            .divide(CENT, 0, RoundingMode.HALF_UP)
+            .longValueExact();
+    }
+
+    public Long getParametreId() { return parametreId; }
+
+    public String getNiveau() { return niveau; }
+
+    public String getType() { return type; }
+
+    public long getMontantFixeCentimes() { return montantFixeCentimes; }
+
+    public BigDecimal getPourcentage() { return pourcentage; }
+
+    public List<Palier> getPaliers() { return paliers; }
+
+    /**
+     * Normalise les libellés historiques (FIXED, MONTANT_FIXE, PERCENTAGE, TIER, PALIER...)
+     */
+    public static String normalizeType(String type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type.trim().toUpperCase()) {
+            case "FIXE":
+            case "FIXED":
+            case "MONTANT_FIXE":
+                return FIXE;
+            case "POURCENTAGE":
+            case "PERCENTAGE":
+                return POURCENTAGE;
+            case "PALIERS":
+            case "PALIER":
+            case "TIER":
+                return PALIERS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Tranche de commission (bornes en centimes, max null = sans plafond)
+     */
+    public static final class Palier {
+
+        private final long minCentimes;
+        private final Long maxCentimes;
+        private final BigDecimal pourcentage;
+
+        public Palier(long minCentimes, Long maxCentimes, BigDecimal pourcentage) {
+            this.minCentimes = minCentimes;
+            this.maxCentimes = maxCentimes;
+            this.pourcentage = pourcentage;
+        }
+
+        public long getMinCentimes() { return minCentimes; }
+
+        public Long getMaxCentimes() { return maxCentimes; }
+
+        public BigDecimal getPourcentage() { return pourcentage; }
+    }
+}
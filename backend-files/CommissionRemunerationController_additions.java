@@ -0,0 +1,67 @@
+// MODIFICATIONS À APPORTER dans CommissionRemunerationController.java
+// src/main/java/org/example/collectfocep/web/controllers/CommissionRemunerationController.java
+
+import org.example.collectfocep.dto.CommissionBatchResultDTO;
+import org.example.collectfocep.services.CommissionBatchEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 🔥 CALCUL DES COMMISSIONS D'UN COLLECTEUR (remplace le calcul client par client)
+ * POST /api/v2/commission-remuneration/collecteur/{collecteurId}/calculer?dateDebut=&dateFin=
+ * L'historique et les mouvements comptables restent produits par le service existant,
+ * à partir de result.getCommissionsClients()
+ */
+@PostMapping("/collecteur/{collecteurId}/calculer")
+public ResponseEntity<?> calculerCommissions(@PathVariable Long collecteurId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+                                             Authentication authentication) {
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        logger.warn("🚫 Calcul des commissions refusé sur le collecteur {} pour {}", collecteurId, authentication.getName());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    try {
+        CommissionBatchResultDTO result = commissionBatchEngine.calculerCollecteur(collecteurId, dateDebut, dateFin);
+        return ResponseEntity.ok(ApiResponse.success("Commissions calculées", result));
+
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error(e.getMessage(), null));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors du calcul des commissions du collecteur {}: {}", collecteurId, e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors du calcul des commissions", null));
+    }
+}
+
+/**
+ * 🔥 CALCUL DE FIN DE MOIS : tous les collecteurs (résumé par collecteur, sans détail client)
+ * POST /api/v2/commission-remuneration/calculer-tous?dateDebut=&dateFin=
+ */
+@PostMapping("/calculer-tous")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public ResponseEntity<?> calculerCommissionsTousCollecteurs(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin) {
+    try {
+        List<CommissionBatchResultDTO> results = commissionBatchEngine.calculerTousCollecteurs(dateDebut, dateFin);
+        return ResponseEntity.ok(ApiResponse.success("Commissions calculées pour tous les collecteurs", results));
+
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error(e.getMessage(), null));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors du calcul des commissions de fin de mois: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors du calcul des commissions", null));
+    }
+}
+
+// 🔥 INJECTION DU MOTEUR
+@Autowired
+private CommissionBatchEngine commissionBatchEngine;
+
+// 🔥 CONTRÔLE D'ACCÈS (si absent)
+@Autowired
+private SecurityService securityService;
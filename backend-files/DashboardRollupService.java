@@ -0,0 +1,211 @@
+// src/main/java/org/example/collectfocep/services/DashboardRollupService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.dto.RollupStatsDTO;
+import org.example.collectfocep.entities.Mouvement;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.repositories.RollupJournalierRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistiques hiérarchiques pour les tableaux de bord : client → collecteur → agence
+ * Le niveau client est client_stats (ClientStatsService) ; collecteur et agence sont lus
+ * dans les agrégats journaliers rollup_journalier, une période étant la somme de ses jours.
+ * Aucune requête de ce service ne parcourt la table mouvements.
+ */
+@Service
+public class DashboardRollupService {
+
+    public static final String NIVEAU_COLLECTEUR = "COLLECTEUR";
+    public static final String NIVEAU_AGENCE = "AGENCE";
+    public static final String NIVEAU_GLOBAL = "GLOBAL";
+
+    // Deux ans de jours au plus par requête (≈ 730 lignes par collecteur)
+    private static final long MAX_PERIODE_JOURS = 731;
+
+    @Autowired
+    private RollupJournalierRepository rollupJournalierRepository;
+
+    /**
+     * 🔥 Applique un mouvement persisté à l'agrégat du jour de son collecteur
+     * Appelé par ClientStatsProjectionService, dans la transaction du mouvement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyMouvement(Mouvement mouvement, SensMouvement sens, long centimes) {
+        // Même rattachement que la reconstruction : collecteur du mouvement, sinon celui du client
+        Long collecteurId = null;
+        if (mouvement.getCollecteur() != null) {
+            collecteurId = mouvement.getCollecteur().getId();
+        } else if (mouvement.getClient() != null && mouvement.getClient().getCollecteur() != null) {
+            collecteurId = mouvement.getClient().getCollecteur().getId();
+        }
+        if (collecteurId == null || mouvement.getDateOperation() == null) {
+            return;
+        }
+
+        boolean epargne = sens == SensMouvement.EPARGNE;
+        boolean retrait = sens == SensMouvement.RETRAIT;
+
+        rollupJournalierRepository.applyMouvement(
+            mouvement.getDateOperation().toLocalDate(),
+            collecteurId,
+            epargne ? centimes : 0L,
+            retrait ? centimes : 0L,
+            epargne ? 1 : 0,
+            retrait ? 1 : 0,
+            1);
+    }
+
+    /**
+     * Applique un écart signé à l'agrégat d'un collecteur et d'un jour
+     * (correction ou suppression d'un mouvement : valeurs négatives pour l'ancien état)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAgregat(LocalDate jour, Long collecteurId, long epargneCentimes, long retraitCentimes,
+                             int nombreEpargnes, int nombreRetraits, int nombreTransactions) {
+        rollupJournalierRepository.applyMouvement(jour, collecteurId, epargneCentimes, retraitCentimes,
+            nombreEpargnes, nombreRetraits, nombreTransactions);
+    }
+
+    /**
+     * Totaux d'un collecteur sur la période, avec la série journalière
+     */
+    @Transactional(readOnly = true)
+    public RollupStatsDTO getCollecteurStats(Long collecteurId, LocalDate debut, LocalDate fin) {
+        checkPeriode(debut, fin);
+
+        RollupStatsDTO total = RollupStatsDTO.vide();
+        List<RollupStatsDTO> parJour = new ArrayList<>();
+        for (Object[] row : rollupJournalierRepository.findJoursForCollecteur(collecteurId, debut, fin)) {
+            RollupStatsDTO jour = RollupStatsDTO.fromRow(row);
+            jour.setJour(toLocalDate(row[0]));
+            total.add(jour);
+            parJour.add(jour);
+        }
+
+        total.setNiveau(NIVEAU_COLLECTEUR);
+        total.setId(collecteurId);
+        total.setDateDebut(debut);
+        total.setDateFin(fin);
+        total.setParJour(parJour);
+        return total;
+    }
+
+    /**
+     * Totaux d'une agence sur la période : détail par collecteur et série journalière
+     * (2 requêtes groupées sur rollup_journalier)
+     */
+    @Transactional(readOnly = true)
+    public RollupStatsDTO getAgenceStats(Long agenceId, LocalDate debut, LocalDate fin) {
+        checkPeriode(debut, fin);
+
+        RollupStatsDTO total = RollupStatsDTO.vide();
+        List<RollupStatsDTO> details = new ArrayList<>();
+        for (Object[] row : rollupJournalierRepository.sumByCollecteurForAgence(agenceId, debut, fin)) {
+            RollupStatsDTO collecteur = RollupStatsDTO.fromRow(row);
+            collecteur.setNiveau(NIVEAU_COLLECTEUR);
+            collecteur.setId(((Number) row[0]).longValue());
+            total.add(collecteur);
+            details.add(collecteur);
+        }
+
+        List<RollupStatsDTO> parJour = new ArrayList<>();
+        for (Object[] row : rollupJournalierRepository.sumByJourForAgence(agenceId, debut, fin)) {
+            RollupStatsDTO jour = RollupStatsDTO.fromRow(row);
+            jour.setJour(toLocalDate(row[0]));
+            parJour.add(jour);
+        }
+
+        total.setNiveau(NIVEAU_AGENCE);
+        total.setId(agenceId);
+        total.setDateDebut(debut);
+        total.setDateFin(fin);
+        total.setDetails(details);
+        total.setParJour(parJour);
+        return total;
+    }
+
+    /**
+     * Totaux de toutes les agences sur la période, avec le détail par agence
+     */
+    @Transactional(readOnly = true)
+    public RollupStatsDTO getGlobalStats(LocalDate debut, LocalDate fin) {
+        checkPeriode(debut, fin);
+
+        RollupStatsDTO total = RollupStatsDTO.vide();
+        List<RollupStatsDTO> details = new ArrayList<>();
+        for (Object[] row : rollupJournalierRepository.sumByAgence(debut, fin)) {
+            RollupStatsDTO agence = RollupStatsDTO.fromRow(row);
+            agence.setNiveau(NIVEAU_AGENCE);
+            // Collecteurs sans agence : ligne sans id
+            agence.setId(row[0] != null ? ((Number) row[0]).longValue() : null);
+            total.add(agence);
+            details.add(agence);
+        }
+
+        total.setNiveau(NIVEAU_GLOBAL);
+        total.setDateDebut(debut);
+        total.setDateFin(fin);
+        total.setDetails(details);
+        return total;
+    }
+
+    private void checkPeriode(LocalDate debut, LocalDate fin) {
+        if (debut == null || fin == null || fin.isBefore(debut)) {
+            throw new IllegalArgumentException("Période invalide");
+        }
+        if (ChronoUnit.DAYS.between(debut, fin) >= MAX_PERIODE_JOURS) {
+            throw new IllegalArgumentException("Période trop longue (maximum " + MAX_PERIODE_JOURS + " jours)");
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+    }
+
+    /**
+     * Période d'un tableau de bord (bornes incluses)
+     * Accepte les valeurs envoyées par l'application : today, week, month, year (casse ignorée)
+     */
+    public static class Periode {
+
+        private final LocalDate debut;
+        private final LocalDate fin;
+
+        public Periode(LocalDate debut, LocalDate fin) {
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        public static Periode of(String period, LocalDate aujourdhui) {
+            switch (period == null ? "today" : period.toLowerCase()) {
+                case "today":
+                case "day":
+                    return new Periode(aujourdhui, aujourdhui);
+                case "week":
+                    return new Periode(aujourdhui.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), aujourdhui);
+                case "month":
+                    return new Periode(aujourdhui.withDayOfMonth(1), aujourdhui);
+                case "year":
+                    return new Periode(aujourdhui.withDayOfYear(1), aujourdhui);
+                default:
+                    throw new IllegalArgumentException("Période inconnue : " + period);
+            }
+        }
+
+        public LocalDate getDebut() { return debut; }
+
+        public LocalDate getFin() { return fin; }
+    }
+}
@@ -0,0 +1,168 @@
+// src/main/java/org/example/collectfocep/services/DeltaSyncService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.dto.SyncDeltaDTO;
+import org.example.collectfocep.entities.SyncTombstone;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.example.collectfocep.repositories.MouvementRepository;
+import org.example.collectfocep.repositories.SyncTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Synchronisation incrémentale collecteur → application mobile
+ * Basée sur updated_at (horloge MySQL) des clients et mouvements, et sur sync_tombstones
+ */
+@Service
+public class DeltaSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaSyncService.class);
+
+    // Marge ajoutée à la durée maximale d'une transaction d'écriture (arrondis, délai de commit)
+    private static final long TOKEN_OVERLAP_MARGIN_SECONDS = 5;
+
+    // Au-delà, un jeton est considéré trop ancien (tombstones purgées) : resynchronisation complète
+    private static final long TOMBSTONE_RETENTION_DAYS = 30;
+
+    // Au-delà, renvoyer la liste complète coûte moins cher que le delta
+    private static final int MAX_DELTA_MOUVEMENTS = 2000;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private MouvementRepository mouvementRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private ClientStatsService clientStatsService;
+
+    // updated_at est l'heure de l'instruction, la ligne n'est visible qu'au commit : une transaction
+    // plus longue que le recouvrement du jeton pourrait valider une ligne horodatée avant le jeton suivant.
+    // Recouvrement = durée maximale d'une transaction d'écriture sur clients / mouvements
+    // (spring.transaction.default-timeout) + marge ; doublons fusionnés par id côté mobile
+    @Value("${sync.max-transaction-seconds:${spring.transaction.default-timeout:300}}")
+    private long maxTransactionSeconds;
+
+    /**
+     * 🔥 Calcule le delta d'un collecteur depuis le jeton donné
+     * @param since jeton de la synchronisation précédente (null : synchronisation complète)
+     */
+    @Transactional(readOnly = true)
+    public SyncDeltaDTO getDelta(Long collecteurId, String since) {
+        LocalDateTime now = syncTombstoneRepository.currentDatabaseTime();
+        LocalDateTime sinceTime = decodeToken(since);
+
+        if (sinceTime == null || sinceTime.isBefore(now.minusDays(TOMBSTONE_RETENTION_DAYS))) {
+            return fullResync(collecteurId, now);
+        }
+
+        List<MouvementDTO> mouvements = mouvementRepository.findChangedSinceForCollecteur(
+            collecteurId, sinceTime, PageRequest.of(0, MAX_DELTA_MOUVEMENTS + 1));
+        if (mouvements.size() > MAX_DELTA_MOUVEMENTS) {
+            logger.info("🔄 Delta trop volumineux pour le collecteur {} : resynchronisation complète", collecteurId);
+            return fullResync(collecteurId, now);
+        }
+
+        // Clients modifiés + clients dont les totaux ont changé (mouvement nouveau, modifié ou supprimé)
+        Set<Long> changedClientIds = new LinkedHashSet<>();
+        List<ClientSummaryDTO> changedClients = new ArrayList<>(clientRepository.findChangedSinceForCollecteur(collecteurId, sinceTime));
+        changedClients.forEach(client -> changedClientIds.add(client.getId()));
+
+        List<Long> deletedClientIds = new ArrayList<>();
+        List<Long> deletedMouvementIds = new ArrayList<>();
+        // Clients dont un mouvement a été supprimé : totaux à renvoyer également
+        Set<Long> clientIdsFromTombstones = new LinkedHashSet<>();
+        for (SyncTombstone tombstone : syncTombstoneRepository.findByCollecteurIdSince(collecteurId, sinceTime)) {
+            if (SyncTombstone.TYPE_CLIENT.equals(tombstone.getEntityType())) {
+                deletedClientIds.add(tombstone.getEntityId());
+            } else if (SyncTombstone.TYPE_MOUVEMENT.equals(tombstone.getEntityType())) {
+                deletedMouvementIds.add(tombstone.getEntityId());
+                if (tombstone.getClientId() != null) {
+                    clientIdsFromTombstones.add(tombstone.getClientId());
+                }
+            }
+        }
+
+        Set<Long> clientIdsToRefresh = mouvements.stream()
+            .map(MouvementDTO::getClientId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        clientIdsToRefresh.addAll(clientIdsFromTombstones);
+        clientIdsToRefresh.removeAll(changedClientIds);
+        clientIdsToRefresh.removeAll(deletedClientIds);
+        if (!clientIdsToRefresh.isEmpty()) {
+            // Filtré par collecteur : un client transféré depuis n'est pas renvoyé
+            changedClients.addAll(clientRepository.findSummariesByCollecteurIdAndIdIn(collecteurId, clientIdsToRefresh));
+        }
+
+        SyncDeltaDTO delta = new SyncDeltaDTO();
+        delta.setFullResync(false);
+        delta.setClients(clientStatsService.enrichSummariesWithStats(changedClients));
+        delta.setMouvements(mouvements);
+        delta.setDeletedClientIds(deletedClientIds);
+        delta.setDeletedMouvementIds(deletedMouvementIds);
+        delta.setNextToken(encodeToken(now));
+        return delta;
+    }
+
+    /**
+     * Purge quotidienne des tombstones plus anciennes que la rétention des jetons
+     */
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = syncTombstoneRepository.purgeBefore(LocalDateTime.now().minusDays(TOMBSTONE_RETENTION_DAYS + 1));
+        logger.info("🧹 {} tombstone(s) de synchronisation purgée(s)", purged);
+    }
+
+    private SyncDeltaDTO fullResync(Long collecteurId, LocalDateTime now) {
+        List<ClientSummaryDTO> clients = clientStatsService.enrichSummariesWithStats(
+            clientRepository.findSummariesByCollecteurId(collecteurId));
+
+        SyncDeltaDTO delta = new SyncDeltaDTO();
+        delta.setFullResync(true);
+        delta.setClients(clients);
+        delta.setNextToken(encodeToken(now));
+        return delta;
+    }
+
+    private String encodeToken(LocalDateTime now) {
+        String raw = now.minusSeconds(maxTransactionSeconds + TOKEN_OVERLAP_MARGIN_SECONDS).toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Un jeton absent ou illisible déclenche une resynchronisation complète
+     */
+    private LocalDateTime decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("⚠️ Jeton de synchronisation invalide ignoré: {}", token);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// src/main/java/org/example/collectfocep/web/controllers/ExportController.java
+package org.example.collectfocep.web.controllers;
+
+import org.example.collectfocep.dto.ExportProgress;
+import org.example.collectfocep.services.AgenceExportService;
+import org.example.collectfocep.services.DashboardRollupService;
+import org.example.collectfocep.services.ExportWriter;
+// ApiResponse et SecurityService : mêmes imports que dans ClientController
+import org.example.collectfocep.security.service.SecurityService;
+import org.example.collectfocep.util.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Exports d'agence en flux continu (CSV ou XLSX), mémoire constante
+ * GET /api/exports/agence/{agenceId}?type=clients|mouvements|complet&format=csv|xlsx
+ *     &period=today|week|month|year ou dateDebut + dateFin (mouvements)
+ * L'en-tête X-Export-Id (identifiant généré par le serveur) permet de suivre l'avancement pendant
+ * le téléchargement : GET /api/exports/{exportId}, réservé à l'utilisateur qui a lancé l'export
+ * Un ADMIN n'exporte que sa propre agence (SecurityService.canAccessAgenceData)
+ */
+@RestController
+@RequestMapping("/api/exports")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final String EXPORT_ID_HEADER = "X-Export-Id";
+
+    @Autowired
+    private AgenceExportService agenceExportService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @GetMapping("/agence/{agenceId}")
+    public void exporterAgence(@PathVariable Long agenceId,
+                               @RequestParam(required = false) String type,
+                               @RequestParam(required = false) String format,
+                               @RequestParam(required = false) String period,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+                               Authentication authentication,
+                               HttpServletResponse response) throws IOException {
+        if (!securityService.canAccessAgenceData(agenceId, authentication)) {
+            logger.warn("🚫 Export de l'agence {} refusé à {}", agenceId, authentication.getName());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Accès non autorisé à cette agence");
+            return;
+        }
+
+        String typeExport;
+        DashboardRollupService.Periode periode;
+        try {
+            typeExport = AgenceExportService.normaliserType(type);
+            ExportWriter.normaliserFormat(format);
+            periode = dateDebut != null || dateFin != null
+                ? new DashboardRollupService.Periode(dateDebut, dateFin)
+                : DashboardRollupService.Periode.of(period != null ? period : "year", LocalDate.now());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        ExportProgress progress = agenceExportService.reserver(typeExport, format, authentication.getName());
+        if (progress == null) {
+            logger.warn("⏳ Export refusé pour {} : nombre maximal d'exports simultanés atteint", authentication.getName());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Trop d'exports en cours, réessayer plus tard");
+            return;
+        }
+        String id = progress.getExportId();
+
+        logger.info("📤 Export {} ({}) de l'agence {} du {} au {} par {}", typeExport, progress.getFormat(), agenceId,
+                    periode.getDebut(), periode.getFin(), authentication.getName());
+
+        String fichier = "export-" + typeExport + "-agence-" + agenceId + "-" + periode.getDebut() + "-" + periode.getFin()
+            + "." + progress.getFormat();
+        response.setContentType(ExportWriter.contentType(progress.getFormat()));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fichier + "\"");
+        response.setHeader(EXPORT_ID_HEADER, id);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, EXPORT_ID_HEADER);
+
+        try {
+            agenceExportService.exporter(progress, agenceId, periode.getDebut(), periode.getFin(), response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("❌ Export {} de l'agence {} interrompu: {}", id, agenceId, e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Erreur lors de l'export");
+            }
+            // Sinon en-têtes déjà envoyés : le client détecte la coupure du flux (statut ECHEC dans le suivi)
+        }
+    }
+
+    @GetMapping("/{exportId}")
+    public ResponseEntity<?> getProgress(@PathVariable String exportId, Authentication authentication) {
+        // 404 aussi pour l'export d'un autre utilisateur : son existence n'est pas révélée
+        ExportProgress progress = agenceExportService.getProgress(exportId, authentication.getName());
+        if (progress == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Export inconnu ou expiré", null));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Avancement de l'export", progress));
+    }
+}
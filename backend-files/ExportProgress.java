@@ -0,0 +1,92 @@
+// src/main/java/org/example/collectfocep/dto/ExportProgress.java
+package org.example.collectfocep.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avancement d'un export en cours (GET /api/exports/{exportId})
+ * Mis à jour par le thread qui parcourt le curseur, lu par les requêtes de suivi
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportProgress {
+
+    public static final String EN_COURS = "EN_COURS";
+    public static final String TERMINE = "TERMINE";
+    public static final String ECHEC = "ECHEC";
+
+    private final String exportId;
+    private final String type;
+    private final String format;
+    // Utilisateur qui a lancé l'export : seul à pouvoir suivre son avancement
+    private final String proprietaire;
+    private final LocalDateTime debut = LocalDateTime.now();
+    private final AtomicLong lignes = new AtomicLong();
+
+    // Estimation (agrégats client_stats / rollup_journalier), sans parcours préalable
+    private volatile long lignesEstimees;
+    private volatile String statut = EN_COURS;
+    private volatile String message;
+    private volatile LocalDateTime fin;
+
+    public ExportProgress(String exportId, String type, String format, String proprietaire) {
+        this.exportId = exportId;
+        this.type = type;
+        this.format = format;
+        this.proprietaire = proprietaire;
+    }
+
+    public void ligneEcrite() {
+        lignes.incrementAndGet();
+    }
+
+    public void terminer() {
+        this.fin = LocalDateTime.now();
+        this.statut = TERMINE;
+    }
+
+    public void echouer(String message) {
+        this.fin = LocalDateTime.now();
+        this.message = message;
+        this.statut = ECHEC;
+    }
+
+    public String getExportId() { return exportId; }
+
+    public String getType() { return type; }
+
+    public String getFormat() { return format; }
+
+    @JsonIgnore
+    public String getProprietaire() { return proprietaire; }
+
+    public LocalDateTime getDebut() { return debut; }
+
+    public LocalDateTime getFin() { return fin; }
+
+    public long getLignes() { return lignes.get(); }
+
+    public long getLignesEstimees() { return lignesEstimees; }
+
+    public void setLignesEstimees(long lignesEstimees) { this.lignesEstimees = lignesEstimees; }
+
+    public String getStatut() { return statut; }
+
+    public String getMessage() { return message; }
+
+    /**
+     * Pourcentage estimé (plafonné à 99 tant que l'export n'est pas terminé)
+     */
+    public Integer getPourcentage() {
+        if (TERMINE.equals(statut)) {
+            return 100;
+        }
+        if (lignesEstimees <= 0) {
+            return null;
+        }
+        return (int) Math.min(99, lignes.get() * 100 / lignesEstimees);
+    }
+}
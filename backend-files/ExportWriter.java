@@ -0,0 +1,271 @@
+// src/main/java/org/example/collectfocep/services/ExportWriter.java
+package org.example.collectfocep.services;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Écriture ligne à ligne d'un export (CSV ou XLSX), sans jamais retenir les lignes écrites
+ * - CSV : écrit directement dans le flux de réponse (tampon de 64 Ko)
+ * - XLSX : SXSSF, fenêtre de ROW_WINDOW lignes en mémoire, le reste en fichier temporaire
+ *   compressé ; le classeur est produit dans le flux à finish()
+ *
+ * 🔥 Les méthodes d'écriture sont appelées depuis le curseur JDBC : une écriture bloquée
+ * (client lent) suspend la lecture des lignes suivantes
+ */
+public abstract class ExportWriter implements AutoCloseable {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_XLSX = "xlsx";
+
+    /**
+     * Writer du format demandé (« excel » accepté pour xlsx, xlsx par défaut)
+     * @throws IllegalArgumentException format inconnu
+     */
+    public static ExportWriter create(String format, OutputStream out) {
+        return FORMAT_CSV.equals(normaliserFormat(format)) ? new Csv(out) : new Xlsx(out);
+    }
+
+    /**
+     * Format normalisé (csv ou xlsx)
+     * @throws IllegalArgumentException format inconnu
+     */
+    public static String normaliserFormat(String format) {
+        String normalise = format == null ? FORMAT_XLSX : format.trim().toLowerCase(Locale.ROOT);
+        switch (normalise) {
+            case FORMAT_CSV:
+                return FORMAT_CSV;
+            case FORMAT_XLSX:
+            case "excel":
+                return FORMAT_XLSX;
+            default:
+                throw new IllegalArgumentException("Format d'export inconnu: " + format + " (attendus: csv, xlsx)");
+        }
+    }
+
+    public static String contentType(String format) {
+        return FORMAT_CSV.equals(normaliserFormat(format))
+            ? "text/csv; charset=UTF-8"
+            : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    /**
+     * Nouvelle feuille (XLSX) ou nouvelle section (CSV : ligne vide) avec sa ligne d'en-tête
+     */
+    public abstract void startSheet(String nom, String... colonnes);
+
+    /**
+     * Une ligne ; valeurs : String, Number (BigDecimal pour les montants), LocalDate(Time), Boolean ou null
+     */
+    public abstract void row(Object... valeurs);
+
+    /**
+     * Termine le fichier dans le flux (sans fermer le flux de la réponse)
+     */
+    public abstract void finish();
+
+    @Override
+    public void close() {}
+
+    /**
+     * CSV RFC 4180, UTF-8 avec BOM (ouverture directe dans Excel)
+     */
+    private static final class Csv extends ExportWriter {
+
+        private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        private final Writer writer;
+        private boolean premiereSection = true;
+
+        private Csv(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            write("\uFEFF");
+        }
+
+        @Override
+        public void startSheet(String nom, String... colonnes) {
+            if (!premiereSection) {
+                write("\r\n");
+            }
+            premiereSection = false;
+            row((Object[]) colonnes);
+        }
+
+        @Override
+        public void row(Object... valeurs) {
+            StringBuilder ligne = new StringBuilder(128);
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    ligne.append(',');
+                }
+                ligne.append(escape(valeurs[i]));
+            }
+            write(ligne.append("\r\n").toString());
+        }
+
+        @Override
+        public void finish() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void write(String texte) {
+            try {
+                writer.write(texte);
+            } catch (IOException e) {
+                // Client déconnecté : interrompt le parcours du curseur
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(Object valeur) {
+            if (valeur == null) {
+                return "";
+            }
+            String texte;
+            if (valeur instanceof BigDecimal) {
+                texte = ((BigDecimal) valeur).toPlainString();
+            } else if (valeur instanceof LocalDateTime) {
+                texte = DATE_TIME.format((LocalDateTime) valeur);
+            } else {
+                texte = valeur.toString();
+                // Texte saisi commençant comme une formule : neutralisé à l'ouverture dans un tableur
+                if (valeur instanceof String && !texte.isEmpty() && "=+-@".indexOf(texte.charAt(0)) >= 0) {
+                    texte = "'" + texte;
+                }
+            }
+            if (texte.indexOf(',') >= 0 || texte.indexOf('"') >= 0 || texte.indexOf('\n') >= 0 || texte.indexOf('\r') >= 0) {
+                return '"' + texte.replace("\"", "\"\"") + '"';
+            }
+            return texte;
+        }
+    }
+
+    /**
+     * XLSX en flux (SXSSF) ; une feuille pleine continue sur une feuille suivante
+     */
+    private static final class Xlsx extends ExportWriter {
+
+        private static final int ROW_WINDOW = 100;
+        private static final int MAX_LIGNES_FEUILLE = 1_048_576;
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final CellStyle enTeteStyle;
+        private final CellStyle dateStyle;
+        private final CellStyle dateTimeStyle;
+        private final CellStyle montantStyle;
+
+        private Sheet sheet;
+        private String nomFeuille;
+        private String[] colonnes;
+        private int suite;
+        private int ligne;
+
+        private Xlsx(OutputStream out) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+
+            Font gras = workbook.createFont();
+            gras.setBold(true);
+            this.enTeteStyle = workbook.createCellStyle();
+            this.enTeteStyle.setFont(gras);
+
+            this.dateStyle = workbook.createCellStyle();
+            this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+            this.dateTimeStyle = workbook.createCellStyle();
+            this.dateTimeStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+            this.montantStyle = workbook.createCellStyle();
+            this.montantStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("#,##0.00"));
+        }
+
+        @Override
+        public void startSheet(String nom, String... colonnes) {
+            this.nomFeuille = nom;
+            this.colonnes = colonnes;
+            this.suite = 1;
+            nouvelleFeuille(nom);
+        }
+
+        @Override
+        public void row(Object... valeurs) {
+            if (ligne >= MAX_LIGNES_FEUILLE) {
+                nouvelleFeuille(nomFeuille + " (" + (++suite) + ")");
+            }
+            Row row = sheet.createRow(ligne++);
+            for (int i = 0; i < valeurs.length; i++) {
+                setCell(row.createCell(i), valeurs[i]);
+            }
+        }
+
+        @Override
+        public void finish() {
+            try {
+                workbook.write(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            // Supprime les fichiers temporaires, y compris après une erreur
+            workbook.dispose();
+        }
+
+        private void nouvelleFeuille(String nom) {
+            sheet = workbook.createSheet(nom);
+            ligne = 0;
+            Row enTete = sheet.createRow(ligne++);
+            for (int i = 0; i < colonnes.length; i++) {
+                Cell cell = enTete.createCell(i);
+                cell.setCellValue(colonnes[i]);
+                cell.setCellStyle(enTeteStyle);
+            }
+        }
+
+        private void setCell(Cell cell, Object valeur) {
+            if (valeur == null) {
+                return;
+            }
+            if (valeur instanceof BigDecimal) {
+                cell.setCellValue(((BigDecimal) valeur).doubleValue());
+                cell.setCellStyle(montantStyle);
+            } else if (valeur instanceof Number) {
+                cell.setCellValue(((Number) valeur).doubleValue());
+            } else if (valeur instanceof LocalDateTime) {
+                cell.setCellValue((LocalDateTime) valeur);
+                cell.setCellStyle(dateTimeStyle);
+            } else if (valeur instanceof LocalDate) {
+                cell.setCellValue((LocalDate) valeur);
+                cell.setCellStyle(dateStyle);
+            } else if (valeur instanceof Boolean) {
+                cell.setCellValue((Boolean) valeur);
+            } else {
+                cell.setCellValue(valeur.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// src/main/java/org/example/collectfocep/util/Montant.java
+package org.example.collectfocep.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montant exact en FCFA, stocké en centimes sur un long
+ * Remplace Double pour les soldes et totaux : aucune dérive d'arrondi sur les sommes
+ *
+ * Sérialisé en nombre JSON (125000 ou 125000.5), format inchangé pour l'application mobile
+ *
+ * 🔥 Règle d'arrondi unique, Java comme SQL : 4 décimales puis centime, demi au-dessus
+ * (SQL : ROUND(CAST(montant AS DECIMAL(19,4)) * 100), voir TO_CENTIMES_SQL)
+ */
+@JsonSerialize(using = Montant.Serializer.class)
+@JsonDeserialize(using = Montant.Deserializer.class)
+public final class Montant implements Comparable<Montant> {
+
+    public static final Montant ZERO = new Montant(0L);
+
+    private static final int SCALE = 2;
+
+    // Précision intermédiaire : celle du CAST(... AS DECIMAL(19,4)) des requêtes natives
+    private static final int SCALE_INTERMEDIAIRE = 4;
+
+    /**
+     * Expression SQL d'un montant DOUBLE en centimes, identique à toCentimes (colonne m.montant)
+     * Toute requête qui additionne des montants en centimes l'utilise
+     */
+    public static final String TO_CENTIMES_SQL = "ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100)";
+
+    private final long centimes;
+
+    private Montant(long centimes) {
+        this.centimes = centimes;
+    }
+
+    public static Montant ofCentimes(long centimes) {
+        return centimes == 0L ? ZERO : new Montant(centimes);
+    }
+
+    /**
+     * Conversion depuis les colonnes DOUBLE existantes (règle d'arrondi unique, voir la classe)
+     */
+    public static Montant of(Double montant) {
+        if (montant == null) {
+            return ZERO;
+        }
+        return ofCentimes(toCentimes(montant));
+    }
+
+    public static long toCentimes(double montant) {
+        return toCentimes(BigDecimal.valueOf(montant));
+    }
+
+    private static long toCentimes(BigDecimal montant) {
+        return montant.setScale(SCALE_INTERMEDIAIRE, RoundingMode.HALF_UP)
+            .setScale(SCALE, RoundingMode.HALF_UP)
+            .unscaledValue().longValueExact();
+    }
+
+    public long getCentimes() { return centimes; }
+
+    public Montant plus(Montant other) {
+        return ofCentimes(Math.addExact(centimes, other.centimes));
+    }
+
+    public Montant minus(Montant other) {
+        return ofCentimes(Math.subtractExact(centimes, other.centimes));
+    }
+
+    public boolean isNegative() {
+        return centimes < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centimes, SCALE);
+    }
+
+    public double toDouble() {
+        return centimes / 100.0;
+    }
+
+    @Override
+    public int compareTo(Montant other) {
+        return Long.compare(centimes, other.centimes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Montant && ((Montant) o).centimes == centimes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centimes);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Écrit un entier quand il n'y a pas de centimes, sinon 2 décimales
+     */
+    public static class Serializer extends JsonSerializer<Montant> {
+        @Override
+        public void serialize(Montant value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (value.centimes % 100 == 0) {
+                gen.writeNumber(value.centimes / 100);
+            } else {
+                gen.writeNumber(value.toBigDecimal());
+            }
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Montant> {
+        @Override
+        public Montant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            BigDecimal value = parser.getDecimalValue();
+            return ofCentimes(toCentimes(value));
+        }
+    }
+}
@@ -0,0 +1,344 @@
+// src/main/java/org/example/collectfocep/services/MouvementBulkService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.dto.BulkMouvementRequestDTO;
+import org.example.collectfocep.dto.BulkMouvementResultDTO;
+import org.example.collectfocep.entities.CompteClient;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.example.collectfocep.services.impl.MouvementServiceImpl;
+import org.example.collectfocep.util.Montant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Ingestion par lot des mouvements collectés hors ligne (fin de journée)
+ * Pour tout le lot, dans une seule transaction :
+ * 1. comptes des clients verrouillés en une requête
+ * 2. clés d'idempotence déjà enregistrées lues en une requête (DEJA_TRAITE)
+ * 3. validation des retraits en un passage, dans l'ordre de saisie, sur un solde courant par client
+ * 4. insertion des mouvements acceptés par lots JDBC, rattachés au journal du jour du collecteur
+ *    (le même que celui de la saisie unitaire, MouvementServiceImpl.getJournalIdDuJour)
+ * 5. un seul UPDATE de solde, de client_stats et de rollup_journalier par client / jour
+ * Un élément rejeté n'annule pas les autres ; une erreur technique annule tout le lot
+ * (l'application le renvoie tel quel, les clés évitent les doublons).
+ */
+@Service
+public class MouvementBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MouvementBulkService.class);
+
+    public static final int MAX_LOT = 500;
+
+    private static final int MAX_CLE = 64;
+
+    private static final String INSERT_MOUVEMENT =
+        "INSERT INTO mouvements (client_id, collecteur_id, journal_id, montant, sens, libelle, type_mouvement, date_operation, idempotency_key) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MouvementServiceImpl mouvementService;
+
+    @Autowired
+    private ClientStatsProjectionService clientStatsProjectionService;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    /**
+     * 🔥 Enregistre un lot de mouvements d'un collecteur
+     * @return un résultat par élément, dans l'ordre de la requête
+     */
+    @Transactional
+    public BulkMouvementResultDTO enregistrer(BulkMouvementRequestDTO request) {
+        List<BulkMouvementRequestDTO.Item> items = request.getMouvements() != null
+            ? request.getMouvements() : Collections.emptyList();
+        if (request.getCollecteurId() == null) {
+            throw new IllegalArgumentException("collecteurId obligatoire");
+        }
+        if (items.size() > MAX_LOT) {
+            throw new IllegalArgumentException("Lot trop volumineux (maximum " + MAX_LOT + " mouvements)");
+        }
+
+        Long collecteurId = request.getCollecteurId();
+        LocalDateTime reception = LocalDateTime.now();
+
+        // Validation unitaire (sans base) ; la première occurrence d'une clé dans le lot est retenue
+        List<BulkMouvementResultDTO.ItemResult> resultats = new ArrayList<>(items.size());
+        List<Ligne> lignes = new ArrayList<>();
+        Map<String, Ligne> parCle = new HashMap<>();
+        Set<Long> clientIds = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkMouvementRequestDTO.Item item = items.get(i);
+            BulkMouvementResultDTO.ItemResult resultat = new BulkMouvementResultDTO.ItemResult(item.getCleIdempotence());
+            resultats.add(resultat);
+
+            String erreur = valider(item);
+            if (erreur != null) {
+                resultat.rejeter("VALIDATION", erreur);
+                continue;
+            }
+            if (parCle.containsKey(item.getCleIdempotence())) {
+                // Doublon dans le même lot : même résultat que la première occurrence
+                parCle.get(item.getCleIdempotence()).doublons.add(resultat);
+                continue;
+            }
+
+            Ligne ligne = new Ligne(i, item, resultat,
+                SensMouvement.fromLibelle(item.getSens()),
+                Montant.of(item.getMontant()).getCentimes(),
+                item.getDateOperation() != null ? item.getDateOperation() : reception);
+            lignes.add(ligne);
+            parCle.put(item.getCleIdempotence(), ligne);
+            clientIds.add(item.getClientId());
+        }
+
+        // 1. Comptes verrouillés (une requête)
+        Map<Long, CompteClient> comptes = new HashMap<>();
+        Map<Long, Long> soldes = new HashMap<>();
+        if (!clientIds.isEmpty()) {
+            for (Object[] row : clientRepository.findComptesForUpdate(collecteurId, clientIds)) {
+                CompteClient compte = (CompteClient) row[1];
+                comptes.put((Long) row[0], compte);
+                soldes.put((Long) row[0], Montant.of(compte.getSolde()).getCentimes());
+            }
+        }
+
+        // 2. Clés déjà enregistrées (une requête), lues après le verrouillage des comptes
+        Map<String, Long> existants = findExistingKeys(collecteurId, parCle.keySet());
+
+        // 3. Validation des soldes en un passage, dans l'ordre de saisie
+        lignes.sort(Comparator.comparing((Ligne ligne) -> ligne.dateOperation).thenComparingInt(ligne -> ligne.index));
+        List<Ligne> acceptees = new ArrayList<>();
+        for (Ligne ligne : lignes) {
+            Long existant = existants.get(ligne.item.getCleIdempotence());
+            if (existant != null) {
+                ligne.resultat.setStatut(BulkMouvementResultDTO.DEJA_TRAITE);
+                ligne.resultat.setMouvementId(existant);
+                continue;
+            }
+
+            Long solde = soldes.get(ligne.item.getClientId());
+            if (solde == null) {
+                ligne.resultat.rejeter("CLIENT_INCONNU", "Client introuvable pour ce collecteur");
+                continue;
+            }
+
+            long nouveauSolde = ligne.sens == SensMouvement.EPARGNE
+                ? solde + ligne.centimes
+                : solde - ligne.centimes;
+            if (nouveauSolde < 0) {
+                ligne.resultat.rejeter("SOLDE_INSUFFISANT", "Solde insuffisant pour ce retrait");
+                continue;
+            }
+
+            soldes.put(ligne.item.getClientId(), nouveauSolde);
+            ligne.resultat.setStatut(BulkMouvementResultDTO.CREE);
+            ligne.resultat.setSoldeApres(Montant.ofCentimes(nouveauSolde));
+            acceptees.add(ligne);
+        }
+
+        if (!acceptees.isEmpty()) {
+            // 4. Insertion par lots JDBC, puis ids relus par clé (une requête)
+            insert(collecteurId, acceptees);
+            Map<String, Long> ids = findExistingKeys(collecteurId, keys(acceptees));
+            acceptees.forEach(ligne -> ligne.resultat.setMouvementId(ids.get(ligne.item.getCleIdempotence())));
+
+            // 5. Un seul report par client et par jour
+            applyAgregats(collecteurId, acceptees, comptes, soldes);
+        }
+
+        // Doublons internes au lot : copie du résultat de la première occurrence
+        for (Ligne ligne : lignes) {
+            for (BulkMouvementResultDTO.ItemResult doublon : ligne.doublons) {
+                if (BulkMouvementResultDTO.REJETE.equals(ligne.resultat.getStatut())) {
+                    doublon.rejeter(ligne.resultat.getErrorCode(), ligne.resultat.getMessage());
+                } else {
+                    doublon.setStatut(BulkMouvementResultDTO.DEJA_TRAITE);
+                    doublon.setMouvementId(ligne.resultat.getMouvementId());
+                }
+            }
+        }
+
+        BulkMouvementResultDTO result = new BulkMouvementResultDTO();
+        result.setResultats(resultats);
+        result.setCrees(count(resultats, BulkMouvementResultDTO.CREE));
+        result.setDejaTraites(count(resultats, BulkMouvementResultDTO.DEJA_TRAITE));
+        result.setRejetes(count(resultats, BulkMouvementResultDTO.REJETE));
+
+        logger.info("📥 Lot collecteur {} : {} créé(s), {} déjà traité(s), {} rejeté(s)",
+                    collecteurId, result.getCrees(), result.getDejaTraites(), result.getRejetes());
+        return result;
+    }
+
+    private String valider(BulkMouvementRequestDTO.Item item) {
+        if (item.getCleIdempotence() == null || item.getCleIdempotence().isBlank()
+                || item.getCleIdempotence().length() > MAX_CLE) {
+            return "Clé d'idempotence absente ou trop longue (" + MAX_CLE + " caractères maximum)";
+        }
+        if (item.getClientId() == null) {
+            return "Client obligatoire";
+        }
+        if (item.getMontant() == null || Montant.of(item.getMontant()).getCentimes() <= 0) {
+            return "Le montant doit être supérieur à zéro";
+        }
+        if (SensMouvement.fromLibelle(item.getSens()) == SensMouvement.AUTRE) {
+            return "Sens inconnu (EPARGNE ou RETRAIT attendu)";
+        }
+        return null;
+    }
+
+    private void insert(Long collecteurId, List<Ligne> acceptees) {
+        // Journal du jour résolu une fois par jour d'opération du lot
+        Map<LocalDate, Long> journaux = new HashMap<>();
+        acceptees.forEach(ligne -> journaux.computeIfAbsent(ligne.dateOperation.toLocalDate(),
+            jour -> mouvementService.getJournalIdDuJour(collecteurId, jour)));
+
+        jdbcTemplate.batchUpdate(INSERT_MOUVEMENT, acceptees, MAX_LOT, (ps, ligne) -> {
+            boolean epargne = ligne.sens == SensMouvement.EPARGNE;
+            ps.setLong(1, ligne.item.getClientId());
+            ps.setLong(2, collecteurId);
+            ps.setLong(3, journaux.get(ligne.dateOperation.toLocalDate()));
+            ps.setDouble(4, Montant.ofCentimes(ligne.centimes).toDouble());
+            ps.setString(5, epargne ? "epargne" : "retrait");
+            ps.setString(6, ligne.item.getLibelle() != null ? ligne.item.getLibelle() : (epargne ? "Épargne" : "Retrait"));
+            ps.setString(7, epargne ? "EPARGNE" : "RETRAIT");
+            ps.setTimestamp(8, Timestamp.valueOf(ligne.dateOperation));
+            ps.setString(9, ligne.item.getCleIdempotence());
+        });
+    }
+
+    /**
+     * Soldes des comptes (flush Hibernate : un UPDATE par compte), client_stats par client,
+     * rollup_journalier par jour
+     */
+    private void applyAgregats(Long collecteurId, List<Ligne> acceptees,
+                               Map<Long, CompteClient> comptes, Map<Long, Long> soldes) {
+        Map<Long, Agregat> parClient = new HashMap<>();
+        Map<LocalDate, Agregat> parJour = new TreeMap<>();
+        for (Ligne ligne : acceptees) {
+            parClient.computeIfAbsent(ligne.item.getClientId(), id -> new Agregat()).add(ligne);
+            parJour.computeIfAbsent(ligne.dateOperation.toLocalDate(), jour -> new Agregat()).add(ligne);
+        }
+
+        parClient.forEach((clientId, agregat) -> {
+            comptes.get(clientId).setSolde(Montant.ofCentimes(soldes.get(clientId)).toDouble());
+            clientStatsProjectionService.onMouvementsPersisted(clientId,
+                agregat.epargneCentimes, agregat.retraitCentimes, agregat.nombre(),
+                agregat.derniereOperation, agregat.dernierMouvementId);
+        });
+
+        parJour.forEach((jour, agregat) -> dashboardRollupService.applyAgregat(jour, collecteurId,
+            agregat.epargneCentimes, agregat.retraitCentimes,
+            agregat.nombreEpargnes, agregat.nombreRetraits, agregat.nombre()));
+    }
+
+    /**
+     * Clés lues dans mouvement_idempotence (migration_mouvement_partitions.sql) : unicité par
+     * (collecteur, clé) quelle que soit la date d'opération, un renvoi sans date reste DEJA_TRAITE
+     */
+    private Map<String, Long> findExistingKeys(Long collecteurId, Set<String> cles) {
+        Map<String, Long> existants = new HashMap<>();
+        if (cles.isEmpty()) {
+            return existants;
+        }
+
+        List<Object> params = new ArrayList<>(cles.size() + 1);
+        params.add(collecteurId);
+        params.addAll(cles);
+        String placeholders = String.join(", ", Collections.nCopies(cles.size(), "?"));
+        jdbcTemplate.query(
+            "SELECT idempotency_key, mouvement_id FROM mouvement_idempotence WHERE collecteur_id = ? AND idempotency_key IN (" + placeholders + ")",
+            rs -> {
+                existants.put(rs.getString(1), rs.getLong(2));
+            },
+            params.toArray());
+        return existants;
+    }
+
+    private static Set<String> keys(List<Ligne> lignes) {
+        Set<String> cles = new LinkedHashSet<>();
+        lignes.forEach(ligne -> cles.add(ligne.item.getCleIdempotence()));
+        return cles;
+    }
+
+    private static int count(List<BulkMouvementResultDTO.ItemResult> resultats, String statut) {
+        return (int) resultats.stream().filter(resultat -> statut.equals(resultat.getStatut())).count();
+    }
+
+    /**
+     * Élément du lot en cours de traitement
+     */
+    private static final class Ligne {
+        private final int index;
+        private final BulkMouvementRequestDTO.Item item;
+        private final BulkMouvementResultDTO.ItemResult resultat;
+        private final SensMouvement sens;
+        private final long centimes;
+        private final LocalDateTime dateOperation;
+        private final List<BulkMouvementResultDTO.ItemResult> doublons = new ArrayList<>(0);
+
+        Ligne(int index, BulkMouvementRequestDTO.Item item, BulkMouvementResultDTO.ItemResult resultat,
+              SensMouvement sens, long centimes, LocalDateTime dateOperation) {
+            this.index = index;
+            this.item = item;
+            this.resultat = resultat;
+            this.sens = sens;
+            this.centimes = centimes;
+            this.dateOperation = dateOperation;
+        }
+    }
+
+    /**
+     * Cumul des mouvements acceptés d'un client ou d'un jour
+     */
+    private static final class Agregat {
+        private long epargneCentimes;
+        private long retraitCentimes;
+        private int nombreEpargnes;
+        private int nombreRetraits;
+        private LocalDateTime derniereOperation;
+        private Long dernierMouvementId;
+
+        void add(Ligne ligne) {
+            if (ligne.sens == SensMouvement.EPARGNE) {
+                epargneCentimes += ligne.centimes;
+                nombreEpargnes++;
+            } else {
+                retraitCentimes += ligne.centimes;
+                nombreRetraits++;
+            }
+            if (derniereOperation == null || !ligne.dateOperation.isBefore(derniereOperation)) {
+                derniereOperation = ligne.dateOperation;
+                dernierMouvementId = ligne.resultat.getMouvementId();
+            }
+        }
+
+        int nombre() {
+            return nombreEpargnes + nombreRetraits;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// MODIFICATIONS À APPORTER dans MouvementController.java
+// src/main/java/org/example/collectfocep/web/controllers/MouvementController.java
+
+import org.example.collectfocep.dto.BulkMouvementRequestDTO;
+import org.example.collectfocep.dto.BulkMouvementResultDTO;
+import org.example.collectfocep.dto.MouvementPageDTO;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.services.ClientSearchIndex;
+import org.example.collectfocep.services.ClientStatsService;
+import org.example.collectfocep.services.MouvementBulkService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+private static final int HISTORY_DEFAULT_LIMIT = 20;
+private static final int HISTORY_MAX_LIMIT = 100;
+
+/**
+ * 🔥 HISTORIQUE PAGINÉ PAR CURSEUR
+ * Première page : GET /mouvements/client/{clientId}?after=
+ * Pages suivantes : GET /mouvements/client/{clientId}?after=<nextCursor>
+ * (params = "after" : l'endpoint existant par dateDebut/dateFin reste inchangé)
+ */
+@GetMapping(value = "/client/{clientId}", params = "after")
+public ResponseEntity<?> getHistoriqueClient(@PathVariable Long clientId,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(defaultValue = "" + HISTORY_DEFAULT_LIMIT) int limit,
+                                             Authentication authentication) {
+    try {
+        Optional<Client> clientOpt = clientRepository.findById(clientId);
+        if (!clientOpt.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Client non trouvé", null));
+        }
+
+        if (!securityService.canAccessCollecteurData(clientOpt.get().getCollecteur().getId(), authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Accès non autorisé", null));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, HISTORY_MAX_LIMIT));
+        MouvementPageDTO page = clientStatsService.getTransactionHistory(clientId, after, pageSize);
+
+        return ResponseEntity.ok(ApiResponse.success("Historique client récupéré", page));
+
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error(e.getMessage(), null));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors de la récupération de l'historique du client {}: {}", clientId, e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors de la récupération de l'historique", null));
+    }
+}
+
+/**
+ * 🔥 INGESTION PAR LOT des mouvements saisis hors ligne
+ * POST /mouvements/bulk  { collecteurId, mouvements: [{ cleIdempotence, clientId, montant, sens, dateOperation }] }
+ * 200 avec un résultat par élément, même si certains sont rejetés
+ */
+@PostMapping("/bulk")
+public ResponseEntity<?> enregistrerLot(@RequestBody BulkMouvementRequestDTO request,
+                                        Authentication authentication) {
+    try {
+        if (request.getCollecteurId() == null
+                || !securityService.canAccessCollecteurData(request.getCollecteurId(), authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Accès non autorisé", null));
+        }
+
+        BulkMouvementResultDTO result = mouvementBulkService.enregistrer(request);
+        return ResponseEntity.ok(ApiResponse.success("Lot de mouvements traité", result));
+
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ApiResponse.error(e.getMessage(), null));
+    } catch (Exception e) {
+        logger.error("❌ Erreur lors de l'enregistrement du lot du collecteur {}: {}", request.getCollecteurId(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error("Erreur lors de l'enregistrement du lot", null));
+    }
+}
+
+/**
+ * 🔥 RECHERCHE PAR NUMÉRO DE COMPTE : index en mémoire (ClientSearchIndex) au lieu d'une requête LIKE
+ * GET /mouvements/client/search-by-account?collecteurId=&accountNumber=
+ */
+@GetMapping("/client/search-by-account")
+public ResponseEntity<?> searchClientByAccount(@RequestParam Long collecteurId,
+                                               @RequestParam String accountNumber,
+                                               Authentication authentication) {
+    if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(ApiResponse.error("Accès non autorisé", null));
+    }
+    ClientSummaryDTO client = clientSearchIndex.trouverParCompte(collecteurId, accountNumber);
+    if (client == null) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Aucun client avec ce numéro de compte", null));
+    }
+    return ResponseEntity.ok(ApiResponse.success("Client trouvé", client));
+}
+
+// 🔥 INJECTION DES SERVICES
+@Autowired
+private ClientStatsService clientStatsService;
+
+@Autowired
+private MouvementBulkService mouvementBulkService;
+
+@Autowired
+private ClientSearchIndex clientSearchIndex;
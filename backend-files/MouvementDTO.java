@@ -2,6 +2,9 @@
 package org.example.collectfocep.dto;
 
 import org.example.collectfocep.entities.Mouvement;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.util.Montant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 
@@ -13,12 +16,19 @@ import java.time.LocalDateTime;
 public class MouvementDTO {
     
     private Long id;
-    private Double montant;
-    private String sens; // EPARGNE, RETRAIT
+    private Montant montant;
+    private String sens; // EPARGNE, RETRAIT (libellé d'origine, casse conservée pour le mobile)
+    
+    // Sens normalisé, calculé une seule fois par ligne
+    @JsonIgnore
+    private SensMouvement sensMouvement;
     private String libelle;
     private LocalDateTime dateOperation;
     private String typeMouvement;
     
+    // Client du mouvement (regroupement par client, synchronisation incrémentale)
+    private Long clientId;
+    
     // Infos collecteur (pour traçabilité)
     private Long collecteurId;
     private String collecteurNom;
@@ -28,8 +38,11 @@ public class MouvementDTO {
     
     public MouvementDTO(Mouvement mouvement) {
         this.id = mouvement.getId();
-        this.montant = mouvement.getMontant();
+        this.montant = Montant.of(mouvement.getMontant());
         this.sens = mouvement.getSens();
+        this.sensMouvement = mouvement.getSensCode() != null
+            ? mouvement.getSensCode()
+            : SensMouvement.fromLibelle(mouvement.getSens());
         this.libelle = mouvement.getLibelle();
         this.dateOperation = mouvement.getDateOperation();
         this.typeMouvement = mouvement.getTypeMouvement();
@@ -42,15 +55,40 @@ public class MouvementDTO {
         }
     }
     
+    /**
+     * 🔥 PROJECTION JPQL : construit directement depuis les colonnes (MouvementRepository.MOUVEMENT_DTO_SELECT)
+     * Aucune entité Mouvement ni Collecteur chargée, pas de lazy loading
+     */
+    public MouvementDTO(Long id, Long clientId, Double montant, String sens, SensMouvement sensCode,
+                        String libelle, LocalDateTime dateOperation, String typeMouvement,
+                        Long collecteurId, String collecteurPrenom, String collecteurNom) {
+        this.id = id;
+        this.clientId = clientId;
+        this.montant = Montant.of(montant);
+        this.sens = sens;
+        this.sensMouvement = sensCode != null ? sensCode : SensMouvement.fromLibelle(sens);
+        this.libelle = libelle;
+        this.dateOperation = dateOperation;
+        this.typeMouvement = typeMouvement;
+        
+        if (collecteurId != null) {
+            this.collecteurId = collecteurId;
+            this.collecteurNom = collecteurPrenom + " " + collecteurNom;
+        }
+    }
+    
     // Getters et Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     
-    public Double getMontant() { return montant; }
-    public void setMontant(Double montant) { this.montant = montant; }
+    public Montant getMontant() { return montant; }
+    public void setMontant(Montant montant) { this.montant = montant; }
     
     public String getSens() { return sens; }
-    public void setSens(String sens) { this.sens = sens; }
+    public void setSens(String sens) { 
+        this.sens = sens; 
+        this.sensMouvement = SensMouvement.fromLibelle(sens);
+    }
     
     public String getLibelle() { return libelle; }
     public void setLibelle(String libelle) { this.libelle = libelle; }
@@ -61,6 +99,9 @@ public class MouvementDTO {
     public String getTypeMouvement() { return typeMouvement; }
     public void setTypeMouvement(String typeMouvement) { this.typeMouvement = typeMouvement; }
     
+    public Long getClientId() { return clientId; }
+    public void setClientId(Long clientId) { this.clientId = clientId; }
+    
     public Long getCollecteurId() { return collecteurId; }
     public void setCollecteurId(Long collecteurId) { this.collecteurId = collecteurId; }
     
@@ -69,10 +110,10 @@ public class MouvementDTO {
     
     // Méthodes utilitaires
     public boolean isEpargne() {
-        return "EPARGNE".equalsIgnoreCase(this.sens);
+        return this.sensMouvement == SensMouvement.EPARGNE;
     }
     
     public boolean isRetrait() {
-        return "RETRAIT".equalsIgnoreCase(this.sens);
+        return this.sensMouvement == SensMouvement.RETRAIT;
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+// src/main/java/org/example/collectfocep/events/MouvementEnregistreEvent.java
+package org.example.collectfocep.events;
+
+/**
+ * Publié dans la transaction qui enregistre un mouvement client
+ * Les écouteurs @TransactionalEventListener ne le reçoivent qu'au commit
+ */
+public class MouvementEnregistreEvent {
+
+    private final Long clientId;
+    private final Long mouvementId;
+    // > 1 pour un lot : mouvementId est alors le dernier inséré
+    private final int nombreMouvements;
+
+    public MouvementEnregistreEvent(Long clientId, Long mouvementId) {
+        this(clientId, mouvementId, 1);
+    }
+
+    public MouvementEnregistreEvent(Long clientId, Long mouvementId, int nombreMouvements) {
+        this.clientId = clientId;
+        this.mouvementId = mouvementId;
+        this.nombreMouvements = nombreMouvements;
+    }
+
+    public Long getClientId() { return clientId; }
+
+    public Long getMouvementId() { return mouvementId; }
+
+    public int getNombreMouvements() { return nombreMouvements; }
+}
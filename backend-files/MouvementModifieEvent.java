@@ -0,0 +1,26 @@
+// src/main/java/org/example/collectfocep/events/MouvementModifieEvent.java
+package org.example.collectfocep.events;
+
+/**
+ * Publié dans la transaction qui corrige ou supprime un mouvement client
+ * (un événement par client concerné : ancien et nouveau client si le mouvement change de client)
+ * Les écouteurs @TransactionalEventListener ne le reçoivent qu'au commit
+ */
+public class MouvementModifieEvent {
+
+    private final Long clientId;
+    private final Long mouvementId;
+    private final boolean supprime;
+
+    public MouvementModifieEvent(Long clientId, Long mouvementId, boolean supprime) {
+        this.clientId = clientId;
+        this.mouvementId = mouvementId;
+        this.supprime = supprime;
+    }
+
+    public Long getClientId() { return clientId; }
+
+    public Long getMouvementId() { return mouvementId; }
+
+    public boolean isSupprime() { return supprime; }
+}
@@ -0,0 +1,78 @@
+// src/main/java/org/example/collectfocep/dto/MouvementPageDTO.java
+package org.example.collectfocep.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Page d'historique client paginée par curseur (dateOperation, id)
+ * nextCursor est opaque pour l'application mobile : à renvoyer tel quel dans ?after=
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MouvementPageDTO {
+
+    private List<MouvementDTO> content;
+    private String nextCursor; // null sur la dernière page
+    private Boolean hasMore;
+
+    public MouvementPageDTO() {}
+
+    public MouvementPageDTO(List<MouvementDTO> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters et Setters
+    public List<MouvementDTO> getContent() { return content; }
+    public void setContent(List<MouvementDTO> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+
+    /**
+     * Position dans l'historique : dernier (dateOperation, id) de la page précédente
+     * dateOperation null : mouvement sans date, encodé "|id" (ces mouvements terminent l'historique)
+     */
+    public static class Cursor {
+        private final LocalDateTime dateOperation;
+        private final Long id;
+
+        public Cursor(LocalDateTime dateOperation, Long id) {
+            this.dateOperation = dateOperation;
+            this.id = id;
+        }
+
+        public LocalDateTime getDateOperation() { return dateOperation; }
+        public Long getId() { return id; }
+
+        public String encode() {
+            String raw = (dateOperation != null ? dateOperation.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException si le curseur est mal formé
+         */
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                String date = raw.substring(0, separator);
+                return new Cursor(
+                    date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Curseur invalide: " + cursor, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+// src/test/java/org/example/collectfocep/services/MouvementPeriodeIntegrationTest.java
+package org.example.collectfocep.services;
+
+import com.mysql.cj.jdbc.MysqlDataSource;
+import org.example.collectfocep.repositories.MouvementRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Totaux par période sur un vrai MySQL 8 (partitions, triggers, procédure de report)
+ * Après la clôture, insertion / modification / suppression dans un mois clos :
+ * mois figés + partitions ouvertes doivent toujours égaler un parcours complet de mouvements.
+ *
+ * migration_mouvement_partitions.sql est lu depuis src/test/resources/db/ (copie du script livré)
+ * Requêtes du dépôt : celles de @Query de MouvementRepository, exécutées telles quelles
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MouvementPeriodeIntegrationTest {
+
+    private static final long CLIENT = 1L;
+    private static final long AUTRE_CLIENT = 2L;
+    private static final long COLLECTEUR = 10L;
+
+    // Table mouvements telle que la laissent les migrations précédentes (sens_code, delta_sync, idempotency)
+    private static final String SCHEMA_MOUVEMENTS =
+        "CREATE TABLE mouvements (" +
+        "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+        "client_id BIGINT NULL, " +
+        "collecteur_id BIGINT NULL, " +
+        "montant DOUBLE NOT NULL, " +
+        "sens VARCHAR(50) NOT NULL, " +
+        "sens_code CHAR(1) AS (CASE UPPER(sens) WHEN 'EPARGNE' THEN 'E' WHEN 'RETRAIT' THEN 'R' ELSE 'X' END) STORED NOT NULL, " +
+        "libelle VARCHAR(255) NULL, " +
+        "type_mouvement VARCHAR(50) NULL, " +
+        "date_operation DATETIME(6) NULL, " +
+        "updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), " +
+        "idempotency_key VARCHAR(64) NULL, " +
+        "UNIQUE INDEX uk_mouvements_collecteur_idempotency (collecteur_id, idempotency_key), " +
+        "INDEX idx_mouvements_client_sens_montant (client_id, sens_code, montant))";
+
+    // Tables lues par la migration pour les agrégats des mouvements sans date
+    private static final String[] SCHEMA_ROLLUP = {
+        "CREATE TABLE collecteurs (id BIGINT NOT NULL PRIMARY KEY, agence_id BIGINT NULL)",
+        "CREATE TABLE clients (id BIGINT NOT NULL PRIMARY KEY, collecteur_id BIGINT NULL)",
+        "CREATE TABLE rollup_journalier (" +
+        "jour DATE NOT NULL, collecteur_id BIGINT NOT NULL, agence_id BIGINT NULL, " +
+        "total_epargne_centimes BIGINT NOT NULL DEFAULT 0, total_retraits_centimes BIGINT NOT NULL DEFAULT 0, " +
+        "nombre_epargnes BIGINT NOT NULL DEFAULT 0, nombre_retraits BIGINT NOT NULL DEFAULT 0, " +
+        "nombre_transactions BIGINT NOT NULL DEFAULT 0, version BIGINT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (collecteur_id, jour))"
+    };
+
+    private static final String DATE_INCONNUE = "1970-01-01 00:00:00";
+
+    private static final String PARCOURS_COMPLET =
+        "SELECT COUNT(*), " +
+        "COALESCE(SUM(CASE WHEN m.sens_code = 'E' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END), 0), " +
+        "COALESCE(SUM(CASE WHEN m.sens_code = 'R' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END), 0), " +
+        "MAX(m.date_operation) " +
+        "FROM mouvements m WHERE m.client_id = ?";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+        .withCommand("--log-bin-trust-function-creators=1");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static MouvementPeriodeService service;
+    private static MouvementPeriodeJob job;
+    private static LocalDate moisCourant;
+
+    @BeforeAll
+    static void migrer() throws Exception {
+        MysqlDataSource dataSource = new MysqlDataSource();
+        dataSource.setURL(MYSQL.getJdbcUrl());
+        dataSource.setUser(MYSQL.getUsername());
+        dataSource.setPassword(MYSQL.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute(SCHEMA_MOUVEMENTS);
+        for (String table : SCHEMA_ROLLUP) {
+            jdbcTemplate.execute(table);
+        }
+        jdbcTemplate.update("INSERT INTO collecteurs (id, agence_id) VALUES (?, 1)", COLLECTEUR);
+        jdbcTemplate.update("INSERT INTO clients (id, collecteur_id) VALUES (?, ?), (?, ?)",
+            CLIENT, COLLECTEUR, AUTRE_CLIENT, COLLECTEUR);
+        moisCourant = jdbcTemplate.queryForObject("SELECT CURDATE()", Date.class).toLocalDate().withDayOfMonth(1);
+
+        // Historique : trois mois passés et le mois courant, pour deux clients
+        for (int mois = 3; mois >= 1; mois--) {
+            LocalDateTime jour = moisCourant.minusMonths(mois).withDayOfMonth(10).atTime(9, 0);
+            inserer(CLIENT, jour, "epargne", 1500.25);
+            inserer(CLIENT, jour.plusDays(1), "epargne", 200.125);
+            inserer(CLIENT, jour.plusDays(2), "retrait", 300.0);
+            inserer(AUTRE_CLIENT, jour, "epargne", 999.99);
+        }
+        inserer(CLIENT, moisCourant.atTime(0, 30), "epargne", 50.0);
+        // Mouvement sans date d'opération, antérieur à la migration
+        inserer(AUTRE_CLIENT, null, "epargne", 12.5);
+
+        executerScript(jdbcTemplate, "/db/migration_mouvement_partitions.sql");
+
+        service = new MouvementPeriodeService();
+        ReflectionTestUtils.setField(service, "mouvementRepository", repositoryNatif(dataSource));
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "refreshMs", 0L);
+
+        // Délai de grâce nul : tous les mois passés sont clos au premier passage
+        job = new MouvementPeriodeJob(dataSource, new DataSourceTransactionManager(dataSource), service, 0, 2);
+    }
+
+    @Test
+    void totauxFigesPlusOuvertsEgalentLeParcoursCompletApresEcrituresTardives() {
+        assertEquals(3, job.cloturer());
+        assertEquals(moisCourant, service.getDebutPeriodeOuverte());
+        assertTotauxCoherents(CLIENT);
+
+        LocalDate moisClos = moisCourant.minusMonths(2);
+
+        // Insertion tardive dans un mois clos (lot hors ligne)
+        inserer(CLIENT, moisClos.withDayOfMonth(28).atTime(18, 0), "epargne", 75.5);
+        assertTotauxCoherents(CLIENT);
+
+        // Correction de montant, puis déplacement vers un autre mois clos
+        Long corrige = idDuMouvement(CLIENT, moisClos, "retrait");
+        jdbcTemplate.update("UPDATE mouvements SET montant = 250.005 WHERE id = ?", corrige);
+        assertTotauxCoherents(CLIENT);
+        jdbcTemplate.update("UPDATE mouvements SET date_operation = ? WHERE id = ?",
+            Timestamp.valueOf(moisCourant.minusMonths(3).withDayOfMonth(20).atTime(12, 0)), corrige);
+        assertTotauxCoherents(CLIENT);
+
+        // Déplacement d'un mois clos vers le mois ouvert
+        Long deplace = idDuMouvement(CLIENT, moisCourant.minusMonths(1), "epargne");
+        jdbcTemplate.update("UPDATE mouvements SET date_operation = ? WHERE id = ?",
+            Timestamp.valueOf(moisCourant.atTime(8, 0)), deplace);
+        assertTotauxCoherents(CLIENT);
+
+        // Suppression dans un mois clos, dont le dernier mouvement du mois
+        jdbcTemplate.update("DELETE FROM mouvements WHERE client_id = ? AND date_operation >= ? AND date_operation < ?",
+            CLIENT, Timestamp.valueOf(moisClos.withDayOfMonth(28).atStartOfDay()),
+            Timestamp.valueOf(moisClos.plusMonths(1).atStartOfDay()));
+        assertTotauxCoherents(CLIENT);
+
+        // Les écritures d'un client ne touchent pas les totaux figés d'un autre (trois mois + période sans date)
+        assertTotauxCoherents(AUTRE_CLIENT);
+        assertEquals(4L, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM client_periode_stats WHERE client_id = ?", Long.class, AUTRE_CLIENT));
+    }
+
+    @Test
+    void mouvementSansDateRecoitLaDateInconnueSansDateInventee() {
+        assertEquals(1L, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM mouvements WHERE client_id = ? AND date_operation = ?",
+            Long.class, AUTRE_CLIENT, DATE_INCONNUE));
+        assertEquals("p_sans_date", jdbcTemplate.queryForObject(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'mouvements' AND PARTITION_ORDINAL_POSITION = 1",
+            String.class));
+
+        // Figé comme un mois clos, agrégé sur le jour conventionnel
+        assertEquals(1250L, jdbcTemplate.queryForObject(
+            "SELECT total_epargne_centimes FROM client_periode_stats WHERE client_id = ? AND periode = '1970-01-01'",
+            Long.class, AUTRE_CLIENT));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+            "SELECT nombre_transactions FROM rollup_journalier WHERE collecteur_id = ? AND jour = '1970-01-01'",
+            Long.class, COLLECTEUR));
+        assertTotauxCoherents(AUTRE_CLIENT);
+    }
+
+    private static void assertTotauxCoherents(long clientId) {
+        Object[] attendu = jdbcTemplate.queryForObject(PARCOURS_COMPLET, (rs, rowNum) -> new Object[] {
+            rs.getLong(1), rs.getLong(2), rs.getLong(3),
+            rs.getTimestamp(4) != null ? rs.getTimestamp(4).toLocalDateTime() : null
+        }, clientId);
+
+        assertArrayEquals(attendu, service.getCompleteStatsForClient(clientId), "getCompleteStatsForClient");
+        assertArrayEquals(new Object[] { attendu[1], attendu[2] }, service.calculateTotalsForClient(clientId),
+            "calculateTotalsForClient");
+    }
+
+    private static void inserer(long clientId, LocalDateTime date, String sens, double montant) {
+        jdbcTemplate.update(
+            "INSERT INTO mouvements (client_id, collecteur_id, montant, sens, libelle, type_mouvement, date_operation) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            clientId, COLLECTEUR, montant, sens, sens, sens.toUpperCase(), date != null ? Timestamp.valueOf(date) : null);
+    }
+
+    private static Long idDuMouvement(long clientId, LocalDate mois, String sens) {
+        Long id = jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM mouvements WHERE client_id = ? AND sens = ? AND date_operation >= ? AND date_operation < ?",
+            Long.class, clientId, sens,
+            Timestamp.valueOf(mois.atStartOfDay()), Timestamp.valueOf(mois.plusMonths(1).atStartOfDay()));
+        assertNotNull(id);
+        return id;
+    }
+
+    /**
+     * Dépôt dont les deux requêtes par période exécutent leur SQL natif de @Query
+     */
+    private static MouvementRepository repositoryNatif(MysqlDataSource dataSource) throws NoSuchMethodException {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(dataSource);
+        String totaux = MouvementRepository.class
+            .getMethod("calculateTotalsForClient", Long.class, LocalDateTime.class).getAnnotation(Query.class).value();
+        String complet = MouvementRepository.class
+            .getMethod("getCompleteStatsForClient", Long.class, LocalDateTime.class).getAnnotation(Query.class).value();
+
+        MouvementRepository repository = mock(MouvementRepository.class);
+        when(repository.calculateTotalsForClient(anyLong(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ligne(named, totaux, invocation.getArgument(0), invocation.getArgument(1)));
+        when(repository.getCompleteStatsForClient(anyLong(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ligne(named, complet, invocation.getArgument(0), invocation.getArgument(1)));
+        return repository;
+    }
+
+    private static Object[] ligne(NamedParameterJdbcTemplate named, String sql, Long clientId, LocalDateTime debut) {
+        Map<String, Object> row = named.queryForMap(sql, new MapSqlParameterSource()
+            .addValue("clientId", clientId)
+            .addValue("debutPeriodeOuverte", Timestamp.valueOf(debut)));
+        return row.values().toArray();
+    }
+
+    /**
+     * Exécute un script mysql (directives DELIMITER comprises), instruction par instruction
+     */
+    private static void executerScript(JdbcTemplate jdbcTemplate, String ressource) throws IOException {
+        String script;
+        try (InputStream in = MouvementPeriodeIntegrationTest.class.getResourceAsStream(ressource)) {
+            assertNotNull(in, ressource + " absent de src/test/resources");
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> instructions = new ArrayList<>();
+        String delimiteur = ";";
+        StringBuilder courante = new StringBuilder();
+        for (String ligne : script.split("\n")) {
+            String nette = ligne.trim();
+            if (nette.toUpperCase().startsWith("DELIMITER ")) {
+                delimiteur = nette.substring("DELIMITER ".length()).trim();
+                continue;
+            }
+            if (courante.length() == 0 && (nette.isEmpty() || nette.startsWith("--"))) {
+                continue;
+            }
+            courante.append(ligne).append('\n');
+            if (nette.endsWith(delimiteur)) {
+                String instruction = courante.toString().trim();
+                instructions.add(instruction.substring(0, instruction.length() - delimiteur.length()));
+                courante.setLength(0);
+            }
+        }
+
+        instructions.forEach(jdbcTemplate::execute);
+    }
+}
@@ -0,0 +1,166 @@
+// src/main/java/org/example/collectfocep/services/MouvementPeriodeJob.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.util.Montant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Clôture mensuelle des mouvements (voir migration_mouvement_partitions.sql)
+ * - Ajoute à l'avance les partitions des mois à venir (découpage de pmax)
+ * - Fige chaque mois terminé depuis mouvement-periodes.delai-jours dans client_periode_stats,
+ *   puis avance la frontière des mois clos, un mois par transaction
+ * Après la clôture, les écritures tardives dans un mois clos sont reportées sur son total figé par
+ * les triggers de mouvements ; aucune requête de lecture ne reparcourt plus ces partitions.
+ */
+@Component
+public class MouvementPeriodeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MouvementPeriodeJob.class);
+
+    private static final String PARTITION_MAX = "pmax";
+
+    private static final DateTimeFormatter NOM_PARTITION = DateTimeFormatter.ofPattern("'p'uuuuMM");
+
+    // Verrou exclusif : les triggers d'écriture dans un mois passé attendent la fin de la clôture
+    private static final String VERROUILLER_FRONTIERE =
+        "SELECT debut_periode_ouverte, CURDATE() FROM mouvement_periode_ouverte WHERE id = 1 FOR UPDATE";
+
+    private static final String FIGER_MOIS =
+        "INSERT INTO client_periode_stats " +
+        "(client_id, periode, total_epargne_centimes, total_retraits_centimes, nombre_transactions, derniere_transaction, gele_le) " +
+        "SELECT m.client_id, ?, " +
+        "SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+        "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+        "COUNT(*), MAX(m.date_operation), CURRENT_TIMESTAMP(6) " +
+        "FROM mouvements m WHERE m.client_id IS NOT NULL AND m.date_operation >= ? AND m.date_operation < ? " +
+        "GROUP BY m.client_id " +
+        "ON DUPLICATE KEY UPDATE " +
+        "total_epargne_centimes = VALUES(total_epargne_centimes), " +
+        "total_retraits_centimes = VALUES(total_retraits_centimes), " +
+        "nombre_transactions = VALUES(nombre_transactions), " +
+        "derniere_transaction = VALUES(derniere_transaction), " +
+        "gele_le = VALUES(gele_le)";
+
+    private static final String AVANCER_FRONTIERE =
+        "UPDATE mouvement_periode_ouverte SET debut_periode_ouverte = ?, cloture_le = CURRENT_TIMESTAMP(6) WHERE id = 1";
+
+    private static final String PARTITIONS =
+        "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'mouvements' AND PARTITION_NAME IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final MouvementPeriodeService mouvementPeriodeService;
+    private final int delaiJours;
+    private final int moisAvance;
+
+    public MouvementPeriodeJob(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               MouvementPeriodeService mouvementPeriodeService,
+                               @Value("${mouvement-periodes.delai-jours:5}") int delaiJours,
+                               @Value("${mouvement-periodes.mois-avance:2}") int moisAvance) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.mouvementPeriodeService = mouvementPeriodeService;
+        this.delaiJours = delaiJours;
+        this.moisAvance = moisAvance;
+
+        // READ COMMITTED : le figeage lit les lignes validées sans les verrouiller, une correction
+        // concurrente d'un mouvement ancien attend la frontière au lieu de s'interbloquer avec lui
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * 🔥 Clôture nocturne, après les vérifications de client_stats et des rollups
+     */
+    @Scheduled(cron = "${mouvement-periodes.cloture-cron:0 15 3 * * *}")
+    public void scheduledCloture() {
+        ajouterPartitions();
+        cloturer();
+    }
+
+    /**
+     * Fige tous les mois clos depuis la frontière actuelle (rattrape l'historique au premier passage)
+     * @return nombre de mois figés
+     */
+    public int cloturer() {
+        int figes = 0;
+        LocalDate mois;
+        while ((mois = transaction.execute(status -> figerProchainMois())) != null) {
+            figes++;
+            logger.info("🧊 Mois {} figé dans client_periode_stats", YearMonth.from(mois));
+        }
+
+        if (figes > 0) {
+            mouvementPeriodeService.rafraichir();
+        }
+        return figes;
+    }
+
+    /**
+     * Partitions des mois à venir, jusqu'à mouvement-periodes.mois-avance mois après le mois courant
+     * (pmax est vide en temps normal : le découpage ne recopie aucune ligne)
+     */
+    public void ajouterPartitions() {
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS, String.class);
+        if (!partitions.contains(PARTITION_MAX)) {
+            logger.warn("⚠️ Table mouvements non partitionnée : exécuter migration_mouvement_partitions.sql");
+            return;
+        }
+
+        YearMonth derniere = partitions.stream()
+            .filter(nom -> nom.matches("p\\d{6}"))
+            .map(nom -> YearMonth.parse(nom, NOM_PARTITION))
+            .max(Comparator.naturalOrder())
+            .orElse(YearMonth.now().minusMonths(1));
+        YearMonth cible = YearMonth.now().plusMonths(moisAvance);
+
+        while (derniere.isBefore(cible)) {
+            derniere = derniere.plusMonths(1);
+            jdbcTemplate.execute("ALTER TABLE mouvements REORGANIZE PARTITION " + PARTITION_MAX + " INTO (" +
+                "PARTITION " + derniere.format(NOM_PARTITION) +
+                " VALUES LESS THAN ('" + derniere.plusMonths(1).atDay(1) + "'), " +
+                "PARTITION " + PARTITION_MAX + " VALUES LESS THAN (MAXVALUE))");
+            logger.info("🗂️ Partition {} ajoutée à mouvements", derniere.format(NOM_PARTITION));
+        }
+    }
+
+    /**
+     * Fige le plus ancien mois ouvert s'il est terminé depuis au moins delaiJours (date de la base)
+     * @return premier jour du mois figé, null si aucun mois n'est à clore
+     */
+    private LocalDate figerProchainMois() {
+        LocalDate[] frontiere = jdbcTemplate.queryForObject(VERROUILLER_FRONTIERE,
+            (rs, rowNum) -> new LocalDate[] { rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate() });
+        LocalDate mois = frontiere[0];
+        LocalDate suivant = mois.plusMonths(1);
+
+        // Délai de grâce : les mouvements saisis hors ligne en fin de mois arrivent les jours suivants
+        // (jamais le mois courant : les triggers ne verrouillent pas ses écritures)
+        if (suivant.plusDays(delaiJours).isAfter(frontiere[1])) {
+            return null;
+        }
+
+        jdbcTemplate.update(FIGER_MOIS, Date.valueOf(mois),
+            Timestamp.valueOf(mois.atStartOfDay()), Timestamp.valueOf(suivant.atStartOfDay()));
+        jdbcTemplate.update(AVANCER_FRONTIERE, Date.valueOf(suivant));
+        return mois;
+    }
+}
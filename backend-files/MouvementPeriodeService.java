@@ -0,0 +1,99 @@
+// src/main/java/org/example/collectfocep/services/MouvementPeriodeService.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.repositories.MouvementRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totaux d'un client sur la table mouvements partitionnée par mois
+ * Mois clos : lignes figées de client_periode_stats (MouvementPeriodeJob) ; mois ouverts : leurs seules
+ * partitions. Le coût suit l'activité récente du client, pas l'ancienneté de son historique.
+ * Montants arrondis par ligne selon Montant.TO_CENTIMES_SQL, comme Montant.of et client_stats (et non plus
+ * par l'ancien ROUND JPQL sur DOUBLE : un centime d'écart possible par montant à demi-valeur).
+ *
+ * La frontière des mois clos est gardée en mémoire : une valeur en retard sur une clôture reste exacte
+ * (les requêtes n'additionnent que les mois figés antérieurs à la frontière reçue), elle fait seulement
+ * lire une partition de plus.
+ *
+ * Mouvements antérieurs à la migration sans date d'opération : date conventionnelle 1970-01-01 00:00:00
+ * (partition p_sans_date), figée par la migration comme un mois clos.
+ */
+@Service
+public class MouvementPeriodeService {
+
+    private static final String SELECT_FRONTIERE =
+        "SELECT debut_periode_ouverte FROM mouvement_periode_ouverte WHERE id = 1";
+
+    @Autowired
+    private MouvementRepository mouvementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${mouvement-periodes.refresh-ms:300000}")
+    private long refreshMs;
+
+    private volatile LocalDate debutPeriodeOuverte;
+    private volatile long chargeeLeNanos;
+
+    /**
+     * 🔥 [totalEpargneCentimes, totalRetraitsCentimes] (Long)
+     */
+    public Object[] calculateTotalsForClient(Long clientId) {
+        Object[] row = ligne(mouvementRepository.calculateTotalsForClient(
+            clientId, getDebutPeriodeOuverte().atStartOfDay()));
+        return new Object[] { toLong(row[0]), toLong(row[1]) };
+    }
+
+    /**
+     * 🔥 [nombreTransactions, totalEpargneCentimes, totalRetraitsCentimes (Long), derniereTransaction (LocalDateTime, null si aucune)]
+     */
+    public Object[] getCompleteStatsForClient(Long clientId) {
+        Object[] row = ligne(mouvementRepository.getCompleteStatsForClient(
+            clientId, getDebutPeriodeOuverte().atStartOfDay()));
+        return new Object[] { toLong(row[0]), toLong(row[1]), toLong(row[2]), toLocalDateTime(row[3]) };
+    }
+
+    /**
+     * Premier jour du plus ancien mois ouvert (relu au plus toutes les mouvement-periodes.refresh-ms)
+     */
+    public LocalDate getDebutPeriodeOuverte() {
+        LocalDate debut = debutPeriodeOuverte;
+        if (debut == null || System.nanoTime() - chargeeLeNanos > TimeUnit.MILLISECONDS.toNanos(refreshMs)) {
+            debut = rafraichir();
+        }
+        return debut;
+    }
+
+    /**
+     * Relit la frontière (appelé par MouvementPeriodeJob après une clôture)
+     */
+    public LocalDate rafraichir() {
+        LocalDate debut = jdbcTemplate.queryForObject(SELECT_FRONTIERE, Date.class).toLocalDate();
+        debutPeriodeOuverte = debut;
+        chargeeLeNanos = System.nanoTime();
+        return debut;
+    }
+
+    // Ligne unique d'une requête native : enveloppée dans un tableau selon la version de Spring Data
+    private static Object[] ligne(Object[] row) {
+        return row.length == 1 && row[0] instanceof Object[] ? (Object[]) row[0] : row;
+    }
+
+    private static Long toLong(Object valeur) {
+        return valeur != null ? ((Number) valeur).longValue() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object valeur) {
+        return valeur instanceof Timestamp ? ((Timestamp) valeur).toLocalDateTime() : (LocalDateTime) valeur;
+    }
+}
@@ -3,30 +3,63 @@
 
 // 🔥 NOUVELLES MÉTHODES À AJOUTER dans l'interface MouvementRepository
 
+import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.util.Montant;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+
+/**
+ * 🔥 PROJECTION MouvementDTO : colonnes utiles seulement, nom du collecteur par jointure
+ * Aucune entité hydratée sur les chemins de lecture (pas de N+1 sur m.collecteur)
+ */
+String MOUVEMENT_DTO_SELECT = "SELECT new org.example.collectfocep.dto.MouvementDTO(" +
+        "m.id, m.client.id, m.montant, m.sens, m.sensCode, m.libelle, m.dateOperation, m.typeMouvement, " +
+        "col.id, col.prenom, col.nom) " +
+        "FROM Mouvement m LEFT JOIN m.collecteur col ";
+
 /**
  * Récupère les mouvements récents d'un client
  */
-@Query("SELECT m FROM Mouvement m WHERE m.client.id = :clientId ORDER BY m.dateOperation DESC")
-List<Mouvement> findByClientIdOrderByDateOperationDesc(@Param("clientId") Long clientId, Pageable pageable);
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.client.id = :clientId ORDER BY m.dateOperation DESC, m.id DESC")
+List<MouvementDTO> findByClientIdOrderByDateOperationDesc(@Param("clientId") Long clientId, Pageable pageable);
 
 /**
- * Calcule le total des montants par sens (EPARGNE ou RETRAIT)
+ * Calcule le total des montants par sens (code de SensMouvement : 'E' ou 'R'), en centimes exacts
+ * Requête native : même arrondi que Montant.toCentimes (Montant.TO_CENTIMES_SQL), pas de ROUND sur DOUBLE
+ * 🔥 Lecture de l'index (client_id, sens_code, montant) seul
  */
-@Query("SELECT COALESCE(SUM(m.montant), 0) FROM Mouvement m WHERE m.client.id = :clientId AND UPPER(m.sens) = UPPER(:sens)")
-Double sumMontantByClientIdAndSens(@Param("clientId") Long clientId, @Param("sens") String sens);
+@Query(value = "SELECT CAST(COALESCE(SUM(" + Montant.TO_CENTIMES_SQL + "), 0) AS SIGNED) " +
+               "FROM mouvements m WHERE m.client_id = :clientId AND m.sens_code = :sensCode",
+       nativeQuery = true)
+Long sumCentimesByClientIdAndSensCode(@Param("clientId") Long clientId, @Param("sensCode") String sensCode);
+
+default Long sumCentimesByClientIdAndSens(Long clientId, SensMouvement sens) {
+    return sumCentimesByClientIdAndSensCode(clientId, String.valueOf(sens.getCode()));
+}
 
 /**
- * 🔥 REQUÊTE OPTIMISÉE : Calcule tous les totaux en une seule requête
+ * 🔥 REQUÊTE OPTIMISÉE : Calcule tous les totaux en une seule requête (centimes)
+ * Mois clos : totaux figés de client_periode_stats ; mois ouverts : seules leurs partitions sont lues
+ * (debutPeriodeOuverte est une constante : élagage des partitions par MySQL, voir MouvementPeriodeService)
  */
-@Query("SELECT " +
-       "COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'EPARGNE' THEN m.montant ELSE 0 END), 0) as totalEpargne, " +
-       "COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'RETRAIT' THEN m.montant ELSE 0 END), 0) as totalRetraits " +
-       "FROM Mouvement m WHERE m.client.id = :clientId")
-Object[] calculateTotalsForClient(@Param("clientId") Long clientId);
+@Query(value = "SELECT " +
+               "CAST(COALESCE(SUM(t.epargne), 0) AS SIGNED) AS totalEpargneCentimes, " +
+               "CAST(COALESCE(SUM(t.retraits), 0) AS SIGNED) AS totalRetraitsCentimes " +
+               "FROM (" +
+               "SELECT s.total_epargne_centimes AS epargne, s.total_retraits_centimes AS retraits " +
+               "FROM client_periode_stats s WHERE s.client_id = :clientId AND s.periode < :debutPeriodeOuverte " +
+               "UNION ALL " +
+               "SELECT SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+               "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END) " +
+               "FROM mouvements m WHERE m.client_id = :clientId AND m.date_operation >= :debutPeriodeOuverte" +
+               ") t",
+       nativeQuery = true)
+Object[] calculateTotalsForClient(@Param("clientId") Long clientId,
+                                  @Param("debutPeriodeOuverte") LocalDateTime debutPeriodeOuverte);
 
 /**
  * Compte le nombre total de transactions d'un client
@@ -42,11 +75,87 @@ LocalDateTime getLastTransactionDate(@Param("clientId") Long clientId);
 
 /**
  * 🔥 REQUÊTE AVANCÉE : Stats complètes client en une seule requête
+ * Même découpage que calculateTotalsForClient : lignes figées des mois clos + partitions ouvertes
+ */
+@Query(value = "SELECT " +
+               "CAST(COALESCE(SUM(t.nombre), 0) AS SIGNED) AS nombreTransactions, " +
+               "CAST(COALESCE(SUM(t.epargne), 0) AS SIGNED) AS totalEpargneCentimes, " +
+               "CAST(COALESCE(SUM(t.retraits), 0) AS SIGNED) AS totalRetraitsCentimes, " +
+               "MAX(t.derniere) AS derniereTransaction " +
+               "FROM (" +
+               "SELECT s.nombre_transactions AS nombre, s.total_epargne_centimes AS epargne, " +
+               "s.total_retraits_centimes AS retraits, s.derniere_transaction AS derniere " +
+               "FROM client_periode_stats s WHERE s.client_id = :clientId AND s.periode < :debutPeriodeOuverte " +
+               "UNION ALL " +
+               "SELECT COUNT(*), " +
+               "SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+               "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+               "MAX(m.date_operation) " +
+               "FROM mouvements m WHERE m.client_id = :clientId AND m.date_operation >= :debutPeriodeOuverte" +
+               ") t",
+       nativeQuery = true)
+Object[] getCompleteStatsForClient(@Param("clientId") Long clientId,
+                                   @Param("debutPeriodeOuverte") LocalDateTime debutPeriodeOuverte);
+
+/**
+ * 🔥 REQUÊTE FENÊTRÉE : Ids des N mouvements les plus récents de chaque client en une seule requête
+ * (ROW_NUMBER par client_id, MySQL 8+ - adapter le nom de table si différent)
+ * Ne lit que l'index (client_id, date_operation DESC, id DESC)
+ */
+@Query(value = "SELECT r.id FROM (" +
+               "SELECT m.id, ROW_NUMBER() OVER (PARTITION BY m.client_id ORDER BY m.date_operation DESC, m.id DESC) AS rn " +
+               "FROM mouvements m WHERE m.client_id IN (:clientIds)" +
+               ") r WHERE r.rn <= :limit",
+       nativeQuery = true)
+List<Long> findRecentIdsByClientIds(@Param("clientIds") Collection<Long> clientIds, @Param("limit") int limit);
+
+/**
+ * Projection des mouvements sélectionnés par findRecentIdsByClientIds, triés par client puis du plus récent au plus ancien
+ */
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.id IN :ids ORDER BY m.client.id, m.dateOperation DESC, m.id DESC")
+List<MouvementDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+
+/**
+ * 🔥 PAGINATION PAR CURSEUR : Première page de l'historique d'un client
+ * Ordre total (dateOperation, id) pour que le curseur soit stable
+ * MySQL classe les NULL en dernier sur un tri DESC : les mouvements sans date terminent l'historique
+ */
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.client.id = :clientId ORDER BY m.dateOperation DESC, m.id DESC")
+List<MouvementDTO> findHistoryFirstPage(@Param("clientId") Long clientId, Pageable pageable);
+
+/**
+ * 🔥 PAGINATION PAR CURSEUR : Page suivant un curseur daté (dateOperation, id)
+ * Le prédicat "dateOperation <= :date" borne le parcours de l'index
+ * (client_id, date_operation DESC, id DESC) : une page profonde coûte autant que la première
+ * "OR dateOperation IS NULL" : seconde plage du même index, les mouvements sans date suivent les datés
+ */
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.client.id = :clientId " +
+       "AND ((m.dateOperation <= :dateOperation " +
+       "AND (m.dateOperation < :dateOperation OR m.id < :id)) " +
+       "OR m.dateOperation IS NULL) " +
+       "ORDER BY m.dateOperation DESC, m.id DESC")
+List<MouvementDTO> findHistoryPageAfter(@Param("clientId") Long clientId,
+                                        @Param("dateOperation") LocalDateTime dateOperation,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+/**
+ * 🔥 PAGINATION PAR CURSEUR : Page suivant un curseur sans date (fin de l'historique)
+ * Seuls les mouvements sans date restent, triés par id
+ */
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.client.id = :clientId " +
+       "AND m.dateOperation IS NULL AND m.id < :id " +
+       "ORDER BY m.id DESC")
+List<MouvementDTO> findHistoryPageAfterUndated(@Param("clientId") Long clientId,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+/**
+ * 🔥 SYNCHRONISATION : Mouvements créés ou modifiés depuis un instant, pour les clients d'un collecteur
+ * Parcours borné par l'index (updated_at)
  */
-@Query("SELECT " +
-       "COUNT(m) as nombreTransactions, " +
-       "COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'EPARGNE' THEN m.montant ELSE 0 END), 0) as totalEpargne, " +
-       "COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'RETRAIT' THEN m.montant ELSE 0 END), 0) as totalRetraits, " +
-       "MAX(m.dateOperation) as derniereTransaction " +
-       "FROM Mouvement m WHERE m.client.id = :clientId")
-Object[] getCompleteStatsForClient(@Param("clientId") Long clientId);
\ No newline at end of file
+@Query(MOUVEMENT_DTO_SELECT + "WHERE m.client.collecteur.id = :collecteurId AND m.updatedAt > :since " +
+       "ORDER BY m.updatedAt ASC, m.id ASC")
+List<MouvementDTO> findChangedSinceForCollecteur(@Param("collecteurId") Long collecteurId,
+                                                 @Param("since") LocalDateTime since,
+                                                 Pageable pageable);
\ No newline at end of file
@@ -0,0 +1,67 @@
+// AJOUTS À FAIRE dans le service qui enregistre les mouvements (épargne / retrait)
+// src/main/java/org/example/collectfocep/services/impl/MouvementServiceImpl.java
+
+// 🔥 INJECTION DU SERVICE DE PROJECTION
+@Autowired
+private ClientStatsProjectionService clientStatsProjectionService;
+
+// 🔥 À APPELER juste après chaque mouvementRepository.save(...) d'un mouvement client,
+// dans la même méthode @Transactional (enregistrerEpargne, effectuerRetrait, ...)
+Mouvement saved = mouvementRepository.save(mouvement);
+clientStatsProjectionService.onMouvementPersisted(saved);
+
+// 🔥 CORRECTION / SUPPRESSION d'un mouvement client, dans la même méthode @Transactional
+// (modifierMouvement, annulerMouvement, supprimerMouvement, ...) : écart appliqué à client_stats et
+// rollup_journalier, MouvementModifieEvent publié (caches invalidés au commit)
+// Correction : état capturé AVANT de modifier l'entité
+ClientStatsProjectionService.EtatMouvement avant = ClientStatsProjectionService.EtatMouvement.of(mouvement);
+// ... modifications de l'entité (montant, sens, date, client) ...
+Mouvement saved = mouvementRepository.saveAndFlush(mouvement);
+clientStatsProjectionService.onMouvementUpdated(avant, saved);
+
+// Suppression
+mouvementRepository.delete(mouvement);
+mouvementRepository.flush();
+clientStatsProjectionService.onMouvementDeleted(mouvement);
+
+/**
+ * 🔥 ÉCRITURE D'UN MOUVEMENT CLIENT après les contrôles métier (saisie unitaire)
+ * enregistrerEpargne / effectuerRetrait l'appellent une fois le client, le collecteur et le solde contrôlés ;
+ * leurs écritures propres (comptes comptables du collecteur) restent à leur suite.
+ * Même journal du jour que l'ingestion par lot (getJournalIdDuJour)
+ */
+@Transactional(propagation = Propagation.MANDATORY)
+public Mouvement enregistrerMouvementClient(CompteClient compte, Long collecteurId, SensMouvement sens,
+                                            double montant, String libelle, LocalDateTime dateOperation,
+                                            String idempotencyKey) {
+    boolean epargne = sens == SensMouvement.EPARGNE;
+    LocalDateTime date = dateOperation != null ? dateOperation : LocalDateTime.now();
+
+    Mouvement mouvement = new Mouvement();
+    mouvement.setClient(compte.getClient());
+    mouvement.setCollecteur(collecteurRepository.getReferenceById(collecteurId));
+    mouvement.setJournal(journalService.getOrCreateJournalDuJour(collecteurId, date.toLocalDate()));
+    mouvement.setMontant(montant);
+    mouvement.setSens(epargne ? "epargne" : "retrait");
+    mouvement.setLibelle(libelle);
+    mouvement.setTypeMouvement(epargne ? "EPARGNE" : "RETRAIT");
+    mouvement.setDateOperation(date);
+    mouvement.setIdempotencyKey(idempotencyKey);
+
+    long solde = Montant.of(compte.getSolde()).getCentimes();
+    long centimes = Montant.of(montant).getCentimes();
+    compte.setSolde(Montant.ofCentimes(epargne ? solde + centimes : solde - centimes).toDouble());
+
+    Mouvement saved = mouvementRepository.save(mouvement);
+    clientStatsProjectionService.onMouvementPersisted(saved);
+    return saved;
+}
+
+/**
+ * 🔥 JOURNAL DU JOUR d'un collecteur (créé au premier mouvement du jour)
+ * Partagé avec MouvementBulkService, qui insère ses lignes par lots JDBC avec ce journal_id
+ */
+@Transactional(propagation = Propagation.MANDATORY)
+public Long getJournalIdDuJour(Long collecteurId, LocalDate jour) {
+    return journalService.getOrCreateJournalDuJour(collecteurId, jour).getId();
+}
@@ -0,0 +1,25 @@
+// AJOUTS À FAIRE dans l'entité Mouvement.java
+// src/main/java/org/example/collectfocep/entities/Mouvement.java
+
+// 🔥 VERSION DE SYNCHRONISATION : maintenue par MySQL (ON UPDATE CURRENT_TIMESTAMP(6)),
+// jamais écrite par Hibernate (voir migration_delta_sync.sql)
+@Column(name = "updated_at", insertable = false, updatable = false)
+private LocalDateTime updatedAt;
+
+public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+// 🔥 SENS NORMALISÉ : colonne générée par MySQL depuis "sens" (voir migration_mouvement_sens_code.sql)
+// Lecture seule : continuer à renseigner "sens" à l'enregistrement
+@Convert(converter = SensMouvementConverter.class)
+@Column(name = "sens_code", insertable = false, updatable = false)
+private SensMouvement sensCode;
+
+public SensMouvement getSensCode() { return sensCode; }
+
+// 🔥 CLÉ D'IDEMPOTENCE : renseignée par l'ingestion par lot (voir migration_mouvement_idempotency.sql)
+@Column(name = "idempotency_key", length = 64, updatable = false)
+private String idempotencyKey;
+
+public String getIdempotencyKey() { return idempotencyKey; }
+
+public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
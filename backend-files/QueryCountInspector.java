@@ -0,0 +1,21 @@
+// src/main/java/org/example/collectfocep/metrics/QueryCountInspector.java
+package org.example.collectfocep.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate pour la requête profilée en cours
+ * Instancié par Hibernate (propriété hibernate.session_factory.statement_inspector),
+ * sans coût hors requête profilée. Ne modifie jamais le SQL.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.incrementRequetes();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,257 @@
+// src/main/java/org/example/collectfocep/services/RecentTransactionsStore.java
+package org.example.collectfocep.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.events.MouvementEnregistreEvent;
+import org.example.collectfocep.events.MouvementModifieEvent;
+import org.example.collectfocep.repositories.MouvementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Derniers mouvements (RECENT_CAPACITY) des clients récemment actifs, en mémoire
+ * - Chargés à la première lecture d'un client, puis tenus à jour au commit de chaque mouvement
+ * - Évincés après une période d'inactivité, au-delà du budget mémoire (nombre total de
+ *   mouvements retenus) ou sous pression mémoire (valeurs « soft »)
+ * - Compteurs client.recent_transactions.reads{source=memory|database}
+ *
+ * 🔥 Chaque entrée est un tableau immuable trié (date d'opération puis id, du plus récent au plus
+ * ancien), remplacé d'un bloc : lecture sans verrou, jamais de liste partiellement modifiée
+ */
+@Component
+public class RecentTransactionsStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentTransactionsStore.class);
+
+    // Taille de la liste « transactions récentes » des résumés clients
+    public static final int RECENT_CAPACITY = 20;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    // Même ordre que findByClientIdOrderByDateOperationDesc : dateOperation DESC, id DESC
+    private static final Comparator<MouvementDTO> PLUS_RECENT_D_ABORD = Comparator
+        .comparing(MouvementDTO::getDateOperation, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(MouvementDTO::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+        .reversed();
+
+    private final Cache<Long, MouvementDTO[]> rings;
+
+    // Génération par tranche d'ids : une liste lue avant un commit n'est jamais mise en mémoire après lui
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Counter memoryReads;
+    private final Counter databaseReads;
+
+    @Autowired
+    private MouvementRepository mouvementRepository;
+
+    public RecentTransactionsStore(@Value("${recent-transactions.max-mouvements:200000}") long maxMouvements,
+                                   @Value("${recent-transactions.idle-minutes:30}") long idleMinutes,
+                                   @Value("${recent-transactions.ttl-minutes:120}") long ttlMinutes,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.rings = Caffeine.newBuilder()
+            // Budget mémoire : nombre total de MouvementDTO retenus (une entrée vide compte pour 1)
+            .maximumWeight(maxMouvements)
+            .weigher((Long clientId, MouvementDTO[] ring) -> Math.max(1, ring.length))
+            // Client inactif : libéré
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            // Filet de sécurité pour les écritures hors application (scripts SQL, suppressions)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            // Pression mémoire : le GC peut récupérer les entrées
+            .softValues()
+            .recordStats()
+            .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        CaffeineCacheMetrics.monitor(registry, rings, "recentTransactions");
+        this.memoryReads = Counter.builder("client.recent_transactions.reads")
+            .description("Lectures des transactions récentes d'un client")
+            .tag("source", "memory")
+            .register(registry);
+        this.databaseReads = Counter.builder("client.recent_transactions.reads")
+            .description("Lectures des transactions récentes d'un client")
+            .tag("source", "database")
+            .register(registry);
+
+        logger.info("🧾 Transactions récentes en mémoire : {} mouvements max, inactivité {} min", maxMouvements, idleMinutes);
+    }
+
+    /**
+     * Les `limit` derniers mouvements d'un client (limit ≤ RECENT_CAPACITY : depuis la mémoire)
+     */
+    public List<MouvementDTO> get(Long clientId, int limit) {
+        if (limit > RECENT_CAPACITY) {
+            databaseReads.increment();
+            return mouvementRepository.findByClientIdOrderByDateOperationDesc(clientId, PageRequest.of(0, limit));
+        }
+
+        MouvementDTO[] ring = rings.getIfPresent(clientId);
+        if (ring != null) {
+            memoryReads.increment();
+        } else {
+            databaseReads.increment();
+            long generation = generation(clientId);
+            List<MouvementDTO> loaded = mouvementRepository.findByClientIdOrderByDateOperationDesc(
+                clientId, PageRequest.of(0, RECENT_CAPACITY));
+            ring = loaded.toArray(new MouvementDTO[0]);
+            put(clientId, ring, generation);
+        }
+        return view(ring, limit);
+    }
+
+    /**
+     * 🔥 Derniers mouvements de plusieurs clients : mémoire d'abord, `loader` pour les absents
+     * (une requête groupée par appel) ; les listes chargées sont mises en mémoire
+     * @param loader derniers RECENT_CAPACITY mouvements par client, pour les ids fournis
+     */
+    public Map<Long, List<MouvementDTO>> getAll(Collection<Long> clientIds,
+                                                Function<Collection<Long>, Map<Long, List<MouvementDTO>>> loader) {
+        Map<Long, List<MouvementDTO>> result = new HashMap<>();
+        Map<Long, Long> missingGenerations = new HashMap<>();
+        for (Long clientId : clientIds) {
+            MouvementDTO[] ring = rings.getIfPresent(clientId);
+            if (ring != null) {
+                result.put(clientId, view(ring, RECENT_CAPACITY));
+            } else {
+                missingGenerations.put(clientId, generation(clientId));
+            }
+        }
+        memoryReads.increment(result.size());
+
+        if (!missingGenerations.isEmpty()) {
+            databaseReads.increment(missingGenerations.size());
+            Map<Long, List<MouvementDTO>> loaded = loader.apply(missingGenerations.keySet());
+            missingGenerations.forEach((clientId, generation) -> {
+                List<MouvementDTO> mouvements = loaded.getOrDefault(clientId, Collections.emptyList());
+                put(clientId, mouvements.toArray(new MouvementDTO[0]), generation);
+                result.put(clientId, mouvements);
+            });
+        }
+        return result;
+    }
+
+    public CacheStats stats() {
+        return rings.stats();
+    }
+
+    /**
+     * 🔥 Au commit d'un mouvement : ajouté à la liste du client si elle est en mémoire
+     * Un lot invalide la liste (rechargée à la prochaine lecture)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMouvementCommitted(MouvementEnregistreEvent event) {
+        Long clientId = event.getClientId();
+        if (clientId == null) {
+            return;
+        }
+        generations.incrementAndGet(stripe(clientId));
+
+        if (rings.getIfPresent(clientId) == null) {
+            return;
+        }
+        if (event.getNombreMouvements() != 1 || event.getMouvementId() == null) {
+            rings.invalidate(clientId);
+            return;
+        }
+
+        try {
+            List<MouvementDTO> mouvements = mouvementRepository.findDTOsByIds(Collections.singletonList(event.getMouvementId()));
+            if (mouvements.isEmpty()) {
+                rings.invalidate(clientId);
+                return;
+            }
+            MouvementDTO mouvement = mouvements.get(0);
+            rings.asMap().computeIfPresent(clientId, (id, ring) -> insert(ring, mouvement));
+        } catch (RuntimeException e) {
+            // La liste ne doit jamais rester périmée : rechargement à la prochaine lecture
+            rings.invalidate(clientId);
+            logger.warn("⚠️ Transactions récentes du client {} invalidées: {}", clientId, e.getMessage());
+        }
+    }
+
+    /**
+     * 🔥 Au commit d'une correction ou d'une suppression : liste du client invalidée
+     * (position, montant ou présence du mouvement changés), rechargée à la prochaine lecture
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMouvementModifieCommitted(MouvementModifieEvent event) {
+        Long clientId = event.getClientId();
+        if (clientId == null) {
+            return;
+        }
+        // Un chargement commencé avant le commit ne peut plus publier l'ancienne liste
+        generations.incrementAndGet(stripe(clientId));
+        rings.invalidate(clientId);
+    }
+
+    private void put(Long clientId, MouvementDTO[] ring, long generation) {
+        rings.asMap().compute(clientId, (id, current) ->
+            generations.get(stripe(id)) == generation ? ring : current);
+    }
+
+    private long generation(Long clientId) {
+        return generations.get(stripe(clientId));
+    }
+
+    /**
+     * Nouveau tableau avec le mouvement à sa place ; le plus ancien sort si la capacité est atteinte
+     */
+    private static MouvementDTO[] insert(MouvementDTO[] ring, MouvementDTO mouvement) {
+        for (MouvementDTO existing : ring) {
+            if (existing.getId() != null && existing.getId().equals(mouvement.getId())) {
+                return ring;
+            }
+        }
+
+        int position = 0;
+        while (position < ring.length && PLUS_RECENT_D_ABORD.compare(ring[position], mouvement) < 0) {
+            position++;
+        }
+        if (position >= RECENT_CAPACITY) {
+            // Plus ancien que tous les mouvements retenus (saisie hors ligne tardive)
+            return ring;
+        }
+
+        int size = Math.min(ring.length + 1, RECENT_CAPACITY);
+        MouvementDTO[] updated = new MouvementDTO[size];
+        System.arraycopy(ring, 0, updated, 0, position);
+        updated[position] = mouvement;
+        System.arraycopy(ring, position, updated, position + 1, size - position - 1);
+        return updated;
+    }
+
+    private static List<MouvementDTO> view(MouvementDTO[] ring, int limit) {
+        MouvementDTO[] visible = ring.length > limit ? Arrays.copyOf(ring, limit) : ring;
+        return Collections.unmodifiableList(Arrays.asList(visible));
+    }
+
+    private static int stripe(Long clientId) {
+        return (int) Math.floorMod(clientId, (long) GENERATION_STRIPES);
+    }
+}
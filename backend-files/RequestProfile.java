@@ -0,0 +1,119 @@
+// src/main/java/org/example/collectfocep/metrics/RequestProfile.java
+package org.example.collectfocep.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Décomposition du temps d'une requête client : phases, requêtes SQL, clients enrichis
+ * Attachée au thread de la requête par ClientRequestProfilingFilter, et propagée aux
+ * threads de ClientEnrichmentExecutor pour la durée de chaque tâche.
+ *
+ * 🔥 Thread-safe : les tranches d'enrichissement alimentent le même profil en parallèle
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final String methode;
+    private final String uri;
+    private final long debutNanos = System.nanoTime();
+    private final LongAdder requetes = new LongAdder();
+    private final LongAdder clients = new LongAdder();
+    private final Map<String, LongAdder> phasesNanos = new ConcurrentHashMap<>();
+    private volatile long serialisationDebutNanos;
+
+    RequestProfile(String methode, String uri) {
+        this.methode = methode;
+        this.uri = uri;
+    }
+
+    /**
+     * Profil de la requête en cours sur ce thread, ou null hors requête profilée
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    static void attach(RequestProfile profile) {
+        CURRENT.set(profile);
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Exécute une tâche d'un autre thread pour le compte d'un profil (null : sans profil)
+     */
+    public static <T> T runWith(RequestProfile profile, Supplier<T> task) {
+        if (profile == null) {
+            return task.get();
+        }
+        RequestProfile previous = CURRENT.get();
+        CURRENT.set(profile);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public void addPhase(String phase, long nanos) {
+        phasesNanos.computeIfAbsent(phase, p -> new LongAdder()).add(nanos);
+    }
+
+    public void incrementRequetes() {
+        requetes.increment();
+    }
+
+    public void addClients(int nombre) {
+        clients.add(nombre);
+    }
+
+    /**
+     * Début de l'écriture du corps de réponse (fin du traitement du contrôleur)
+     */
+    public void marquerSerialisation() {
+        serialisationDebutNanos = System.nanoTime();
+    }
+
+    public String getMethode() { return methode; }
+
+    public String getUri() { return uri; }
+
+    public long getRequetes() { return requetes.sum(); }
+
+    public long getClients() { return clients.sum(); }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - debutNanos;
+    }
+
+    /**
+     * Durée de sérialisation + écriture du corps, ou -1 si la réponse n'a pas de corps JSON
+     */
+    public long serialisationNanos(long finNanos) {
+        long debut = serialisationDebutNanos;
+        return debut > 0 ? finNanos - debut : -1;
+    }
+
+    long getDebutNanos() { return debutNanos; }
+
+    /**
+     * Phases en millisecondes (temps cumulé : les tranches parallèles s'additionnent)
+     */
+    public Map<String, Double> phasesMillis() {
+        Map<String, Double> phases = new TreeMap<>();
+        phasesNanos.forEach((phase, nanos) -> phases.put(phase, nanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        return phases;
+    }
+}
@@ -0,0 +1,128 @@
+// src/main/java/org/example/collectfocep/web/controllers/RollupController.java
+package org.example.collectfocep.web.controllers;
+
+import org.example.collectfocep.dto.RollupStatsDTO;
+import org.example.collectfocep.services.DashboardRollupService;
+// ApiResponse et SecurityService : mêmes imports que dans ClientController
+import org.example.collectfocep.security.service.SecurityService;
+import org.example.collectfocep.util.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Totaux collecteur / agence / global pour les tableaux de bord
+ * Période : dateDebut + dateFin (ISO, bornes incluses) ou period=today|week|month|year
+ * Les endpoints /admin/dashboard, /admin/stats/advanced et /commissions/stats
+ * délèguent au même DashboardRollupService
+ */
+@RestController
+@RequestMapping("/api/rollups")
+public class RollupController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupController.class);
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @GetMapping("/collecteur/{collecteurId}")
+    public ResponseEntity<?> getCollecteurStats(@PathVariable Long collecteurId,
+                                                @RequestParam(required = false) String period,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+                                                Authentication authentication) {
+        try {
+            if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+                logger.warn("🚫 Accès refusé aux totaux du collecteur {} pour {}", collecteurId, authentication.getName());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Accès non autorisé", null));
+            }
+
+            DashboardRollupService.Periode periode = resolvePeriode(period, dateDebut, dateFin);
+            RollupStatsDTO stats = dashboardRollupService.getCollecteurStats(collecteurId, periode.getDebut(), periode.getFin());
+
+            return ResponseEntity.ok(ApiResponse.success("Totaux collecteur récupérés", stats));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), null));
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors du calcul des totaux du collecteur {}: {}", collecteurId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Erreur lors du calcul des totaux", null));
+        }
+    }
+
+    @GetMapping("/agence/{agenceId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getAgenceStats(@PathVariable Long agenceId,
+                                            @RequestParam(required = false) String period,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin,
+                                            Authentication authentication) {
+        try {
+            // Un ADMIN ne lit que les totaux de sa propre agence
+            if (!securityService.canAccessAgenceData(agenceId, authentication)) {
+                logger.warn("🚫 Accès refusé aux totaux de l'agence {} pour {}", agenceId, authentication.getName());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Accès non autorisé", null));
+            }
+
+            DashboardRollupService.Periode periode = resolvePeriode(period, dateDebut, dateFin);
+            RollupStatsDTO stats = dashboardRollupService.getAgenceStats(agenceId, periode.getDebut(), periode.getFin());
+
+            return ResponseEntity.ok(ApiResponse.success("Totaux agence récupérés", stats));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), null));
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors du calcul des totaux de l'agence {}: {}", agenceId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Erreur lors du calcul des totaux", null));
+        }
+    }
+
+    @GetMapping("/global")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getGlobalStats(@RequestParam(required = false) String period,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateDebut,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFin) {
+        try {
+            DashboardRollupService.Periode periode = resolvePeriode(period, dateDebut, dateFin);
+            RollupStatsDTO stats = dashboardRollupService.getGlobalStats(periode.getDebut(), periode.getFin());
+
+            return ResponseEntity.ok(ApiResponse.success("Totaux globaux récupérés", stats));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), null));
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors du calcul des totaux globaux: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Erreur lors du calcul des totaux", null));
+        }
+    }
+
+    private DashboardRollupService.Periode resolvePeriode(String period, LocalDate dateDebut, LocalDate dateFin) {
+        if (dateDebut != null || dateFin != null) {
+            return new DashboardRollupService.Periode(dateDebut, dateFin);
+        }
+        return DashboardRollupService.Periode.of(period, LocalDate.now());
+    }
+}
@@ -0,0 +1,106 @@
+// src/main/java/org/example/collectfocep/entities/RollupJournalier.java
+package org.example.collectfocep.entities;
+
+import org.example.collectfocep.util.Montant;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Agrégat journalier des mouvements d'un collecteur (une ligne par collecteur et par jour)
+ * Les totaux d'agence sont la somme des lignes de ses collecteurs ; une période
+ * est la somme de ses jours (voir DashboardRollupService)
+ *
+ * 🔥 Lecture seule côté JPA : écritures par les requêtes atomiques de RollupJournalierRepository
+ */
+@Entity
+@Immutable
+@Table(name = "rollup_journalier")
+@IdClass(RollupJournalier.Cle.class)
+public class RollupJournalier {
+
+    @Id
+    @Column(name = "collecteur_id")
+    private Long collecteurId;
+
+    @Id
+    @Column(name = "jour")
+    private LocalDate jour;
+
+    @Column(name = "agence_id")
+    private Long agenceId;
+
+    @Column(name = "total_epargne_centimes", nullable = false)
+    private long totalEpargneCentimes;
+
+    @Column(name = "total_retraits_centimes", nullable = false)
+    private long totalRetraitsCentimes;
+
+    @Column(name = "nombre_epargnes", nullable = false)
+    private long nombreEpargnes;
+
+    @Column(name = "nombre_retraits", nullable = false)
+    private long nombreRetraits;
+
+    @Column(name = "nombre_transactions", nullable = false)
+    private long nombreTransactions;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public RollupJournalier() {}
+
+    public Long getCollecteurId() { return collecteurId; }
+
+    public LocalDate getJour() { return jour; }
+
+    public Long getAgenceId() { return agenceId; }
+
+    public Montant getTotalEpargne() { return Montant.ofCentimes(totalEpargneCentimes); }
+
+    public Montant getTotalRetraits() { return Montant.ofCentimes(totalRetraitsCentimes); }
+
+    public long getNombreEpargnes() { return nombreEpargnes; }
+
+    public long getNombreRetraits() { return nombreRetraits; }
+
+    public long getNombreTransactions() { return nombreTransactions; }
+
+    public Long getVersion() { return version; }
+
+    /**
+     * Clé composite (collecteur, jour)
+     */
+    public static class Cle implements Serializable {
+
+        private Long collecteurId;
+        private LocalDate jour;
+
+        public Cle() {}
+
+        public Cle(Long collecteurId, LocalDate jour) {
+            this.collecteurId = collecteurId;
+            this.jour = jour;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cle)) return false;
+            Cle cle = (Cle) o;
+            return Objects.equals(collecteurId, cle.collecteurId) && Objects.equals(jour, cle.jour);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(collecteurId, jour);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// src/main/java/org/example/collectfocep/repositories/RollupJournalierRepository.java
+package org.example.collectfocep.repositories;
+
+import org.example.collectfocep.entities.RollupJournalier;
+import org.example.collectfocep.util.Montant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Accès aux agrégats journaliers rollup_journalier (requêtes natives MySQL 8)
+ * Les sommes de période renvoient des lignes :
+ * [clé, totalEpargneCentimes, totalRetraitsCentimes, nombreEpargnes, nombreRetraits, nombreTransactions]
+ */
+@Repository
+public interface RollupJournalierRepository extends JpaRepository<RollupJournalier, RollupJournalier.Cle> {
+
+    /**
+     * 🔥 UPSERT ATOMIQUE : Applique un ou plusieurs mouvements au jour de leur collecteur
+     * L'agence est lue sur le collecteur dans la même requête (aucune entité chargée)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rollup_journalier " +
+                   "(jour, collecteur_id, agence_id, total_epargne_centimes, total_retraits_centimes, " +
+                   "nombre_epargnes, nombre_retraits, nombre_transactions, version) " +
+                   "SELECT :jour, col.id, col.agence_id, :epargneCentimes, :retraitCentimes, " +
+                   ":nombreEpargnes, :nombreRetraits, :nombreTransactions, 1 " +
+                   "FROM collecteurs col WHERE col.id = :collecteurId " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "agence_id = VALUES(agence_id), " +
+                   "total_epargne_centimes = total_epargne_centimes + VALUES(total_epargne_centimes), " +
+                   "total_retraits_centimes = total_retraits_centimes + VALUES(total_retraits_centimes), " +
+                   "nombre_epargnes = nombre_epargnes + VALUES(nombre_epargnes), " +
+                   "nombre_retraits = nombre_retraits + VALUES(nombre_retraits), " +
+                   "nombre_transactions = nombre_transactions + VALUES(nombre_transactions), " +
+                   "version = version + 1",
+           nativeQuery = true)
+    int applyMouvement(@Param("jour") LocalDate jour,
+                       @Param("collecteurId") Long collecteurId,
+                       @Param("epargneCentimes") long epargneCentimes,
+                       @Param("retraitCentimes") long retraitCentimes,
+                       @Param("nombreEpargnes") int nombreEpargnes,
+                       @Param("nombreRetraits") int nombreRetraits,
+                       @Param("nombreTransactions") int nombreTransactions);
+
+    /**
+     * Totaux d'un collecteur sur la période, par jour (clé = jour)
+     */
+    @Query(value = "SELECT r.jour, r.total_epargne_centimes, r.total_retraits_centimes, " +
+                   "r.nombre_epargnes, r.nombre_retraits, r.nombre_transactions " +
+                   "FROM rollup_journalier r " +
+                   "WHERE r.collecteur_id = :collecteurId AND r.jour BETWEEN :debut AND :fin " +
+                   "ORDER BY r.jour",
+           nativeQuery = true)
+    List<Object[]> findJoursForCollecteur(@Param("collecteurId") Long collecteurId,
+                                          @Param("debut") LocalDate debut,
+                                          @Param("fin") LocalDate fin);
+
+    /**
+     * Totaux des collecteurs d'une agence sur la période (clé = collecteur)
+     */
+    @Query(value = "SELECT r.collecteur_id, SUM(r.total_epargne_centimes), SUM(r.total_retraits_centimes), " +
+                   "SUM(r.nombre_epargnes), SUM(r.nombre_retraits), SUM(r.nombre_transactions) " +
+                   "FROM rollup_journalier r " +
+                   "WHERE r.agence_id = :agenceId AND r.jour BETWEEN :debut AND :fin " +
+                   "GROUP BY r.collecteur_id ORDER BY r.collecteur_id",
+           nativeQuery = true)
+    List<Object[]> sumByCollecteurForAgence(@Param("agenceId") Long agenceId,
+                                            @Param("debut") LocalDate debut,
+                                            @Param("fin") LocalDate fin);
+
+    /**
+     * Totaux d'une agence sur la période, par jour (clé = jour)
+     */
+    @Query(value = "SELECT r.jour, SUM(r.total_epargne_centimes), SUM(r.total_retraits_centimes), " +
+                   "SUM(r.nombre_epargnes), SUM(r.nombre_retraits), SUM(r.nombre_transactions) " +
+                   "FROM rollup_journalier r " +
+                   "WHERE r.agence_id = :agenceId AND r.jour BETWEEN :debut AND :fin " +
+                   "GROUP BY r.jour ORDER BY r.jour",
+           nativeQuery = true)
+    List<Object[]> sumByJourForAgence(@Param("agenceId") Long agenceId,
+                                      @Param("debut") LocalDate debut,
+                                      @Param("fin") LocalDate fin);
+
+    /**
+     * Totaux de toutes les agences sur la période (clé = agence)
+     */
+    @Query(value = "SELECT r.agence_id, SUM(r.total_epargne_centimes), SUM(r.total_retraits_centimes), " +
+                   "SUM(r.nombre_epargnes), SUM(r.nombre_retraits), SUM(r.nombre_transactions) " +
+                   "FROM rollup_journalier r " +
+                   "WHERE r.jour BETWEEN :debut AND :fin " +
+                   "GROUP BY r.agence_id ORDER BY r.agence_id",
+           nativeQuery = true)
+    List<Object[]> sumByAgence(@Param("debut") LocalDate debut,
+                               @Param("fin") LocalDate fin);
+
+    /**
+     * Compare les agrégats de la période à un recalcul depuis la table mouvements
+     * Retourne uniquement les (collecteur, jour) en écart :
+     * [collecteurId, jour, nombreTransactions attendu, nombreTransactions agrégé]
+     */
+    @Query(value = "WITH a AS (" +
+                   "SELECT DATE(m.date_operation) AS jour, COALESCE(m.collecteur_id, cl.collecteur_id) AS collecteur_id, " +
+                   "MAX(col.agence_id) AS agence_id, " +
+                   "SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END) AS total_epargne, " +
+                   "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END) AS total_retraits, " +
+                   "SUM(m.sens_code = 'E') AS nombre_epargnes, SUM(m.sens_code = 'R') AS nombre_retraits, " +
+                   "COUNT(*) AS nombre_transactions " +
+                   "FROM mouvements m LEFT JOIN clients cl ON cl.id = m.client_id " +
+                   "JOIN collecteurs col ON col.id = COALESCE(m.collecteur_id, cl.collecteur_id) " +
+                   "WHERE m.date_operation >= :debut AND m.date_operation < :fin + INTERVAL 1 DAY " +
+                   "GROUP BY DATE(m.date_operation), COALESCE(m.collecteur_id, cl.collecteur_id)" +
+                   ") " +
+                   "SELECT a.collecteur_id, a.jour, a.nombre_transactions, r.nombre_transactions " +
+                   "FROM a LEFT JOIN rollup_journalier r ON r.collecteur_id = a.collecteur_id AND r.jour = a.jour " +
+                   "WHERE r.collecteur_id IS NULL " +
+                   "OR NOT (a.agence_id <=> r.agence_id) " +
+                   "OR a.total_epargne <> r.total_epargne_centimes " +
+                   "OR a.total_retraits <> r.total_retraits_centimes " +
+                   "OR a.nombre_epargnes <> r.nombre_epargnes " +
+                   "OR a.nombre_retraits <> r.nombre_retraits " +
+                   "OR a.nombre_transactions <> r.nombre_transactions " +
+                   "UNION ALL " +
+                   "SELECT r.collecteur_id, r.jour, 0, r.nombre_transactions " +
+                   "FROM rollup_journalier r LEFT JOIN a ON a.collecteur_id = r.collecteur_id AND a.jour = r.jour " +
+                   "WHERE r.jour BETWEEN :debut AND :fin AND a.collecteur_id IS NULL AND r.nombre_transactions <> 0",
+           nativeQuery = true)
+    List<Object[]> findDrift(@Param("debut") LocalDate debut,
+                             @Param("fin") LocalDate fin);
+
+    /**
+     * Supprime les agrégats d'un jour (première étape de sa reconstruction)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM rollup_journalier WHERE jour = :jour", nativeQuery = true)
+    int deleteJour(@Param("jour") LocalDate jour);
+
+    /**
+     * 🔥 RECALCUL : Reconstruit les agrégats d'un jour depuis la table mouvements
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rollup_journalier " +
+                   "(jour, collecteur_id, agence_id, total_epargne_centimes, total_retraits_centimes, " +
+                   "nombre_epargnes, nombre_retraits, nombre_transactions, version) " +
+                   "SELECT :jour, COALESCE(m.collecteur_id, cl.collecteur_id), MAX(col.agence_id), " +
+                   "SUM(CASE WHEN m.sens_code = 'E' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+                   "SUM(CASE WHEN m.sens_code = 'R' THEN " + Montant.TO_CENTIMES_SQL + " ELSE 0 END), " +
+                   "SUM(m.sens_code = 'E'), SUM(m.sens_code = 'R'), COUNT(*), 1 " +
+                   "FROM mouvements m LEFT JOIN clients cl ON cl.id = m.client_id " +
+                   "JOIN collecteurs col ON col.id = COALESCE(m.collecteur_id, cl.collecteur_id) " +
+                   "WHERE m.date_operation >= :jour AND m.date_operation < :jour + INTERVAL 1 DAY " +
+                   "GROUP BY COALESCE(m.collecteur_id, cl.collecteur_id)",
+           nativeQuery = true)
+    int rebuildJour(@Param("jour") LocalDate jour);
+}
@@ -0,0 +1,99 @@
+// src/main/java/org/example/collectfocep/services/RollupRebuildJob.java
+package org.example.collectfocep.services;
+
+import org.example.collectfocep.repositories.RollupJournalierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Vérification / reconstruction des agrégats journaliers rollup_journalier
+ * Ne parcourt que les derniers jours (fenêtre configurable) : les jours plus anciens
+ * ne changent que par correction manuelle, suivie d'un rebuild(jour) explicite
+ * Transactions par TransactionTemplate, comme ClientStatsRebuildJob : la tâche planifiée
+ * appelle verify puis rebuild sur this, sans passer par le proxy Spring
+ */
+@Component
+public class RollupRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupRebuildJob.class);
+
+    private final RollupJournalierRepository rollupJournalierRepository;
+    private final TransactionTemplate transaction;
+    private final boolean autoRepair;
+    // Couvre le mois précédent complet pour les clôtures mensuelles
+    private final int verifyDays;
+
+    public RollupRebuildJob(RollupJournalierRepository rollupJournalierRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${rollups.auto-repair:true}") boolean autoRepair,
+                            @Value("${rollups.verify-days:35}") int verifyDays) {
+        this.rollupJournalierRepository = rollupJournalierRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.autoRepair = autoRepair;
+        this.verifyDays = verifyDays;
+    }
+
+    /**
+     * 🔥 Vérification nocturne, après celle de client_stats
+     */
+    @Scheduled(cron = "${rollups.verify-cron:0 45 2 * * *}")
+    public void scheduledVerify() {
+        LocalDate aujourdhui = LocalDate.now();
+        verify(aujourdhui.minusDays(verifyDays - 1L), aujourdhui, autoRepair);
+    }
+
+    /**
+     * Compare les agrégats de la période au recalcul depuis les mouvements
+     * @param repair reconstruit les jours en écart si true
+     * @return jours en écart
+     */
+    public List<LocalDate> verify(LocalDate debut, LocalDate fin, boolean repair) {
+        return transaction.execute(status -> verifyInTransaction(debut, fin, repair));
+    }
+
+    private List<LocalDate> verifyInTransaction(LocalDate debut, LocalDate fin, boolean repair) {
+        TreeSet<LocalDate> driftedJours = new TreeSet<>();
+
+        for (Object[] row : rollupJournalierRepository.findDrift(debut, fin)) {
+            LocalDate jour = row[1] instanceof Date ? ((Date) row[1]).toLocalDate() : (LocalDate) row[1];
+            driftedJours.add(jour);
+            logger.warn("⚠️ Écart rollup_journalier collecteur={} jour={} : transactions attendues={} agrégées={}",
+                        row[0], jour, row[2], row[3]);
+        }
+
+        if (driftedJours.isEmpty()) {
+            logger.info("✅ Agrégats rollup_journalier cohérents du {} au {}", debut, fin);
+            return List.copyOf(driftedJours);
+        }
+
+        logger.warn("⚠️ {} jour(s) en écart dans rollup_journalier", driftedJours.size());
+
+        if (repair) {
+            driftedJours.forEach(this::rebuild);
+            logger.info("✅ {} jour(s) reconstruit(s) dans rollup_journalier", driftedJours.size());
+        }
+
+        return List.copyOf(driftedJours);
+    }
+
+    /**
+     * Reconstruit tous les agrégats d'un jour depuis la table mouvements
+     * (rejoint la transaction de verify, sinon en ouvre une : suppression et recalcul atomiques)
+     */
+    public void rebuild(LocalDate jour) {
+        transaction.executeWithoutResult(status -> {
+            rollupJournalierRepository.deleteJour(jour);
+            rollupJournalierRepository.rebuildJour(jour);
+        });
+    }
+}
@@ -0,0 +1,129 @@
+// src/main/java/org/example/collectfocep/dto/RollupStatsDTO.java
+package org.example.collectfocep.dto;
+
+import org.example.collectfocep.util.Montant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totaux agrégés d'un niveau de la hiérarchie (collecteur, agence ou global) sur une période
+ * Calculés à partir des agrégats journaliers (rollup_journalier), sans lecture des mouvements
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RollupStatsDTO {
+
+    // COLLECTEUR, AGENCE ou GLOBAL
+    private String niveau;
+    private Long id;
+
+    // Période (bornes incluses) ou jour d'une série journalière
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private LocalDate jour;
+
+    // 🔥 TOTAUX
+    private Montant totalEpargne;
+    private Montant totalRetraits;
+    private Montant soldeNet; // totalEpargne - totalRetraits
+    private Long nombreEpargnes;
+    private Long nombreRetraits;
+    private Long nombreTransactions;
+
+    // 🔥 DÉTAIL : collecteurs d'une agence, agences du global
+    private List<RollupStatsDTO> details;
+
+    // 🔥 SÉRIE JOURNALIÈRE (graphiques)
+    private List<RollupStatsDTO> parJour;
+
+    public RollupStatsDTO() {}
+
+    /**
+     * Construit un total depuis une ligne de RollupJournalierRepository
+     * [clé, totalEpargneCentimes, totalRetraitsCentimes, nombreEpargnes, nombreRetraits, nombreTransactions]
+     */
+    public static RollupStatsDTO fromRow(Object[] row) {
+        RollupStatsDTO dto = new RollupStatsDTO();
+        dto.setTotalEpargne(Montant.ofCentimes(((Number) row[1]).longValue()));
+        dto.setTotalRetraits(Montant.ofCentimes(((Number) row[2]).longValue()));
+        dto.setNombreEpargnes(((Number) row[3]).longValue());
+        dto.setNombreRetraits(((Number) row[4]).longValue());
+        dto.setNombreTransactions(((Number) row[5]).longValue());
+        return dto;
+    }
+
+    /**
+     * Total vide (aucun mouvement sur la période)
+     */
+    public static RollupStatsDTO vide() {
+        RollupStatsDTO dto = new RollupStatsDTO();
+        dto.setTotalEpargne(Montant.ZERO);
+        dto.setTotalRetraits(Montant.ZERO);
+        dto.setNombreEpargnes(0L);
+        dto.setNombreRetraits(0L);
+        dto.setNombreTransactions(0L);
+        return dto;
+    }
+
+    /**
+     * Ajoute les totaux d'un autre agrégat (collecteurs → agence, agences → global)
+     */
+    public void add(RollupStatsDTO other) {
+        setTotalEpargne(totalEpargne.plus(other.totalEpargne));
+        setTotalRetraits(totalRetraits.plus(other.totalRetraits));
+        nombreEpargnes += other.nombreEpargnes;
+        nombreRetraits += other.nombreRetraits;
+        nombreTransactions += other.nombreTransactions;
+    }
+
+    // Getters et Setters
+    public String getNiveau() { return niveau; }
+    public void setNiveau(String niveau) { this.niveau = niveau; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getDateDebut() { return dateDebut; }
+    public void setDateDebut(LocalDate dateDebut) { this.dateDebut = dateDebut; }
+
+    public LocalDate getDateFin() { return dateFin; }
+    public void setDateFin(LocalDate dateFin) { this.dateFin = dateFin; }
+
+    public LocalDate getJour() { return jour; }
+    public void setJour(LocalDate jour) { this.jour = jour; }
+
+    public Montant getTotalEpargne() { return totalEpargne; }
+    public void setTotalEpargne(Montant totalEpargne) {
+        this.totalEpargne = totalEpargne;
+        calculateSoldeNet();
+    }
+
+    public Montant getTotalRetraits() { return totalRetraits; }
+    public void setTotalRetraits(Montant totalRetraits) {
+        this.totalRetraits = totalRetraits;
+        calculateSoldeNet();
+    }
+
+    public Montant getSoldeNet() { return soldeNet; }
+
+    public Long getNombreEpargnes() { return nombreEpargnes; }
+    public void setNombreEpargnes(Long nombreEpargnes) { this.nombreEpargnes = nombreEpargnes; }
+
+    public Long getNombreRetraits() { return nombreRetraits; }
+    public void setNombreRetraits(Long nombreRetraits) { this.nombreRetraits = nombreRetraits; }
+
+    public Long getNombreTransactions() { return nombreTransactions; }
+    public void setNombreTransactions(Long nombreTransactions) { this.nombreTransactions = nombreTransactions; }
+
+    public List<RollupStatsDTO> getDetails() { return details; }
+    public void setDetails(List<RollupStatsDTO> details) { this.details = details; }
+
+    public List<RollupStatsDTO> getParJour() { return parJour; }
+    public void setParJour(List<RollupStatsDTO> parJour) { this.parJour = parJour; }
+
+    private void calculateSoldeNet() {
+        if (totalEpargne != null && totalRetraits != null) {
+            this.soldeNet = totalEpargne.minus(totalRetraits);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// AJOUTS À FAIRE dans SecurityService.java
+// src/main/java/org/example/collectfocep/security/service/SecurityService.java
+
+// 🔥 INJECTION (si absente)
+@Autowired
+private JdbcTemplate jdbcTemplate;
+
+/**
+ * 🔥 PÉRIMÈTRE AGENCE : SUPER_ADMIN sur toutes les agences, ADMIN sur la sienne seulement
+ * Même règle que canAccessCollecteurData : l'administrateur doit avoir accès aux collecteurs de l'agence
+ * (un collecteur de l'agence sert de témoin ; une agence sans collecteur n'est ouverte qu'au SUPER_ADMIN)
+ * À utiliser pour tout endpoint qui reçoit un agenceId (exports, rollups, recherche d'agence)
+ */
+public boolean canAccessAgenceData(Long agenceId, Authentication authentication) {
+    if (agenceId == null || authentication == null || !authentication.isAuthenticated()) {
+        return false;
+    }
+    if (hasAuthority(authentication, "ROLE_SUPER_ADMIN")) {
+        return true;
+    }
+    if (!hasAuthority(authentication, "ROLE_ADMIN")) {
+        return false;
+    }
+
+    List<Long> collecteurs = jdbcTemplate.queryForList(
+        "SELECT id FROM collecteurs WHERE agence_id = ? ORDER BY id LIMIT 1", Long.class, agenceId);
+    return !collecteurs.isEmpty() && canAccessCollecteurData(collecteurs.get(0), authentication);
+}
+
+private static boolean hasAuthority(Authentication authentication, String authority) {
+    return authentication.getAuthorities().stream()
+        .anyMatch(granted -> authority.equals(granted.getAuthority()));
+}
@@ -0,0 +1,42 @@
+// src/main/java/org/example/collectfocep/entities/SensMouvement.java
+package org.example.collectfocep.entities;
+
+/**
+ * Sens normalisé d'un mouvement, stocké sur un caractère (colonne mouvements.sens_code)
+ * La colonne historique "sens" (libellé, casse variable) reste la source pour l'affichage
+ */
+public enum SensMouvement {
+
+    EPARGNE('E'),
+    RETRAIT('R'),
+    AUTRE('X'); // Mouvements comptables (commissions, transferts, ...)
+
+    private final char code;
+
+    SensMouvement(char code) {
+        this.code = code;
+    }
+
+    public char getCode() { return code; }
+
+    public static SensMouvement fromCode(char code) {
+        switch (code) {
+            case 'E': return EPARGNE;
+            case 'R': return RETRAIT;
+            default: return AUTRE;
+        }
+    }
+
+    /**
+     * Normalise un libellé de sens ("epargne", "EPARGNE", ...) - même règle que la migration
+     */
+    public static SensMouvement fromLibelle(String sens) {
+        if ("EPARGNE".equalsIgnoreCase(sens)) {
+            return EPARGNE;
+        }
+        if ("RETRAIT".equalsIgnoreCase(sens)) {
+            return RETRAIT;
+        }
+        return AUTRE;
+    }
+}
@@ -0,0 +1,22 @@
+// src/main/java/org/example/collectfocep/entities/SensMouvementConverter.java
+package org.example.collectfocep.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * SensMouvement <-> CHAR(1)
+ */
+@Converter
+public class SensMouvementConverter implements AttributeConverter<SensMouvement, String> {
+
+    @Override
+    public String convertToDatabaseColumn(SensMouvement sens) {
+        return sens != null ? String.valueOf(sens.getCode()) : null;
+    }
+
+    @Override
+    public SensMouvement convertToEntityAttribute(String code) {
+        return code != null && !code.isEmpty() ? SensMouvement.fromCode(code.charAt(0)) : null;
+    }
+}
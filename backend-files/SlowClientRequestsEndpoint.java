@@ -0,0 +1,26 @@
+// src/main/java/org/example/collectfocep/metrics/SlowClientRequestsEndpoint.java
+package org.example.collectfocep.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/clientslowrequests : dernières requêtes clients lentes avec leur décomposition
+ * (phases, requêtes SQL, clients enrichis), sans service externe
+ */
+@Component
+@Endpoint(id = "clientslowrequests")
+public class SlowClientRequestsEndpoint {
+
+    @Autowired
+    private ClientStatsMetrics clientStatsMetrics;
+
+    @ReadOperation
+    public List<ClientStatsMetrics.SlowRequestSample> slowRequests() {
+        return clientStatsMetrics.getSlowRequests();
+    }
+}
@@ -0,0 +1,76 @@
+// src/main/java/org/example/collectfocep/web/controllers/SyncController.java
+package org.example.collectfocep.web.controllers;
+
+import org.example.collectfocep.dto.SyncDeltaDTO;
+import org.example.collectfocep.repositories.CollecteurRepository;
+import org.example.collectfocep.services.DeltaSyncService;
+// ApiResponse et SecurityService : mêmes imports que dans ClientController
+import org.example.collectfocep.security.service.SecurityService;
+import org.example.collectfocep.util.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Synchronisation incrémentale pour l'application mobile (mode hors ligne)
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncController.class);
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private CollecteurRepository collecteurRepository;
+
+    /**
+     * 🔥 Delta des clients et mouvements du collecteur depuis le jeton "since"
+     * Sans jeton (première synchronisation) : liste complète + jeton
+     */
+    @GetMapping("/collecteur/{collecteurId}")
+    public ResponseEntity<?> syncCollecteur(@PathVariable Long collecteurId,
+                                            @RequestParam(required = false) String since,
+                                            Authentication authentication) {
+        try {
+            if (!securityService.canAccessCollecteurData(collecteurId, authentication)) {
+                logger.warn("🚫 Accès refusé à la synchronisation du collecteur {} pour {}", collecteurId, authentication.getName());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Accès non autorisé", null));
+            }
+
+            if (!collecteurRepository.existsById(collecteurId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Collecteur non trouvé", null));
+            }
+
+            SyncDeltaDTO delta = deltaSyncService.getDelta(collecteurId, since);
+
+            logger.info("🔄 Synchronisation collecteur {} : {} client(s), {} mouvement(s), complète={}",
+                        collecteurId,
+                        delta.getClients() != null ? delta.getClients().size() : 0,
+                        delta.getMouvements() != null ? delta.getMouvements().size() : 0,
+                        delta.getFullResync());
+
+            return ResponseEntity.ok(ApiResponse.success("Synchronisation effectuée", delta));
+
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de la synchronisation du collecteur {}: {}", collecteurId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Erreur lors de la synchronisation", null));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+// src/main/java/org/example/collectfocep/dto/SyncDeltaDTO.java
+package org.example.collectfocep.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Réponse de synchronisation incrémentale d'un collecteur
+ * Ne contient que ce qui a changé depuis le jeton "since" ; nextToken est à renvoyer
+ * tel quel à la prochaine synchronisation. Les éléments peuvent être renvoyés deux fois
+ * (fenêtre de recouvrement) : l'application les fusionne par id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncDeltaDTO {
+
+    // true : la liste "clients" est complète, l'état local doit être remplacé
+    private Boolean fullResync;
+
+    private List<ClientSummaryDTO> clients;
+    private List<MouvementDTO> mouvements;
+
+    // 🔥 TOMBSTONES : éléments à retirer du stockage local
+    private List<Long> deletedClientIds;
+    private List<Long> deletedMouvementIds;
+
+    private String nextToken;
+
+    public SyncDeltaDTO() {}
+
+    // Getters et Setters
+    public Boolean getFullResync() { return fullResync; }
+    public void setFullResync(Boolean fullResync) { this.fullResync = fullResync; }
+
+    public List<ClientSummaryDTO> getClients() { return clients; }
+    public void setClients(List<ClientSummaryDTO> clients) { this.clients = clients; }
+
+    public List<MouvementDTO> getMouvements() { return mouvements; }
+    public void setMouvements(List<MouvementDTO> mouvements) { this.mouvements = mouvements; }
+
+    public List<Long> getDeletedClientIds() { return deletedClientIds; }
+    public void setDeletedClientIds(List<Long> deletedClientIds) { this.deletedClientIds = deletedClientIds; }
+
+    public List<Long> getDeletedMouvementIds() { return deletedMouvementIds; }
+    public void setDeletedMouvementIds(List<Long> deletedMouvementIds) { this.deletedMouvementIds = deletedMouvementIds; }
+
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+}
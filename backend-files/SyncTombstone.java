@@ -0,0 +1,56 @@
+// src/main/java/org/example/collectfocep/entities/SyncTombstone.java
+package org.example.collectfocep.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trace d'une suppression (ou d'un transfert de client) pour la synchronisation mobile
+ * Alimentée uniquement par les triggers de migration_delta_sync.sql
+ */
+@Entity
+@Immutable
+@Table(name = "sync_tombstones")
+public class SyncTombstone {
+
+    public static final String TYPE_CLIENT = "CLIENT";
+    public static final String TYPE_MOUVEMENT = "MOUVEMENT";
+
+    @Id
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "collecteur_id", nullable = false)
+    private Long collecteurId;
+
+    // Renseigné pour les mouvements : client à renvoyer avec ses totaux recalculés
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncTombstone() {}
+
+    public Long getId() { return id; }
+
+    public String getEntityType() { return entityType; }
+
+    public Long getEntityId() { return entityId; }
+
+    public Long getCollecteurId() { return collecteurId; }
+
+    public Long getClientId() { return clientId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+}
@@ -0,0 +1,30 @@
+// src/main/java/org/example/collectfocep/repositories/SyncTombstoneRepository.java
+package org.example.collectfocep.repositories;
+
+import org.example.collectfocep.entities.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.collecteurId = :collecteurId AND t.deletedAt > :since")
+    List<SyncTombstone> findByCollecteurIdSince(@Param("collecteurId") Long collecteurId,
+                                                @Param("since") LocalDateTime since);
+
+    /**
+     * Horloge de référence des jetons : celle de la base, qui alimente updated_at
+     */
+    @Query(value = "SELECT CURRENT_TIMESTAMP(6)", nativeQuery = true)
+    LocalDateTime currentDatabaseTime();
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :before")
+    int purgeBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,146 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/BenchmarkData.java
+package org.example.collectfocep.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.example.collectfocep.entities.Agence;
+import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.entities.Collecteur;
+import org.example.collectfocep.entities.Mouvement;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Générateur de données de benchmark : N clients × M mouvements par client
+ * Déterministe (graine fixe) pour comparer les résultats entre versions
+ *
+ * ⚠️ Adapter les setters aux champs obligatoires des entités du projet
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 42L;
+
+    private static final String[] NOMS = {"MBARGA", "NGUEMA", "FOTSO", "TCHOUA", "ESSOMBA", "KAMGA", "NDJOCK", "ÉTOUNDI"};
+    private static final String[] PRENOMS = {"Jean", "Marie", "Paul", "Hélène", "Joseph", "Cécile", "André", "Thérèse"};
+
+    private BenchmarkData() {}
+
+    /**
+     * Persiste une agence, un collecteur et ses clients avec leur historique
+     * @return le collecteur créé
+     */
+    public static Collecteur seed(EntityManager entityManager, int clients, int mouvementsParClient) {
+        Random random = new Random(SEED);
+
+        Agence agence = new Agence();
+        agence.setNomAgence("Agence benchmark");
+        agence.setCodeAgence("BENCH");
+        entityManager.persist(agence);
+
+        Collecteur collecteur = new Collecteur();
+        collecteur.setNom("DUPONT");
+        collecteur.setPrenom("Pierre");
+        collecteur.setAdresseMail("bench@collectfocep.local");
+        collecteur.setAgence(agence);
+        entityManager.persist(collecteur);
+
+        LocalDateTime debut = LocalDateTime.now().minusYears(2);
+        for (int i = 0; i < clients; i++) {
+            Client client = newClient(random, i, collecteur, agence);
+            entityManager.persist(client);
+
+            for (int j = 0; j < mouvementsParClient; j++) {
+                entityManager.persist(newMouvement(random, client, collecteur,
+                    debut.plusMinutes(random.nextInt(2 * 365 * 24 * 60))));
+            }
+
+            if (i % 50 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                collecteur = entityManager.merge(collecteur);
+                agence = entityManager.merge(agence);
+            }
+        }
+        entityManager.flush();
+        alignerSchemaMysql(entityManager);
+
+        entityManager.clear();
+        return collecteur;
+    }
+
+    /**
+     * Schéma créé par Hibernate : sens_code n'est pas une colonne générée comme sous MySQL
+     */
+    static void alignerSchemaMysql(EntityManager entityManager) {
+        entityManager.createNativeQuery("UPDATE mouvements SET sens_code = " +
+            "CASE UPPER(sens) WHEN 'EPARGNE' THEN 'E' WHEN 'RETRAIT' THEN 'R' ELSE 'X' END")
+            .executeUpdate();
+    }
+
+    /**
+     * Clients et mouvements en mémoire seulement (benchmarks de mapping et de sérialisation)
+     */
+    public static List<Mouvement> inMemoryMouvements(int count) {
+        Random random = new Random(SEED);
+        Collecteur collecteur = new Collecteur();
+        collecteur.setId(1L);
+        collecteur.setNom("DUPONT");
+        collecteur.setPrenom("Pierre");
+
+        Client client = newClient(random, 0, collecteur, null);
+        client.setId(1L);
+
+        List<Mouvement> mouvements = new ArrayList<>(count);
+        LocalDateTime debut = LocalDateTime.now().minusYears(2);
+        for (int i = 0; i < count; i++) {
+            Mouvement mouvement = newMouvement(random, client, collecteur, debut.plusMinutes(i));
+            mouvement.setId((long) i + 1);
+            mouvements.add(mouvement);
+        }
+        return mouvements;
+    }
+
+    public static List<Client> inMemoryClients(int count) {
+        Random random = new Random(SEED);
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Client client = newClient(random, i, null, null);
+            client.setId((long) i + 1);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    static Client newClient(Random random, int index, Collecteur collecteur, Agence agence) {
+        Client client = new Client();
+        client.setNom(NOMS[random.nextInt(NOMS.length)]);
+        client.setPrenom(PRENOMS[random.nextInt(PRENOMS.length)]);
+        client.setNumeroCompte(String.format("BENCH-%06d", index));
+        client.setNumeroCni(String.format("CNI%09d", index));
+        client.setTelephone(String.format("6%08d", random.nextInt(100_000_000)));
+        client.setVille("Yaoundé");
+        client.setQuartier("Mvog-Mbi");
+        client.setValide(true);
+        client.setDateCreation(LocalDateTime.now().minusYears(3));
+        client.setCollecteur(collecteur);
+        client.setAgence(agence);
+        return client;
+    }
+
+    static Mouvement newMouvement(Random random, Client client, Collecteur collecteur, LocalDateTime date) {
+        // 85 % d'épargnes : profil typique de la collecte journalière
+        boolean epargne = random.nextInt(100) < 85;
+
+        Mouvement mouvement = new Mouvement();
+        mouvement.setClient(client);
+        mouvement.setCollecteur(collecteur);
+        mouvement.setSens(epargne ? "epargne" : "retrait");
+        mouvement.setMontant((double) (500 + random.nextInt(200) * 250));
+        mouvement.setLibelle(epargne ? "Épargne journalière" : "Retrait");
+        mouvement.setTypeMouvement(epargne ? "EPARGNE" : "RETRAIT");
+        mouvement.setDateOperation(date);
+        return mouvement;
+    }
+}
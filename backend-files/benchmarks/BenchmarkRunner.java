@@ -0,0 +1,44 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/BenchmarkRunner.java
+package org.example.collectfocep.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lance tous les benchmarks avec le profileur GC et écrit les résultats en JSON
+ * results/jmh-<version>-<horodatage>.json, à comparer entre versions (jmh.morethan.io, scripts)
+ *
+ * Usage : java -jar collectfocep-benchmarks.jar [version] [regex de benchmark]
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        String version = args.length > 0 ? args[0] : "dev";
+        String include = args.length > 1 ? args[1] : "org.example.collectfocep.benchmarks.*";
+
+        File resultsDir = new File("results");
+        resultsDir.mkdirs();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File resultFile = new File(resultsDir, "jmh-" + version + "-" + timestamp + ".json");
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.getPath())
+            .build();
+
+        new Runner(options).run();
+        System.out.println("📊 Résultats : " + resultFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,17 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/BenchmarkSupport.java
+package org.example.collectfocep.benchmarks;
+
+/**
+ * Paramètres communs aux benchmarks
+ */
+final class BenchmarkSupport {
+
+    // Classe @SpringBootApplication du backend, surchargeable : -Dbench.application=...
+    private static final String DEFAULT_APPLICATION_CLASS = "org.example.collectfocep.CollectFocepApplication";
+
+    private BenchmarkSupport() {}
+
+    static Class<?> applicationClass() throws ClassNotFoundException {
+        return Class.forName(System.getProperty("bench.application", DEFAULT_APPLICATION_CLASS));
+    }
+}
@@ -0,0 +1,134 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/EnrichmentBenchmark.java
+package org.example.collectfocep.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.entities.Collecteur;
+import org.example.collectfocep.entities.SensMouvement;
+import org.example.collectfocep.repositories.ClientRepository;
+import org.example.collectfocep.repositories.MouvementRepository;
+import org.example.collectfocep.services.ClientStatsRebuildJob;
+import org.example.collectfocep.services.ClientStatsService;
+import org.example.collectfocep.util.Montant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrichissement d'une liste collecteur : un appel par client vs un appel groupé
+ * Base H2 en mode MySQL (profil "bench"), cache des résumés désactivé
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrichmentBenchmark {
+
+    @Param({"50", "400"})
+    public int clients;
+
+    @Param({"20", "200"})
+    public int mouvementsParClient;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private ClientStatsService clientStatsService;
+    private ClientRepository clientRepository;
+    private MouvementRepository mouvementRepository;
+    private Long collecteurId;
+    private List<Client> collecteurClients;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        context = new SpringApplicationBuilder(BenchmarkSupport.applicationClass())
+            .profiles("bench")
+            .run();
+
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        clientStatsService = context.getBean(ClientStatsService.class);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        Collecteur collecteur = BenchmarkData.seed(entityManager, clients, mouvementsParClient);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        // Projection client_stats remplie par le job de reconstruction (comme en production)
+        context.getBean(ClientStatsRebuildJob.class).verify(true);
+
+        // Session ouverte pendant la mesure, comme open-in-view dans le contrôleur
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+            new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        clientRepository = context.getBean(ClientRepository.class);
+        mouvementRepository = context.getBean(MouvementRepository.class);
+        collecteurId = collecteur.getId();
+        collecteurClients = new ArrayList<>(clientRepository.findByCollecteurId(collecteurId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EntityManagerHolder holder =
+            (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        holder.getEntityManager().close();
+        context.close();
+    }
+
+    /**
+     * Ancien chemin, reproduit ici : requêtes par client (transactions récentes, puis totaux par sens)
+     * enrichClientWithStats passe désormais par le chemin groupé et ne le mesure plus
+     */
+    @Benchmark
+    public List<ClientSummaryDTO> perClient() {
+        List<ClientSummaryDTO> result = new ArrayList<>(collecteurClients.size());
+        for (Client client : collecteurClients) {
+            ClientSummaryDTO dto = new ClientSummaryDTO(client);
+            dto.setTransactions(mouvementRepository.findByClientIdOrderByDateOperationDesc(
+                client.getId(), PageRequest.of(0, 20)));
+            dto.setTotalEpargne(Montant.ofCentimes(
+                mouvementRepository.sumCentimesByClientIdAndSens(client.getId(), SensMouvement.EPARGNE)));
+            dto.setTotalRetraits(Montant.ofCentimes(
+                mouvementRepository.sumCentimesByClientIdAndSens(client.getId(), SensMouvement.RETRAIT)));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Chemin actuel : requêtes groupées par tranche
+     */
+    @Benchmark
+    public List<ClientSummaryDTO> batch() {
+        return clientStatsService.enrichClientsWithStats(collecteurClients);
+    }
+
+    /**
+     * Chemin du contrôleur : lecture par projection (aucune entité) puis enrichissement groupé
+     */
+    @Benchmark
+    public List<ClientSummaryDTO> projection() {
+        return clientStatsService.enrichSummariesWithStats(clientRepository.findSummariesByCollecteurId(collecteurId));
+    }
+}
@@ -0,0 +1,88 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestConfiguration.java
+package org.example.collectfocep.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.collectfocep.metrics.RequestProfile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Profil "loadtest" : attente d'une connexion du pool imputée à la requête profilée en cours
+ * (phase PHASE_ATTENTE_POOL de RequestProfile, threads d'enrichissement compris)
+ * Les métriques hikaricp.* de Micrometer restent alimentées.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfiguration {
+
+    static final String PHASE_ATTENTE_POOL = "attente_pool";
+
+    // static : post-processeur créé avant les autres beans, sans initialiser cette configuration
+    @Bean
+    static BeanPostProcessor poolWaitTracking(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    ((HikariDataSource) bean).setMetricsTrackerFactory(new PoolWaitTrackerFactory(
+                        registry != null ? new MicrometerMetricsTrackerFactory(registry) : null));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class PoolWaitTrackerFactory implements MetricsTrackerFactory {
+
+        private final MetricsTrackerFactory delegate;
+
+        private PoolWaitTrackerFactory(MetricsTrackerFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            IMetricsTracker tracker = delegate != null ? delegate.create(poolName, poolStats) : new IMetricsTracker() {};
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                    tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+                }
+
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                    // Appelé sur le thread qui emprunte la connexion
+                    RequestProfile profile = RequestProfile.current();
+                    if (profile != null) {
+                        profile.addPhase(PHASE_ATTENTE_POOL, elapsedAcquiredNanos);
+                    }
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    tracker.recordConnectionTimeout();
+                }
+
+                @Override
+                public void close() {
+                    tracker.close();
+                }
+            };
+        }
+    }
+}
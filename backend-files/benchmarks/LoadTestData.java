@@ -0,0 +1,192 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestData.java
+package org.example.collectfocep.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.collectfocep.entities.Agence;
+import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.entities.Collecteur;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Population du test de charge : agences, collecteurs, clients et mouvements, répartis comme en production
+ * - Clients par collecteur et mouvements par client selon une loi de Zipf (quelques gros portefeuilles,
+ *   quelques clients très actifs, beaucoup de clients peu actifs)
+ * - Dates concentrées sur les dernières semaines (décroissance exponentielle, plafond 2 ans)
+ * Déterministe (graine loadtest.seed) pour comparer les résultats entre versions
+ *
+ * ⚠️ Mêmes setters que BenchmarkData : à adapter aux champs obligatoires des entités du projet
+ */
+final class LoadTestData {
+
+    private static final int LOT = 2_000;
+    private static final double MOYENNE_MINUTES = 60 * 24 * 60.0;
+    private static final long MAX_MINUTES = 2L * 365 * 24 * 60;
+
+    private LoadTestData() {}
+
+    /**
+     * Collecteurs créés et leurs clients, du plus actif au moins actif
+     */
+    static final class Population {
+
+        final long[] collecteurIds;
+        final String[] adressesMail;
+        final long[][] clientIds;
+
+        private Population(long[] collecteurIds, String[] adressesMail, long[][] clientIds) {
+            this.collecteurIds = collecteurIds;
+            this.adressesMail = adressesMail;
+            this.clientIds = clientIds;
+        }
+
+        int taille() {
+            return collecteurIds.length;
+        }
+    }
+
+    /**
+     * Tirage selon une loi de Zipf sur [0, n) : le rang 0 est le plus fréquent
+     */
+    static final class Zipf {
+
+        private final double[] cumul;
+
+        Zipf(int n, double exposant) {
+            this.cumul = new double[n];
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                total += 1.0 / Math.pow(i + 1, exposant);
+                cumul[i] = total;
+            }
+            for (int i = 0; i < n; i++) {
+                cumul[i] /= total;
+            }
+        }
+
+        int next(Random random) {
+            int position = Arrays.binarySearch(cumul, random.nextDouble());
+            int rang = position >= 0 ? position : -position - 1;
+            return Math.min(rang, cumul.length - 1);
+        }
+    }
+
+    static Population seed(EntityManagerFactory entityManagerFactory, LoadTestSettings settings) {
+        Random random = new Random(settings.graine);
+        long debut = System.nanoTime();
+
+        // Au moins un client par collecteur ; mouvements répartis sur des clients tirés au hasard
+        int[] clientsParCollecteur = repartir(settings.clients - settings.collecteurs, settings.collecteurs,
+                                              settings.asymetrie, random);
+        for (int i = 0; i < clientsParCollecteur.length; i++) {
+            clientsParCollecteur[i]++;
+        }
+        int totalClients = Arrays.stream(clientsParCollecteur).sum();
+        int[] mouvementsParClient = melanger(repartir(settings.mouvements, totalClients, settings.asymetrie, random), random);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+
+        long[] agenceIds = new long[settings.agences];
+        for (int a = 0; a < settings.agences; a++) {
+            Agence agence = new Agence();
+            agence.setNomAgence("Agence charge " + (a + 1));
+            agence.setCodeAgence(String.format("LT%03d", a + 1));
+            entityManager.persist(agence);
+            agenceIds[a] = agence.getId();
+        }
+
+        long[] collecteurIds = new long[settings.collecteurs];
+        String[] adressesMail = new String[settings.collecteurs];
+        long[][] clientIds = new long[settings.collecteurs][];
+        LocalDateTime maintenant = LocalDateTime.now();
+        int enAttente = 0;
+        int clientIndex = 0;
+
+        for (int c = 0; c < settings.collecteurs; c++) {
+            long agenceId = agenceIds[c % settings.agences];
+
+            Collecteur collecteur = new Collecteur();
+            collecteur.setNom("COLLECTEUR");
+            collecteur.setPrenom(String.format("C%04d", c + 1));
+            collecteur.setAdresseMail(String.format("collecteur%04d@collectfocep.local", c + 1));
+            collecteur.setAgence(entityManager.getReference(Agence.class, agenceId));
+            entityManager.persist(collecteur);
+            collecteurIds[c] = collecteur.getId();
+            adressesMail[c] = collecteur.getAdresseMail();
+
+            long[][] activite = new long[clientsParCollecteur[c]][];
+            for (int k = 0; k < clientsParCollecteur[c]; k++) {
+                Client client = BenchmarkData.newClient(random, clientIndex, collecteur,
+                    entityManager.getReference(Agence.class, agenceId));
+                entityManager.persist(client);
+
+                int mouvements = mouvementsParClient[clientIndex++];
+                for (int m = 0; m < mouvements; m++) {
+                    long minutes = Math.min(MAX_MINUTES, (long) (-Math.log(1 - random.nextDouble()) * MOYENNE_MINUTES));
+                    entityManager.persist(BenchmarkData.newMouvement(random, client, collecteur, maintenant.minusMinutes(minutes)));
+                }
+                activite[k] = new long[] { client.getId(), mouvements };
+
+                enAttente += 1 + mouvements;
+                if (enAttente >= LOT) {
+                    // Lots commités : mémoire et journal de transaction H2 bornés
+                    entityManager.flush();
+                    entityManager.getTransaction().commit();
+                    entityManager.clear();
+                    entityManager.getTransaction().begin();
+                    collecteur = entityManager.getReference(Collecteur.class, collecteurIds[c]);
+                    enAttente = 0;
+                }
+            }
+
+            Arrays.sort(activite, Comparator.comparingLong((long[] ligne) -> ligne[1]).reversed());
+            clientIds[c] = Arrays.stream(activite).mapToLong(ligne -> ligne[0]).toArray();
+
+            if ((c + 1) % 50 == 0) {
+                System.out.printf("🌱 %d/%d collecteurs, %d clients%n", c + 1, settings.collecteurs, clientIndex);
+            }
+        }
+
+        entityManager.flush();
+        BenchmarkData.alignerSchemaMysql(entityManager);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        System.out.printf("🌱 Population : %d agences, %d collecteurs, %d clients, %d mouvements en %d s%n",
+            settings.agences, settings.collecteurs, totalClients, settings.mouvements,
+            (System.nanoTime() - debut) / 1_000_000_000);
+        return new Population(collecteurIds, adressesMail, clientIds);
+    }
+
+    /**
+     * Répartit `total` éléments sur `n` rangs selon Zipf (rang 0 le mieux servi)
+     */
+    private static int[] repartir(int total, int n, double exposant, Random random) {
+        int[] repartition = new int[n];
+        Zipf zipf = new Zipf(n, exposant);
+        for (int i = 0; i < total; i++) {
+            repartition[zipf.next(random)]++;
+        }
+        return repartition;
+    }
+
+    /**
+     * Les clients les plus actifs ne sont pas tous chez les plus gros collecteurs
+     */
+    private static int[] melanger(int[] valeurs, Random random) {
+        List<Integer> liste = new ArrayList<>(valeurs.length);
+        for (int valeur : valeurs) {
+            liste.add(valeur);
+        }
+        Collections.shuffle(liste, random);
+        return liste.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,51 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestProbe.java
+package org.example.collectfocep.benchmarks;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.example.collectfocep.metrics.RequestProfile;
+
+import java.io.IOException;
+
+/**
+ * Filtre MockMvc placé après ClientRequestProfilingFilter : relève, en fin de requête, le nombre
+ * de requêtes SQL et l'attente du pool du profil, pour la mesure du thread appelant
+ * (MockMvc exécute la requête sur le thread du collecteur simulé)
+ */
+final class LoadTestProbe implements Filter {
+
+    private static final ThreadLocal<Mesure> COURANTE = new ThreadLocal<>();
+
+    static final class Mesure {
+        long requetes = -1;
+        double attentePoolMs;
+    }
+
+    static Mesure demarrer() {
+        Mesure mesure = new Mesure();
+        COURANTE.set(mesure);
+        return mesure;
+    }
+
+    static void terminer() {
+        COURANTE.remove();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Mesure mesure = COURANTE.get();
+            RequestProfile profile = RequestProfile.current();
+            if (mesure != null && profile != null) {
+                mesure.requetes = profile.getRequetes();
+                mesure.attentePoolMs = profile.phasesMillis().getOrDefault(LoadTestConfiguration.PHASE_ATTENTE_POOL, 0.0);
+            }
+        }
+    }
+}
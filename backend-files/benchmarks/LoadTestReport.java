@@ -0,0 +1,186 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestReport.java
+package org.example.collectfocep.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résultats d'une phase mesurée, par endpoint : débit, latences (p50 / p90 / p99 / max),
+ * requêtes SQL par requête, attente du pool de connexions et des threads du serveur
+ * Percentiles exacts : toutes les mesures sont conservées (quelques centaines de milliers au plus)
+ */
+final class LoadTestReport {
+
+    private final String version;
+    private final LoadTestSettings settings;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private long debutNanos;
+    private long dureeNanos;
+    private int poolTaille;
+    private int poolActivesMax;
+    private int poolEnAttenteMax;
+
+    LoadTestReport(String version, LoadTestSettings settings) {
+        this.version = version;
+        this.settings = settings;
+    }
+
+    void demarrer() {
+        debutNanos = System.nanoTime();
+    }
+
+    void terminer() {
+        dureeNanos = System.nanoTime() - debutNanos;
+    }
+
+    void enregistrer(String endpoint, int status, long latenceNanos, long attenteServeurNanos, LoadTestProbe.Mesure mesure) {
+        endpoints.computeIfAbsent(endpoint, EndpointStats::new)
+            .ajouter(status, latenceNanos, attenteServeurNanos, mesure.requetes, mesure.attentePoolMs);
+    }
+
+    /**
+     * Échantillon du pool (HikariPoolMXBean), relevé périodiquement pendant la phase
+     */
+    synchronized void echantillonPool(int taille, int actives, int enAttente) {
+        poolTaille = taille;
+        poolActivesMax = Math.max(poolActivesMax, actives);
+        poolEnAttenteMax = Math.max(poolEnAttenteMax, enAttente);
+    }
+
+    void afficher() {
+        double secondes = dureeNanos / 1e9;
+        System.out.println();
+        System.out.printf("📈 Test de charge %s : %d collecteurs simulés, %d thread(s) serveur, %.1f s%n",
+            version, settings.utilisateurs, settings.threadsServeur, secondes);
+        System.out.printf("%-48s %8s %8s %7s %9s %9s %9s %9s %8s %10s %10s%n",
+            "Endpoint", "Requêtes", "Req/s", "Erreurs", "p50 ms", "p90 ms", "p99 ms", "max ms", "SQL moy", "Pool p99", "Attente p99");
+        for (Map<String, Object> ligne : lignes()) {
+            System.out.printf("%-48s %8d %8.1f %7d %9.1f %9.1f %9.1f %9.1f %8.1f %10.1f %10.1f%n",
+                ligne.get("endpoint"), ligne.get("requetes"), ligne.get("debit"), ligne.get("erreurs"),
+                ligne.get("p50Ms"), ligne.get("p90Ms"), ligne.get("p99Ms"), ligne.get("maxMs"),
+                ligne.get("requetesSqlMoyenne"), ligne.get("attentePoolP99Ms"), ligne.get("attenteServeurP99Ms"));
+        }
+        System.out.printf("🔌 Pool : %d connexion(s), %d active(s) au plus, %d thread(s) en attente au plus%n",
+            poolTaille, poolActivesMax, poolEnAttenteMax);
+    }
+
+    /**
+     * results/loadtest-<version>-<horodatage>.json, à comparer entre versions
+     */
+    File ecrire(File repertoire, String horodatage) throws IOException {
+        Map<String, Object> resultat = new LinkedHashMap<>();
+        resultat.put("version", version);
+        resultat.put("settings", settings.toMap());
+        resultat.put("dureeSecondes", dureeNanos / 1e9);
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("taille", poolTaille);
+        pool.put("activesMax", poolActivesMax);
+        pool.put("enAttenteMax", poolEnAttenteMax);
+        resultat.put("pool", pool);
+        resultat.put("endpoints", lignes());
+
+        repertoire.mkdirs();
+        File fichier = new File(repertoire, "loadtest-" + version + "-" + horodatage + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(fichier, resultat);
+        return fichier;
+    }
+
+    private List<Map<String, Object>> lignes() {
+        double secondes = Math.max(dureeNanos / 1e9, 1e-9);
+        List<Map<String, Object>> lignes = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> lignes.add(stats.resume(secondes)));
+        return lignes;
+    }
+
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final Map<Integer, Integer> statuts = new TreeMap<>();
+        private long[] latences = new long[1024];
+        private long[] attentesServeur = new long[1024];
+        private double[] attentesPool = new double[1024];
+        private long requetesSql;
+        private long requetesSqlMax;
+        private int mesuresSql;
+        private int taille;
+
+        private EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private synchronized void ajouter(int status, long latenceNanos, long attenteServeurNanos,
+                                          long requetes, double attentePoolMs) {
+            if (taille == latences.length) {
+                latences = Arrays.copyOf(latences, taille * 2);
+                attentesServeur = Arrays.copyOf(attentesServeur, taille * 2);
+                attentesPool = Arrays.copyOf(attentesPool, taille * 2);
+            }
+            latences[taille] = latenceNanos;
+            attentesServeur[taille] = attenteServeurNanos;
+            attentesPool[taille] = attentePoolMs;
+            taille++;
+            statuts.merge(status, 1, Integer::sum);
+            if (requetes >= 0) {
+                requetesSql += requetes;
+                requetesSqlMax = Math.max(requetesSqlMax, requetes);
+                mesuresSql++;
+            }
+        }
+
+        private synchronized Map<String, Object> resume(double secondes) {
+            long[] lat = Arrays.copyOf(latences, taille);
+            long[] serveur = Arrays.copyOf(attentesServeur, taille);
+            double[] pool = Arrays.copyOf(attentesPool, taille);
+            Arrays.sort(lat);
+            Arrays.sort(serveur);
+            Arrays.sort(pool);
+
+            int erreurs = 0;
+            for (Map.Entry<Integer, Integer> statut : statuts.entrySet()) {
+                if (statut.getKey() >= 400) {
+                    erreurs += statut.getValue();
+                }
+            }
+
+            Map<String, Object> ligne = new LinkedHashMap<>();
+            ligne.put("endpoint", endpoint);
+            ligne.put("requetes", taille);
+            ligne.put("debit", taille / secondes);
+            ligne.put("erreurs", erreurs);
+            ligne.put("statuts", new TreeMap<>(statuts));
+            ligne.put("p50Ms", millis(percentile(lat, 0.50)));
+            ligne.put("p90Ms", millis(percentile(lat, 0.90)));
+            ligne.put("p99Ms", millis(percentile(lat, 0.99)));
+            ligne.put("maxMs", millis(taille > 0 ? lat[taille - 1] : 0));
+            ligne.put("requetesSqlMoyenne", mesuresSql > 0 ? (double) requetesSql / mesuresSql : 0.0);
+            ligne.put("requetesSqlMax", requetesSqlMax);
+            ligne.put("attentePoolMoyenneMs", Arrays.stream(pool).average().orElse(0));
+            ligne.put("attentePoolP99Ms", taille > 0 ? pool[index(taille, 0.99)] : 0.0);
+            ligne.put("attenteServeurP99Ms", millis(percentile(serveur, 0.99)));
+            return ligne;
+        }
+
+        private static long percentile(long[] triees, double p) {
+            return triees.length > 0 ? triees[index(triees.length, p)] : 0;
+        }
+
+        // Méthode du rang supérieur : p99 de 100 mesures = la 99e
+        private static int index(int n, double p) {
+            return Math.max(0, (int) Math.ceil(p * n) - 1);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
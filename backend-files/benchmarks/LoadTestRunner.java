@@ -0,0 +1,218 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestRunner.java
+package org.example.collectfocep.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.collectfocep.metrics.ClientRequestProfilingFilter;
+import org.example.collectfocep.services.ClientStatsRebuildJob;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Test de charge « rush du matin » : des centaines de collecteurs ouvrent l'application au même instant
+ * - Backend complet (ClientController, ClientStatsServiceImpl, repositories, caches) sur H2 en mode MySQL,
+ *   population asymétrique générée au démarrage (LoadTestData) : aucun service externe
+ * - Chaque collecteur simulé enchaîne des sessions : liste de ses clients (rejouée avec If-None-Match),
+ *   puis quelques résumés de ses clients les plus actifs, avec un temps de réflexion
+ * - Requêtes exécutées par MockMvc avec les filtres de sécurité et de profilage, limitées à
+ *   loadtest.server-threads en parallèle comme les threads Tomcat (l'attente est mesurée)
+ * - Rapport par endpoint : débit, p50 / p90 / p99, requêtes SQL, attente du pool de connexions
+ *
+ * Usage : java -Dloadtest.users=300 -cp collectfocep-benchmarks.jar \
+ *             org.example.collectfocep.benchmarks.LoadTestRunner [version]
+ * → results/loadtest-<version>-<horodatage>.json
+ *
+ * Les valeurs absolues sur H2 ne sont pas celles de MySQL : comparer des versions entre elles.
+ */
+public final class LoadTestRunner {
+
+    static final String ENDPOINT_LISTE = "GET /api/clients/collecteur/{collecteurId}";
+    static final String ENDPOINT_RESUME = "GET /api/clients/{clientId}/summary";
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        String version = args.length > 0 ? args[0] : "dev";
+        LoadTestSettings settings = new LoadTestSettings();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkSupport.applicationClass())
+            .profiles("bench", "loadtest")
+            .run();
+        try {
+            LoadTestData.Population population =
+                LoadTestData.seed(context.getBean(EntityManagerFactory.class), settings);
+
+            // Projection client_stats remplie par le job de reconstruction (comme en production)
+            context.getBean(ClientStatsRebuildJob.class).verify(true);
+
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean(ClientRequestProfilingFilter.class), new LoadTestProbe())
+                .apply(springSecurity())
+                .build();
+
+            // Échauffement (JIT, plans de requêtes, caches) : non mesuré
+            if (settings.sessionsEchauffement > 0) {
+                System.out.println("🔥 Échauffement...");
+                executerPhase(mockMvc, population, settings, settings.sessionsEchauffement, null);
+            }
+
+            System.out.println("🚀 Rush du matin : " + settings.utilisateurs + " collecteurs simulés");
+            LoadTestReport report = new LoadTestReport(version, settings);
+            HikariPoolMXBean pool = poolMXBean(context.getBean(DataSource.class));
+            ScheduledExecutorService echantillonneur = Executors.newSingleThreadScheduledExecutor();
+            if (pool != null) {
+                int taille = ((HikariDataSource) context.getBean(DataSource.class)).getMaximumPoolSize();
+                echantillonneur.scheduleAtFixedRate(() -> report.echantillonPool(
+                    taille, pool.getActiveConnections(), pool.getThreadsAwaitingConnection()),
+                    0, 50, TimeUnit.MILLISECONDS);
+            }
+
+            report.demarrer();
+            executerPhase(mockMvc, population, settings, settings.sessions, report);
+            report.terminer();
+            echantillonneur.shutdownNow();
+
+            report.afficher();
+            String horodatage = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            File fichier = report.ecrire(new File("results"), horodatage);
+            System.out.println("📊 Résultats : " + fichier.getAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Tous les collecteurs simulés démarrent ensemble ; report null : phase non mesurée
+     */
+    private static void executerPhase(MockMvc mockMvc, LoadTestData.Population population,
+                                      LoadTestSettings settings, int sessions, LoadTestReport report) throws Exception {
+        ExecutorService utilisateurs = Executors.newFixedThreadPool(settings.utilisateurs);
+        Semaphore threadsServeur = new Semaphore(settings.threadsServeur);
+        CountDownLatch depart = new CountDownLatch(1);
+
+        List<Future<?>> taches = new ArrayList<>();
+        for (int u = 0; u < settings.utilisateurs; u++) {
+            int collecteur = u % population.taille();
+            Random random = new Random(settings.graine + u);
+            taches.add(utilisateurs.submit(() -> {
+                depart.await();
+                simulerCollecteur(mockMvc, threadsServeur, population, collecteur, settings, sessions, random, report);
+                return null;
+            }));
+        }
+
+        depart.countDown();
+        for (Future<?> tache : taches) {
+            tache.get();
+        }
+        utilisateurs.shutdown();
+    }
+
+    private static void simulerCollecteur(MockMvc mockMvc, Semaphore threadsServeur, LoadTestData.Population population,
+                                          int collecteur, LoadTestSettings settings, int sessions, Random random,
+                                          LoadTestReport report) throws InterruptedException {
+        long collecteurId = population.collecteurIds[collecteur];
+        long[] clients = population.clientIds[collecteur];
+        LoadTestData.Zipf activite = new LoadTestData.Zipf(clients.length, settings.asymetrie);
+        String etag = null;
+
+        for (int s = 0; s < sessions; s++) {
+            // Liste des clients : requête conditionnelle dès la deuxième session (comme le mobile)
+            MockHttpServletRequestBuilder liste = get("/api/clients/collecteur/{collecteurId}", collecteurId)
+                .param("view", settings.vueListe);
+            if (etag != null) {
+                liste.header(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            MockHttpServletResponse reponse = executer(mockMvc, threadsServeur, report, ENDPOINT_LISTE,
+                authentifier(liste, population, collecteur, settings));
+            if (reponse != null && reponse.getHeader(HttpHeaders.ETAG) != null) {
+                etag = reponse.getHeader(HttpHeaders.ETAG);
+            }
+            reflechir(settings, random);
+
+            // Résumés : les clients les plus actifs sont consultés le plus souvent
+            for (int r = 0; r < settings.resumesParSession; r++) {
+                long clientId = clients[activite.next(random)];
+                executer(mockMvc, threadsServeur, report, ENDPOINT_RESUME,
+                    authentifier(get("/api/clients/{clientId}/summary", clientId), population, collecteur, settings));
+                reflechir(settings, random);
+            }
+        }
+    }
+
+    /**
+     * @return la réponse, ou null si la requête a levé une exception (comptée comme erreur 500)
+     */
+    private static MockHttpServletResponse executer(MockMvc mockMvc, Semaphore threadsServeur, LoadTestReport report,
+                                                    String endpoint, MockHttpServletRequestBuilder requete) {
+        long debut = System.nanoTime();
+        threadsServeur.acquireUninterruptibly();
+        long attenteServeur = System.nanoTime() - debut;
+        LoadTestProbe.Mesure mesure = LoadTestProbe.demarrer();
+        try {
+            MockHttpServletResponse reponse = mockMvc.perform(requete).andReturn().getResponse();
+            if (report != null) {
+                report.enregistrer(endpoint, reponse.getStatus(), System.nanoTime() - debut, attenteServeur, mesure);
+            }
+            return reponse;
+        } catch (Exception e) {
+            if (report != null) {
+                report.enregistrer(endpoint, 500, System.nanoTime() - debut, attenteServeur, mesure);
+            }
+            return null;
+        } finally {
+            LoadTestProbe.terminer();
+            threadsServeur.release();
+        }
+    }
+
+    /**
+     * ⚠️ Identité vérifiée par SecurityService.canAccessCollecteurData : adapter si le projet
+     * identifie les collecteurs autrement que par leur adresse mail
+     */
+    private static MockHttpServletRequestBuilder authentifier(MockHttpServletRequestBuilder requete,
+                                                              LoadTestData.Population population, int collecteur,
+                                                              LoadTestSettings settings) {
+        if (settings.principalAdmin()) {
+            return requete.with(user(settings.admin).roles("ADMIN"));
+        }
+        return requete.with(user(population.adressesMail[collecteur]).roles("COLLECTEUR"));
+    }
+
+    // Temps de réflexion aléatoire, moyenne loadtest.think-ms
+    private static void reflechir(LoadTestSettings settings, Random random) throws InterruptedException {
+        if (settings.reflexionMs > 0) {
+            Thread.sleep((long) (random.nextDouble() * 2 * settings.reflexionMs));
+        }
+    }
+
+    private static HikariPoolMXBean poolMXBean(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource ? ((HikariDataSource) dataSource).getHikariPoolMXBean() : null;
+    }
+}
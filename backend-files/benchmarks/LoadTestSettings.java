@@ -0,0 +1,66 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/LoadTestSettings.java
+package org.example.collectfocep.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres du test de charge, lus dans les propriétés système (-Dloadtest.clients=30000 ...)
+ * Valeurs par défaut : un « rush du matin » de 300 collecteurs sur 5 agences
+ */
+final class LoadTestSettings {
+
+    // Population (répartition asymétrique, voir LoadTestData)
+    final int agences = entier("agences", 5);
+    final int collecteurs = entier("collecteurs", 300);
+    final int clients = entier("clients", 30_000);
+    final int mouvements = entier("mouvements", 300_000);
+    final double asymetrie = decimal("skew", 1.1);
+    final long graine = Long.getLong("loadtest.seed", 42L);
+
+    // Scénario : chaque collecteur simulé ouvre l'application au même instant
+    final int utilisateurs = entier("users", 300);
+    final int sessions = entier("sessions", 3);
+    final int sessionsEchauffement = entier("warmup-sessions", 1);
+    final int resumesParSession = entier("summaries-per-session", 5);
+    final long reflexionMs = entier("think-ms", 200);
+    final String vueListe = System.getProperty("loadtest.list-view", "full");
+
+    // Threads de traitement du serveur simulé (server.tomcat.threads.max)
+    final int threadsServeur = entier("server-threads", 200);
+
+    // Identité des requêtes : "collecteur" (adresse mail du collecteur, rôle COLLECTEUR) ou "admin"
+    final String principal = System.getProperty("loadtest.principal", "collecteur");
+    final String admin = System.getProperty("loadtest.admin", "admin@collectfocep.local");
+
+    boolean principalAdmin() {
+        return "admin".equalsIgnoreCase(principal);
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("agences", agences);
+        map.put("collecteurs", collecteurs);
+        map.put("clients", clients);
+        map.put("mouvements", mouvements);
+        map.put("skew", asymetrie);
+        map.put("seed", graine);
+        map.put("users", utilisateurs);
+        map.put("sessions", sessions);
+        map.put("summariesPerSession", resumesParSession);
+        map.put("thinkMs", reflexionMs);
+        map.put("listView", vueListe);
+        map.put("serverThreads", threadsServeur);
+        map.put("principal", principal);
+        return map;
+    }
+
+    private static int entier(String nom, int defaut) {
+        return Integer.getInteger("loadtest." + nom, defaut);
+    }
+
+    private static double decimal(String nom, double defaut) {
+        String valeur = System.getProperty("loadtest." + nom);
+        return valeur != null ? Double.parseDouble(valeur) : defaut;
+    }
+}
@@ -0,0 +1,62 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/MappingBenchmark.java
+package org.example.collectfocep.benchmarks;
+
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.entities.Mouvement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du mapping entités → DTO, sans base de données
+ * À lancer avec le profileur GC (BenchmarkRunner l'active) : gc.alloc.rate.norm = octets par opération
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20", "400"})
+    public int size;
+
+    private List<Mouvement> mouvements;
+    private List<Client> clients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mouvements = BenchmarkData.inMemoryMouvements(size);
+        clients = BenchmarkData.inMemoryClients(size);
+    }
+
+    @Benchmark
+    public void mouvementDTO(Blackhole blackhole) {
+        for (Mouvement mouvement : mouvements) {
+            blackhole.consume(new MouvementDTO(mouvement));
+        }
+    }
+
+    @Benchmark
+    public void clientSummaryDTO(Blackhole blackhole) {
+        for (Client client : clients) {
+            blackhole.consume(new ClientSummaryDTO(client));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// collectfocep-benchmarks/src/main/java/org/example/collectfocep/benchmarks/SerializationBenchmark.java
+package org.example.collectfocep.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.collectfocep.dto.ClientSummaryDTO;
+import org.example.collectfocep.dto.MouvementDTO;
+import org.example.collectfocep.entities.Client;
+import org.example.collectfocep.entities.Mouvement;
+import org.example.collectfocep.util.Montant;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sérialisation Jackson d'une liste collecteur complète (20 transactions par client)
+ * Le compteur "bytes" donne la taille du JSON produit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "400"})
+    public int clients;
+
+    private ObjectMapper objectMapper;
+    private List<ClientSummaryDTO> payload;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Même configuration que l'ObjectMapper Spring Boot par défaut
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<Mouvement> mouvements = BenchmarkData.inMemoryMouvements(20);
+        List<MouvementDTO> transactions = mouvements.stream().map(MouvementDTO::new).collect(Collectors.toList());
+
+        payload = new ArrayList<>(clients);
+        for (Client client : BenchmarkData.inMemoryClients(clients)) {
+            ClientSummaryDTO dto = new ClientSummaryDTO(client);
+            dto.setTransactions(transactions);
+            dto.setTotalEpargne(Montant.ofCentimes(15_000_000L));
+            dto.setTotalRetraits(Montant.ofCentimes(2_500_050L));
+            payload.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeCollecteurList(Size size) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(payload);
+        size.bytes += json.length;
+        return json;
+    }
+}
@@ -0,0 +1,24 @@
+-- Migration MySQL 8 : projection client_stats
+-- À exécuter une fois avant de déployer ClientStatsProjectionService
+
+CREATE TABLE IF NOT EXISTS client_stats (
+    client_id            BIGINT NOT NULL PRIMARY KEY,
+    total_epargne        DOUBLE NOT NULL DEFAULT 0,
+    total_retraits       DOUBLE NOT NULL DEFAULT 0,
+    nombre_transactions  BIGINT NOT NULL DEFAULT 0,
+    derniere_transaction DATETIME(6) NULL,
+    version              BIGINT NOT NULL DEFAULT 0
+);
+
+-- Remplissage initial depuis l'historique existant
+INSERT INTO client_stats (client_id, total_epargne, total_retraits, nombre_transactions, derniere_transaction, version)
+SELECT m.client_id,
+       COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'EPARGNE' THEN m.montant ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN UPPER(m.sens) = 'RETRAIT' THEN m.montant ELSE 0 END), 0),
+       COUNT(*),
+       MAX(m.date_operation),
+       1
+FROM mouvements m
+WHERE m.client_id IS NOT NULL
+GROUP BY m.client_id
+ON DUPLICATE KEY UPDATE client_id = client_id;
@@ -0,0 +1,25 @@
+-- Migration MySQL 8 : totaux client_stats en centimes exacts (BIGINT)
+-- À exécuter après migration_client_stats.sql et migration_mouvement_sens_code.sql
+
+ALTER TABLE client_stats
+    ADD COLUMN total_epargne_centimes  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN total_retraits_centimes BIGINT NOT NULL DEFAULT 0;
+
+-- Recalcul depuis les mouvements (arrondi au centime par ligne) plutôt que conversion des sommes DOUBLE
+-- Règle d'arrondi unique : celle de Montant.toCentimes / Montant.TO_CENTIMES_SQL (4 décimales puis centime)
+UPDATE client_stats s
+JOIN (
+    SELECT m.client_id,
+           SUM(CASE WHEN m.sens_code = 'E' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END) AS epargne,
+           SUM(CASE WHEN m.sens_code = 'R' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END) AS retraits
+    FROM mouvements m
+    WHERE m.client_id IS NOT NULL
+    GROUP BY m.client_id
+) a ON a.client_id = s.client_id
+SET s.total_epargne_centimes = a.epargne,
+    s.total_retraits_centimes = a.retraits,
+    s.version = s.version + 1;
+
+ALTER TABLE client_stats
+    DROP COLUMN total_epargne,
+    DROP COLUMN total_retraits;
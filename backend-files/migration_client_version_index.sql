@@ -0,0 +1,5 @@
+-- Migration MySQL 8 : index des empreintes client (ETag des résumés clients)
+-- MAX(updated_at) des mouvements d'un client lu par une seule plongée d'index
+
+CREATE INDEX idx_mouvements_client_updated
+    ON mouvements (client_id, updated_at);
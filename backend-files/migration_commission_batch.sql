@@ -0,0 +1,21 @@
+-- Migration MySQL 8 : résultats du moteur de commission par lots (CommissionBatchEngine)
+-- À exécuter après migration_mouvement_sens_code.sql
+-- Le flux des épargnes utilise idx_mouvements_client_date_id (migration_mouvement_history_index.sql)
+
+CREATE TABLE IF NOT EXISTS commission_calcul_client (
+    id                        BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    collecteur_id             BIGINT       NOT NULL,
+    client_id                 BIGINT       NOT NULL,
+    date_debut                DATE         NOT NULL,
+    date_fin                  DATE         NOT NULL,
+    montant_epargne_centimes  BIGINT       NOT NULL,
+    commission_centimes       BIGINT       NOT NULL,
+    tva_centimes              BIGINT       NOT NULL,
+    type_commission           VARCHAR(20)  NOT NULL,
+    niveau_parametre          VARCHAR(20)  NOT NULL,
+    parametre_id              BIGINT       NOT NULL,
+    calcule_le                DATETIME(6)  NOT NULL,
+    -- Recalculer une période remplace les résultats précédents du collecteur (suppression puis écriture)
+    UNIQUE KEY uk_commission_calcul_client_periode (client_id, date_debut, date_fin),
+    INDEX idx_commission_calcul_collecteur_periode (collecteur_id, date_debut, date_fin)
+);
@@ -0,0 +1,75 @@
+-- Migration MySQL 8 : compteur de version des paramètres de commission (CommissionParameterStore)
+-- Incrémenté par trigger à chaque écriture : chaque instance compare ce compteur (lecture d'une ligne)
+-- et recharge ses paramètres en mémoire s'il a changé, y compris après un script SQL
+
+CREATE TABLE IF NOT EXISTS commission_parameter_version (
+    id       TINYINT  NOT NULL PRIMARY KEY,
+    version  BIGINT   NOT NULL
+);
+
+INSERT IGNORE INTO commission_parameter_version (id, version) VALUES (1, 1);
+
+DELIMITER //
+
+CREATE TRIGGER trg_commission_parameters_version_insert AFTER INSERT ON commission_parameters
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+CREATE TRIGGER trg_commission_parameters_version_update AFTER UPDATE ON commission_parameters
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+CREATE TRIGGER trg_commission_parameters_version_delete AFTER DELETE ON commission_parameters
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+CREATE TRIGGER trg_commission_tiers_version_insert AFTER INSERT ON commission_tiers
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+CREATE TRIGGER trg_commission_tiers_version_update AFTER UPDATE ON commission_tiers
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+CREATE TRIGGER trg_commission_tiers_version_delete AFTER DELETE ON commission_tiers
+FOR EACH ROW
+BEGIN
+    UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+END//
+
+-- La résolution au niveau agence dépend de l'agence du collecteur (création, transfert, suppression)
+CREATE TRIGGER trg_collecteurs_commission_version_insert AFTER INSERT ON collecteurs
+FOR EACH ROW
+BEGIN
+    IF NEW.agence_id IS NOT NULL THEN
+        UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+    END IF;
+END//
+
+CREATE TRIGGER trg_collecteurs_commission_version_delete AFTER DELETE ON collecteurs
+FOR EACH ROW
+BEGIN
+    IF OLD.agence_id IS NOT NULL THEN
+        UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+    END IF;
+END//
+
+CREATE TRIGGER trg_collecteurs_commission_version AFTER UPDATE ON collecteurs
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.agence_id <=> NEW.agence_id) THEN
+        UPDATE commission_parameter_version SET version = version + 1 WHERE id = 1;
+    END IF;
+END//
+
+DELIMITER ;
@@ -0,0 +1,49 @@
+-- Migration MySQL 8 : flux de changements pour la synchronisation incrémentale mobile
+-- updated_at est maintenu par la base (horloge unique, indépendante des serveurs applicatifs)
+
+ALTER TABLE clients
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_clients_collecteur_updated ON clients (collecteur_id, updated_at);
+
+ALTER TABLE mouvements
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_mouvements_updated ON mouvements (updated_at);
+
+-- Suppressions et changements de collecteur, vus par chaque collecteur concerné
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type   VARCHAR(20) NOT NULL,  -- CLIENT, MOUVEMENT
+    entity_id     BIGINT NOT NULL,
+    collecteur_id BIGINT NOT NULL,
+    client_id     BIGINT NULL,           -- MOUVEMENT : client dont les totaux changent
+    deleted_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_sync_tombstones_collecteur (collecteur_id, deleted_at)
+);
+
+DELIMITER //
+
+CREATE TRIGGER trg_clients_tombstone_delete AFTER DELETE ON clients
+FOR EACH ROW
+BEGIN
+    INSERT INTO sync_tombstones (entity_type, entity_id, collecteur_id)
+    VALUES ('CLIENT', OLD.id, OLD.collecteur_id);
+END//
+
+-- Un client transféré disparaît de la liste de son ancien collecteur
+CREATE TRIGGER trg_clients_tombstone_transfer AFTER UPDATE ON clients
+FOR EACH ROW
+BEGIN
+    IF OLD.collecteur_id <> NEW.collecteur_id THEN
+        INSERT INTO sync_tombstones (entity_type, entity_id, collecteur_id)
+        VALUES ('CLIENT', OLD.id, OLD.collecteur_id);
+    END IF;
+END//
+
+CREATE TRIGGER trg_mouvements_tombstone_delete AFTER DELETE ON mouvements
+FOR EACH ROW
+BEGIN
+    INSERT INTO sync_tombstones (entity_type, entity_id, collecteur_id, client_id)
+    SELECT 'MOUVEMENT', OLD.id, c.collecteur_id, OLD.client_id FROM clients c WHERE c.id = OLD.client_id;
+END//
+
+DELIMITER ;
@@ -0,0 +1,6 @@
+-- Migration MySQL 8 : index de l'historique client paginé par curseur
+-- Couvre ORDER BY date_operation DESC, id DESC et le prédicat de curseur
+-- (y compris la plage date_operation IS NULL des mouvements sans date)
+
+CREATE INDEX idx_mouvements_client_date_id
+    ON mouvements (client_id, date_operation DESC, id DESC);
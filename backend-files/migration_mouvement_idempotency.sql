@@ -0,0 +1,8 @@
+-- Migration MySQL 8 : clé d'idempotence des mouvements saisis hors ligne (MouvementBulkService)
+-- NULL pour les mouvements saisis en ligne : plusieurs NULL sont autorisés par l'index unique
+
+ALTER TABLE mouvements
+    ADD COLUMN idempotency_key VARCHAR(64) NULL;
+
+-- Un lot renvoyé après une coupure ne peut pas créer de doublon, même en concurrence
+CREATE UNIQUE INDEX uk_mouvements_collecteur_idempotency ON mouvements (collecteur_id, idempotency_key);
@@ -0,0 +1,277 @@
+-- Migration MySQL 8 : mouvements partitionnés par mois, totaux figés des mois clos
+-- À exécuter après migration_mouvement_idempotency.sql, migration_delta_sync.sql et migration_rollup_journalier.sql
+-- ⚠️ Reconstruit la table mouvements (copie complète) : à passer dans une fenêtre de maintenance
+--
+-- Un mois antérieur à mouvement_periode_ouverte.debut_periode_ouverte est « clos » : ses totaux par client
+-- sont figés dans client_periode_stats (MouvementPeriodeJob). Les totaux d'un client = lignes figées
+-- + parcours des seules partitions ouvertes (MouvementRepository.calculateTotalsForClient).
+
+-- 1. Totaux figés : une ligne par client et par mois clos
+CREATE TABLE IF NOT EXISTS client_periode_stats (
+    client_id                BIGINT      NOT NULL,
+    -- Premier jour du mois
+    periode                  DATE        NOT NULL,
+    total_epargne_centimes   BIGINT      NOT NULL DEFAULT 0,
+    total_retraits_centimes  BIGINT      NOT NULL DEFAULT 0,
+    nombre_transactions      BIGINT      NOT NULL DEFAULT 0,
+    derniere_transaction     DATETIME(6) NULL,
+    gele_le                  DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (client_id, periode)
+);
+
+-- 2. Frontière des mois clos (une seule ligne, verrouillée par la clôture)
+CREATE TABLE IF NOT EXISTS mouvement_periode_ouverte (
+    id                     TINYINT     NOT NULL PRIMARY KEY,
+    debut_periode_ouverte  DATE        NOT NULL,
+    cloture_le             DATETIME(6) NULL
+);
+
+-- Rien n'est figé au départ : la première clôture fige l'historique mois par mois
+INSERT IGNORE INTO mouvement_periode_ouverte (id, debut_periode_ouverte)
+SELECT 1, COALESCE(DATE_FORMAT(MIN(date_operation), '%Y-%m-01'), DATE_FORMAT(CURDATE(), '%Y-%m-01'))
+FROM mouvements;
+
+-- 2 bis. Mouvements sans date d'opération : date_operation devient NOT NULL (clé de partitionnement)
+--    Aucune date n'est inventée (ni updated_at ni created_at, qui ne sont pas des dates d'opération) :
+--    date conventionnelle « date inconnue » 1970-01-01 00:00:00, partition dédiée p_sans_date.
+--    Ce jour est antérieur à la frontière calculée ci-dessus (MIN ignore les NULL) : il est figé ici,
+--    les totaux clients restent exacts ; l'historique paginé les place en dernier, comme avant.
+--    Repérer ces mouvements : WHERE date_operation = '1970-01-01 00:00:00'
+UPDATE mouvements SET date_operation = '1970-01-01 00:00:00' WHERE date_operation IS NULL;
+
+INSERT INTO client_periode_stats
+    (client_id, periode, total_epargne_centimes, total_retraits_centimes, nombre_transactions, derniere_transaction)
+SELECT client_id, '1970-01-01',
+       SUM(CASE WHEN sens_code = 'E' THEN ROUND(CAST(montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       SUM(CASE WHEN sens_code = 'R' THEN ROUND(CAST(montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       COUNT(*),
+       MAX(date_operation)
+FROM mouvements
+WHERE date_operation = '1970-01-01 00:00:00' AND client_id IS NOT NULL
+GROUP BY client_id;
+
+-- Agrégats du jour conventionnel (les mouvements sans date en étaient exclus) : même calcul que
+-- RollupJournalierRepository.rebuildJour, pour que corrections et vérifications restent cohérentes
+INSERT INTO rollup_journalier
+    (jour, collecteur_id, agence_id, total_epargne_centimes, total_retraits_centimes,
+     nombre_epargnes, nombre_retraits, nombre_transactions, version)
+SELECT DATE(m.date_operation),
+       COALESCE(m.collecteur_id, cl.collecteur_id),
+       MAX(col.agence_id),
+       SUM(CASE WHEN m.sens_code = 'E' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       SUM(CASE WHEN m.sens_code = 'R' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       SUM(m.sens_code = 'E'),
+       SUM(m.sens_code = 'R'),
+       COUNT(*),
+       1
+FROM mouvements m
+LEFT JOIN clients cl ON cl.id = m.client_id
+JOIN collecteurs col ON col.id = COALESCE(m.collecteur_id, cl.collecteur_id)
+WHERE m.date_operation = '1970-01-01 00:00:00'
+GROUP BY DATE(m.date_operation), COALESCE(m.collecteur_id, cl.collecteur_id)
+ON DUPLICATE KEY UPDATE
+    agence_id = VALUES(agence_id),
+    total_epargne_centimes = VALUES(total_epargne_centimes),
+    total_retraits_centimes = VALUES(total_retraits_centimes),
+    nombre_epargnes = VALUES(nombre_epargnes),
+    nombre_retraits = VALUES(nombre_retraits),
+    nombre_transactions = VALUES(nombre_transactions),
+    version = version + 1;
+
+-- 3. Clés d'idempotence : table non partitionnée, unicité (collecteur, clé) indépendante de la date
+--    (une clé unique de mouvements devrait contenir date_operation : un renvoi daté autrement créerait un doublon)
+CREATE TABLE IF NOT EXISTS mouvement_idempotence (
+    collecteur_id    BIGINT      NOT NULL,
+    idempotency_key  VARCHAR(64) NOT NULL,
+    mouvement_id     BIGINT      NOT NULL,
+    date_operation   DATETIME(6) NOT NULL,
+    PRIMARY KEY (collecteur_id, idempotency_key)
+);
+
+INSERT IGNORE INTO mouvement_idempotence (collecteur_id, idempotency_key, mouvement_id, date_operation)
+SELECT collecteur_id, idempotency_key, id, date_operation
+FROM mouvements
+WHERE collecteur_id IS NOT NULL AND idempotency_key IS NOT NULL;
+
+DELIMITER //
+
+-- Une table partitionnée ne peut ni porter ni recevoir de clé étrangère :
+-- l'appartenance client / collecteur reste contrôlée par les services
+CREATE PROCEDURE migration_supprimer_fk_mouvements()
+BEGIN
+    DECLARE termine INT DEFAULT 0;
+    DECLARE v_table VARCHAR(64);
+    DECLARE v_contrainte VARCHAR(64);
+    DECLARE contraintes CURSOR FOR
+        SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+        WHERE CONSTRAINT_SCHEMA = DATABASE()
+          AND (TABLE_NAME = 'mouvements' OR REFERENCED_TABLE_NAME = 'mouvements');
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET termine = 1;
+
+    OPEN contraintes;
+    lecture: LOOP
+        FETCH contraintes INTO v_table, v_contrainte;
+        IF termine THEN
+            LEAVE lecture;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE `', v_table, '` DROP FOREIGN KEY `', v_contrainte, '`');
+        PREPARE instruction FROM @ddl;
+        EXECUTE instruction;
+        DEALLOCATE PREPARE instruction;
+    END LOOP;
+    CLOSE contraintes;
+END//
+
+-- p_sans_date (date conventionnelle, étape 2 bis), puis une partition par mois, du plus ancien mouvement
+-- daté à deux mois d'avance, puis pmax (les mois suivants sont ajoutés par MouvementPeriodeJob en découpant pmax)
+CREATE PROCEDURE migration_partitionner_mouvements()
+BEGIN
+    DECLARE mois DATE;
+    DECLARE limite DATE;
+    DECLARE ddl TEXT DEFAULT
+        'ALTER TABLE mouvements PARTITION BY RANGE COLUMNS (date_operation) (PARTITION p_sans_date VALUES LESS THAN (''1970-01-02''), ';
+
+    SELECT COALESCE(DATE_FORMAT(MIN(date_operation), '%Y-%m-01'), DATE_FORMAT(CURDATE(), '%Y-%m-01'))
+    INTO mois FROM mouvements WHERE date_operation >= '1970-01-02';
+    SET limite = DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL 3 MONTH);
+
+    WHILE mois < limite DO
+        SET ddl = CONCAT(ddl, 'PARTITION p', DATE_FORMAT(mois, '%Y%m'),
+                         ' VALUES LESS THAN (''', DATE_ADD(mois, INTERVAL 1 MONTH), '''), ');
+        SET mois = DATE_ADD(mois, INTERVAL 1 MONTH);
+    END WHILE;
+
+    SET @ddl = CONCAT(ddl, 'PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+    PREPARE instruction FROM @ddl;
+    EXECUTE instruction;
+    DEALLOCATE PREPARE instruction;
+END//
+
+DELIMITER ;
+
+-- 4. Clés étrangères de et vers mouvements
+CALL migration_supprimer_fk_mouvements();
+DROP PROCEDURE migration_supprimer_fk_mouvements;
+
+-- 5. Toute clé unique doit contenir la colonne de partitionnement
+--    (adapter le type de date_operation s'il diffère de DATETIME(6) ; plus aucun NULL après l'étape 2 bis)
+ALTER TABLE mouvements
+    MODIFY date_operation DATETIME(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, date_operation),
+    -- Remplacée par mouvement_idempotence (étape 3)
+    DROP INDEX uk_mouvements_collecteur_idempotency;
+
+-- 6. Partitionnement (copie de la table)
+CALL migration_partitionner_mouvements();
+DROP PROCEDURE migration_partitionner_mouvements;
+
+-- Les index existants deviennent locaux à chaque partition : (client_id, sens_code, montant) reste
+-- un parcours d'index seul, limité aux partitions des mois ouverts
+
+DELIMITER //
+
+-- 7. Écriture tardive dans un mois clos (synchronisation hors ligne, correction) :
+--    reportée sur le total figé du client dans la même transaction
+--    signe = 1 (ajout) ou -1 (retrait) ; exclu_id : ligne ignorée pour recalculer la dernière transaction
+CREATE PROCEDURE mouvement_periode_reporter(IN p_client_id BIGINT, IN p_date DATETIME(6), IN p_sens VARCHAR(50),
+                                            IN p_montant DOUBLE, IN p_signe INT, IN p_exclu_id BIGINT)
+BEGIN
+    DECLARE v_debut_ouvert DATE;
+    DECLARE v_periode DATE;
+    DECLARE v_code CHAR(1);
+    DECLARE v_centimes BIGINT;
+
+    -- Mois courant : jamais clos, aucun verrou (presque tous les mouvements)
+    IF p_client_id IS NOT NULL AND p_date IS NOT NULL AND p_date < DATE_FORMAT(CURDATE(), '%Y-%m-01') THEN
+        -- Verrou partagé : attend la fin d'une clôture en cours (verrou exclusif de MouvementPeriodeJob)
+        SELECT debut_periode_ouverte INTO v_debut_ouvert FROM mouvement_periode_ouverte WHERE id = 1 FOR SHARE;
+
+        IF p_date < v_debut_ouvert THEN
+            SET v_periode = DATE_FORMAT(p_date, '%Y-%m-01');
+            -- Même calcul que la colonne générée sens_code et que Montant.of
+            SET v_code = CASE UPPER(p_sens) WHEN 'EPARGNE' THEN 'E' WHEN 'RETRAIT' THEN 'R' ELSE 'X' END;
+            SET v_centimes = ROUND(CAST(p_montant AS DECIMAL(19,4)) * 100);
+
+            IF p_signe > 0 THEN
+                INSERT INTO client_periode_stats
+                    (client_id, periode, total_epargne_centimes, total_retraits_centimes, nombre_transactions, derniere_transaction)
+                VALUES (p_client_id, v_periode, IF(v_code = 'E', v_centimes, 0), IF(v_code = 'R', v_centimes, 0), 1, p_date)
+                ON DUPLICATE KEY UPDATE
+                    total_epargne_centimes = total_epargne_centimes + VALUES(total_epargne_centimes),
+                    total_retraits_centimes = total_retraits_centimes + VALUES(total_retraits_centimes),
+                    nombre_transactions = nombre_transactions + 1,
+                    derniere_transaction = GREATEST(COALESCE(derniere_transaction, VALUES(derniere_transaction)),
+                                                    COALESCE(VALUES(derniere_transaction), derniere_transaction));
+            ELSE
+                UPDATE client_periode_stats
+                SET total_epargne_centimes = total_epargne_centimes - IF(v_code = 'E', v_centimes, 0),
+                    total_retraits_centimes = total_retraits_centimes - IF(v_code = 'R', v_centimes, 0),
+                    nombre_transactions = nombre_transactions - 1,
+                    derniere_transaction = (
+                        SELECT MAX(m.date_operation) FROM mouvements m
+                        WHERE m.client_id = p_client_id AND m.id <> p_exclu_id
+                          AND m.date_operation >= v_periode AND m.date_operation < DATE_ADD(v_periode, INTERVAL 1 MONTH))
+                WHERE client_id = p_client_id AND periode = v_periode;
+            END IF;
+        END IF;
+    END IF;
+END//
+
+-- BEFORE : le verrou de la frontière est pris avant celui de la ligne insérée
+CREATE TRIGGER trg_mouvements_periode_insert BEFORE INSERT ON mouvements
+FOR EACH ROW
+BEGIN
+    CALL mouvement_periode_reporter(NEW.client_id, NEW.date_operation, NEW.sens, NEW.montant, 1, NULL);
+END//
+
+CREATE TRIGGER trg_mouvements_periode_update BEFORE UPDATE ON mouvements
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.client_id <=> NEW.client_id AND OLD.date_operation <=> NEW.date_operation
+            AND OLD.sens <=> NEW.sens AND OLD.montant <=> NEW.montant) THEN
+        CALL mouvement_periode_reporter(OLD.client_id, OLD.date_operation, OLD.sens, OLD.montant, -1, OLD.id);
+        CALL mouvement_periode_reporter(NEW.client_id, NEW.date_operation, NEW.sens, NEW.montant, 1, NULL);
+    END IF;
+END//
+
+CREATE TRIGGER trg_mouvements_periode_delete BEFORE DELETE ON mouvements
+FOR EACH ROW
+BEGIN
+    CALL mouvement_periode_reporter(OLD.client_id, OLD.date_operation, OLD.sens, OLD.montant, -1, OLD.id);
+END//
+
+-- 8. Clés d'idempotence tenues à jour par trigger, quel que soit le chemin d'écriture
+--    AFTER : l'id auto-incrémenté est connu ; une clé déjà prise fait échouer l'insertion (erreur 1062)
+CREATE TRIGGER trg_mouvements_idempotence_insert AFTER INSERT ON mouvements
+FOR EACH ROW
+BEGIN
+    IF NEW.collecteur_id IS NOT NULL AND NEW.idempotency_key IS NOT NULL THEN
+        INSERT INTO mouvement_idempotence (collecteur_id, idempotency_key, mouvement_id, date_operation)
+        VALUES (NEW.collecteur_id, NEW.idempotency_key, NEW.id, NEW.date_operation);
+    END IF;
+END//
+
+CREATE TRIGGER trg_mouvements_idempotence_update AFTER UPDATE ON mouvements
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.collecteur_id <=> NEW.collecteur_id AND OLD.idempotency_key <=> NEW.idempotency_key
+            AND OLD.date_operation <=> NEW.date_operation) THEN
+        DELETE FROM mouvement_idempotence
+        WHERE collecteur_id = OLD.collecteur_id AND idempotency_key = OLD.idempotency_key AND mouvement_id = OLD.id;
+        IF NEW.collecteur_id IS NOT NULL AND NEW.idempotency_key IS NOT NULL THEN
+            INSERT INTO mouvement_idempotence (collecteur_id, idempotency_key, mouvement_id, date_operation)
+            VALUES (NEW.collecteur_id, NEW.idempotency_key, NEW.id, NEW.date_operation);
+        END IF;
+    END IF;
+END//
+
+-- Comme l'ancien index unique : un mouvement supprimé libère sa clé
+CREATE TRIGGER trg_mouvements_idempotence_delete AFTER DELETE ON mouvements
+FOR EACH ROW
+BEGIN
+    DELETE FROM mouvement_idempotence
+    WHERE collecteur_id = OLD.collecteur_id AND idempotency_key = OLD.idempotency_key AND mouvement_id = OLD.id;
+END//
+
+DELIMITER ;
@@ -0,0 +1,15 @@
+-- Migration MySQL 8 : sens normalisé et index couvrant des totaux client
+-- Colonne générée STORED : remplie pour toutes les lignes existantes à l'ALTER,
+-- puis maintenue par MySQL à chaque insertion / mise à jour de "sens"
+
+ALTER TABLE mouvements
+    ADD COLUMN sens_code CHAR(1) AS (
+        CASE UPPER(sens)
+            WHEN 'EPARGNE' THEN 'E'
+            WHEN 'RETRAIT' THEN 'R'
+            ELSE 'X'
+        END
+    ) STORED NOT NULL;
+
+-- SUM(montant) WHERE client_id = ? AND sens_code = ? : lecture de l'index seul
+CREATE INDEX idx_mouvements_client_sens_montant ON mouvements (client_id, sens_code, montant);
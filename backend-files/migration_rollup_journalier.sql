@@ -0,0 +1,52 @@
+-- Migration MySQL 8 : agrégats journaliers par collecteur (tableaux de bord admin)
+-- À exécuter après migration_mouvement_sens_code.sql
+-- Hiérarchie : client (client_stats) → collecteur (cette table) → agence (somme des collecteurs)
+
+CREATE TABLE IF NOT EXISTS rollup_journalier (
+    jour                     DATE     NOT NULL,
+    collecteur_id            BIGINT   NOT NULL,
+    -- Agence du collecteur, dénormalisée pour les requêtes par agence
+    agence_id                BIGINT   NULL,
+    total_epargne_centimes   BIGINT   NOT NULL DEFAULT 0,
+    total_retraits_centimes  BIGINT   NOT NULL DEFAULT 0,
+    nombre_epargnes          BIGINT   NOT NULL DEFAULT 0,
+    nombre_retraits          BIGINT   NOT NULL DEFAULT 0,
+    nombre_transactions      BIGINT   NOT NULL DEFAULT 0,
+    version                  BIGINT   NOT NULL DEFAULT 0,
+    PRIMARY KEY (collecteur_id, jour),
+    INDEX idx_rollup_journalier_agence_jour (agence_id, jour),
+    INDEX idx_rollup_journalier_jour (jour)
+);
+
+-- Remplissage initial depuis les mouvements existants (même calcul que RollupJournalierRepository.rebuildJour,
+-- arrondi de Montant.TO_CENTIMES_SQL)
+-- Mouvements sans date d'opération exclus : aucun jour de rattachement (jour fait partie de la clé primaire),
+-- comme DashboardRollupService.applyMouvement et la reconstruction par jour
+INSERT INTO rollup_journalier
+    (jour, collecteur_id, agence_id, total_epargne_centimes, total_retraits_centimes,
+     nombre_epargnes, nombre_retraits, nombre_transactions, version)
+SELECT DATE(m.date_operation),
+       COALESCE(m.collecteur_id, cl.collecteur_id),
+       MAX(col.agence_id),
+       SUM(CASE WHEN m.sens_code = 'E' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       SUM(CASE WHEN m.sens_code = 'R' THEN ROUND(CAST(m.montant AS DECIMAL(19,4)) * 100) ELSE 0 END),
+       SUM(m.sens_code = 'E'),
+       SUM(m.sens_code = 'R'),
+       COUNT(*),
+       1
+FROM mouvements m
+LEFT JOIN clients cl ON cl.id = m.client_id
+JOIN collecteurs col ON col.id = COALESCE(m.collecteur_id, cl.collecteur_id)
+WHERE m.date_operation IS NOT NULL
+GROUP BY DATE(m.date_operation), COALESCE(m.collecteur_id, cl.collecteur_id)
+ON DUPLICATE KEY UPDATE
+    agence_id = VALUES(agence_id),
+    total_epargne_centimes = VALUES(total_epargne_centimes),
+    total_retraits_centimes = VALUES(total_retraits_centimes),
+    nombre_epargnes = VALUES(nombre_epargnes),
+    nombre_retraits = VALUES(nombre_retraits),
+    nombre_transactions = VALUES(nombre_transactions),
+    version = version + 1;
+
+-- Fenêtres de vérification / reconstruction par jour (RollupRebuildJob)
+CREATE INDEX idx_mouvements_date_operation ON mouvements (date_operation);
@@ -71,6 +71,7 @@ const ClientInput = ({
       
       const response = await clientService.getAllClients({ 
         collecteurId: collecteurId,
+        view: 'list', // Sélection : identité seulement, sans statistiques
         size: 1000 // Récupérer tous les clients
       });
 
@@ -129,25 +130,11 @@ const ClientInput = ({
       setLoading(true);
       setError(null);
       
-      const response = await clientService.getAllClients({ 
-        collecteurId: collecteurId,
-        size: 20, 
-        search: query 
-      });
+      // Index de recherche serveur (nom sans accents, compte, téléphone), résultats déjà formatés
+      const response = await clientService.searchUnified(collecteurId, query, 20);
 
       if (response.success && response.data) {
-        const clients = Array.isArray(response.data) ? response.data : [];
-        const formattedClients = clients.map(client => ({
-          id: client.id,
-          nom: client.nom,
-          prenom: client.prenom,
-          numeroCompte: client.numeroCompte,
-          numeroCni: client.numeroCni,
-          telephone: client.telephone,
-          valide: client.valide, // 🔥 AJOUT : Statut d'activation du client
-          displayName: `${client.prenom} ${client.nom}`,
-          hasPhone: !!(client.telephone && client.telephone.trim() !== '')
-        }));
+        const formattedClients = Array.isArray(response.data) ? response.data : [];
 
         setSuggestions(formattedClients);
         setShowSuggestions(true);
@@ -177,31 +164,13 @@ const ClientInput = ({
       setLoading(true);
       setError(null);
 
-      const response = await clientService.getAllClients({ 
-        collecteurId: collecteurId,
-        size: 1000 
-      });
-      
+      // Recherche exacte dans l'index serveur, au lieu de charger toute la liste du collecteur
+      const response = await clientService.findByAccountNumber(collecteurId, account);
+
       if (response.success && response.data) {
-        const clients = Array.isArray(response.data) ? response.data : [];
-        const matchingClient = clients.find(client => client.numeroCompte === account.trim());
-
-        if (matchingClient) {
-          const formattedClient = {
-            id: matchingClient.id,
-            nom: matchingClient.nom,
-            prenom: matchingClient.prenom,
-            numeroCompte: matchingClient.numeroCompte,
-            numeroCni: matchingClient.numeroCni,
-            telephone: matchingClient.telephone,
-            valide: matchingClient.valide, // 🔥 AJOUT : Statut d'activation du client
-            displayName: `${matchingClient.prenom} ${matchingClient.nom}`,
-            hasPhone: !!(matchingClient.telephone && matchingClient.telephone.trim() !== '')
-          };
-
-          setClientName(formattedClient.displayName);
-          handleClientSelect(formattedClient);
-        }
+        const formattedClient = response.data;
+        setClientName(formattedClient.displayName);
+        handleClientSelect(formattedClient);
       }
     } catch (err) {
       console.error('Erreur recherche par compte:', err);
@@ -2,6 +2,16 @@
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import { Subject } from 'rxjs';
 import { Platform } from 'react-native';
+import { format } from 'date-fns';
+
+// Types d'opérations envoyés en lot à /mouvements/bulk
+const MOUVEMENT_TYPES = {
+  CREATE_TRANSACTION: 'EPARGNE',
+  WITHDRAWAL: 'RETRAIT'
+};
+
+// Taille maximale d'un lot côté serveur (MouvementBulkService.MAX_LOT)
+const BULK_MAX_SIZE = 500;
 
 export const SYNC_STATUS = {
   IDLE: 'idle',
@@ -110,9 +120,18 @@ class SyncService {
     }
 
     try {
+      // Épargne / retrait : collecteur de la session au moment de la saisie s'il n'est pas fourni
+      if (MOUVEMENT_TYPES[operation.type] && operation.data && operation.data.collecteurId == null) {
+        const collecteurId = await this.getSessionCollecteurId();
+        if (collecteurId != null) {
+          operation = { ...operation, data: { ...operation.data, collecteurId } };
+        }
+      }
+
       const operationWithId = {
         ...operation,
-        id: Date.now().toString(),
+        // Sert aussi de clé d'idempotence : unique même pour deux saisies dans la même milliseconde
+        id: `${Date.now()}-${Math.random().toString(36).slice(2, 10)}`,
         timestamp: new Date().toISOString(),
         retryCount: 0
       };
@@ -181,8 +200,26 @@ class SyncService {
       const results = [];
       const failedOperations = [];
 
-      // Traiter chaque opération en attente
-      for (const operation of [...this.pendingOperations]) {
+      // Épargnes et retraits : envoyés en lots (quelques requêtes au lieu d'une par opération)
+      const mouvementOperations = this.pendingOperations.filter(op => MOUVEMENT_TYPES[op.type]);
+      for (const outcome of await this.processMouvementBatches(mouvementOperations)) {
+        const { operation, success, rejected, deferred, error } = outcome;
+        if (deferred) {
+          // Collecteur non résolu (session non chargée) : conservée, sans compter de tentative
+          results.push({ id: operation.id, success: false, error });
+          continue;
+        }
+        if (success || rejected) {
+          // Créé, déjà traité ou rejeté définitivement : ne plus renvoyer
+          this.pendingOperations = this.pendingOperations.filter(op => op.id !== operation.id);
+        } else {
+          this.handleFailedOperation(operation, failedOperations);
+        }
+        results.push({ id: operation.id, success, error });
+      }
+
+      // Traiter chaque autre opération en attente
+      for (const operation of this.pendingOperations.filter(op => !MOUVEMENT_TYPES[op.type])) {
         try {
           await this.processOperation(operation);
           results.push({ id: operation.id, success: true });
@@ -191,15 +228,7 @@ class SyncService {
           this.pendingOperations = this.pendingOperations.filter(op => op.id !== operation.id);
         } catch (error) {
           console.error(`Erreur lors du traitement de l'opération ${operation.id}:`, error);
-          operation.retryCount = (operation.retryCount || 0) + 1;
-          
-          // Si trop d'échecs, abandonner
-          if (operation.retryCount >= 3) {
-            console.warn(`Abandon de l'opération ${operation.id} après 3 tentatives`);
-            this.pendingOperations = this.pendingOperations.filter(op => op.id !== operation.id);
-          } else {
-            failedOperations.push(operation);
-          }
+          this.handleFailedOperation(operation, failedOperations);
           
           results.push({ id: operation.id, success: false, error: error.message });
         }
@@ -228,6 +257,111 @@ class SyncService {
     }
   }
 
+  // Compter un échec ; abandon après 3 tentatives
+  handleFailedOperation(operation, failedOperations) {
+    operation.retryCount = (operation.retryCount || 0) + 1;
+
+    if (operation.retryCount >= 3) {
+      console.warn(`Abandon de l'opération ${operation.id} après 3 tentatives`);
+      this.pendingOperations = this.pendingOperations.filter(op => op.id !== operation.id);
+    } else {
+      failedOperations.push(operation);
+    }
+  }
+
+  // Envoyer les épargnes / retraits en lots par collecteur, dans l'ordre de saisie
+  // L'id de l'opération est la clé d'idempotence : renvoyer un lot ne crée pas de doublon
+  async processMouvementBatches(operations) {
+    const outcomes = [];
+    if (operations.length === 0) {
+      return outcomes;
+    }
+
+    const { mouvementService } = await import('./index');
+    const sessionCollecteurId = await this.getSessionCollecteurId();
+
+    const byCollecteur = new Map();
+    for (const operation of operations) {
+      const collecteurId = operation.data?.collecteurId ?? sessionCollecteurId;
+      if (collecteurId == null) {
+        outcomes.push(await this.processMouvementIndividually(operation));
+        continue;
+      }
+      if (!byCollecteur.has(collecteurId)) {
+        byCollecteur.set(collecteurId, []);
+      }
+      byCollecteur.get(collecteurId).push(operation);
+    }
+
+    for (const [collecteurId, collecteurOperations] of byCollecteur) {
+      for (let start = 0; start < collecteurOperations.length; start += BULK_MAX_SIZE) {
+        const batch = collecteurOperations.slice(start, start + BULK_MAX_SIZE);
+        try {
+          const response = await mouvementService.enregistrerLot(collecteurId, batch.map(operation => ({
+            cleIdempotence: operation.id,
+            clientId: operation.data.clientId,
+            montant: operation.data.montant,
+            sens: MOUVEMENT_TYPES[operation.type],
+            // Heure locale de saisie (le serveur attend une date sans fuseau)
+            dateOperation: format(new Date(operation.timestamp), "yyyy-MM-dd'T'HH:mm:ss"),
+            libelle: operation.data.description || undefined
+          })));
+
+          const resultats = response.data?.resultats || [];
+          const byKey = new Map(resultats.map(resultat => [resultat.cleIdempotence, resultat]));
+          for (const operation of batch) {
+            const resultat = byKey.get(operation.id);
+            if (!resultat) {
+              outcomes.push({ operation, success: false, error: 'Résultat absent de la réponse' });
+            } else if (resultat.statut === 'REJETE') {
+              // Rejet définitif (solde insuffisant, client inconnu) : ne pas renvoyer
+              console.warn(`Opération ${operation.id} rejetée:`, resultat.errorCode, resultat.message);
+              outcomes.push({ operation, success: false, rejected: true, error: resultat.message });
+            } else {
+              outcomes.push({ operation, success: true });
+            }
+          }
+        } catch (error) {
+          console.error(`Erreur lors de l'envoi du lot du collecteur ${collecteurId}:`, error);
+          batch.forEach(operation => outcomes.push({ operation, success: false, error: error.message }));
+        }
+      }
+    }
+
+    return outcomes;
+  }
+
+  // Opération sans collecteur connu : jamais envoyée en lot (enregistrerLot exige un collecteur)
+  // - aucune session chargée : différée, sans compter de tentative
+  // - session d'un autre profil : ancien chemin /mouvements/epargne ou /retrait, opération par opération
+  async processMouvementIndividually(operation) {
+    const { authService } = await import('./index');
+    const user = await authService.getCurrentUser();
+    if (!user) {
+      return { operation, success: false, deferred: true, error: 'Collecteur inconnu : session non chargée' };
+    }
+
+    try {
+      await this.processOperation(operation);
+      return { operation, success: true };
+    } catch (error) {
+      console.error(`Erreur lors du traitement de l'opération ${operation.id}:`, error);
+      return { operation, success: false, error: error.message };
+    }
+  }
+
+  // Id du collecteur connecté, null si la session n'est pas celle d'un collecteur
+  async getSessionCollecteurId() {
+    try {
+      const { authService } = await import('./index');
+      const user = await authService.getCurrentUser();
+      return user?.role === 'COLLECTEUR' && user.id != null ? user.id : null;
+    } catch (error) {
+      console.warn('Session indisponible pour résoudre le collecteur:', error);
+      return null;
+    }
+  }
+
   // Traiter une opération spécifique
   async processOperation(operation) {
     const { type, data } = operation;
@@ -243,7 +377,7 @@ class SyncService {
         
       case 'CREATE_TRANSACTION':
         const { transactionService } = await import('./index');
-        return await transactionService.enregistrerEpargne(data);
+        return await transactionService.effectuerEpargne(data);
         
       case 'WITHDRAWAL':
         const { transactionService: withdrawalService } = await import('./index');
@@ -5,12 +5,45 @@ import authService from './authService';
 class ClientService extends BaseApiService {
   constructor() {
     super();
+    // Dernière réponse par URL de liste (ETag + corps) pour les requêtes conditionnelles
+    this.conditionalCache = new Map();
+  }
+
+  /**
+   * GET conditionnel : renvoie If-None-Match et réutilise le corps mémorisé sur 304
+   * Le serveur répond 304 sans recalculer les statistiques quand rien n'a changé
+   */
+  async getConditional(url, config = {}) {
+    const cacheKey = `${url}?${JSON.stringify(config.params || {})}`;
+    const cached = this.conditionalCache.get(cacheKey);
+
+    const response = await this.axios.get(url, {
+      ...config,
+      headers: {
+        ...(config.headers || {}),
+        ...(cached ? { 'If-None-Match': cached.etag } : {})
+      },
+      validateStatus: (status) => (status >= 200 && status < 300) || status === 304
+    });
+
+    if (response.status === 304 && cached) {
+      console.log('♻️ Réponse inchangée (304):', url);
+      return { ...response, data: cached.data };
+    }
+
+    const etag = response.headers?.etag;
+    if (etag) {
+      this.conditionalCache.set(cacheKey, { etag, data: response.data });
+    } else {
+      this.conditionalCache.delete(cacheKey);
+    }
+    return response;
   }
 
   /**
    * Récupérer tous les clients (filtrés par agence côté backend)
    */
-  async getAllClients({ page = 0, size = 20, search = '', collecteurId = null } = {}) {
+  async getAllClients({ page = 0, size = 20, search = '', collecteurId = null, view = null } = {}) {
     try {
       console.log('📱 ClientService.getAllClients - Détection automatique du rôle...');
       
@@ -33,7 +66,7 @@ class ClientService extends BaseApiService {
         return await this.getClientsForAdmin({ page, size, search, collecteurId });
       } else if (user.role === 'COLLECTEUR' || user.role === 'ROLE_COLLECTEUR') {
         console.log('🎯 Utilisateur Collecteur détecté - Utilisation endpoint /clients/collecteur');
-        return await this.getClientsForCollecteur(user.id, { page, size, search });
+        return await this.getClientsForCollecteur(user.id, { page, size, search, view });
       } else {
         throw new Error(`Rôle non autorisé: ${user.role}`);
       }
@@ -116,7 +149,7 @@ class ClientService extends BaseApiService {
   /**
    * MÉTHODE SPÉCIFIQUE COLLECTEUR - Accès à ses propres clients uniquement
    */
-  async getClientsForCollecteur(collecteurId, { page = 0, size = 20, search = '' } = {}) {
+  async getClientsForCollecteur(collecteurId, { page = 0, size = 20, search = '', view = null } = {}) {
     try {
       console.log('👨‍🏭 API Collecteur: GET /clients/collecteur/', collecteurId);
       
@@ -126,12 +159,14 @@ class ClientService extends BaseApiService {
       
       const params = { page, size };
       if (search?.trim()) params.search = search.trim();
+      // Vue partielle ('list' : nom, compte, solde - sans statistiques ni transactions)
+      if (view) params.view = view;
       
       // HEADERS AVEC VALIDATION TOKEN
       const headers = await authService.getApiHeaders();
       
-      // UTILISER L'ENDPOINT COLLECTEUR EXISTANT
-      const response = await this.axios.get(`/clients/collecteur/${collecteurId}`, { 
+      // UTILISER L'ENDPOINT COLLECTEUR EXISTANT (conditionnel : 304 si rien n'a changé)
+      const response = await this.getConditional(`/clients/collecteur/${collecteurId}`, { 
         params, 
         headers 
       });
@@ -404,13 +439,28 @@ class ClientService extends BaseApiService {
 
   /**
    * Rechercher des clients
+   * Sans collecteurId : clients du collecteur connecté, ou de l'agence de l'administrateur
+   * (le backend exige collecteurId sur /clients/search)
    */
   async searchClients(query, collecteurId = null) {
     try {
+      if (!collecteurId) {
+        const user = await authService.getCurrentUser();
+        if (user?.role === 'COLLECTEUR') {
+          collecteurId = user.id;
+        } else if (user?.agenceId) {
+          console.log('📱 API: GET /clients/agence/', user.agenceId, '/search');
+          const response = await this.axios.get(`/clients/agence/${user.agenceId}/search`, {
+            params: { query }
+          });
+          return this.formatResponse(response, 'Recherche effectuée');
+        }
+      }
+
       console.log('📱 API: GET /clients/search');
       const params = { q: query };
       if (collecteurId) params.collecteurId = collecteurId;
-      
+
       const response = await this.axios.get('/clients/search', { params });
       return this.formatResponse(response, 'Recherche effectuée');
     } catch (error) {
@@ -1295,7 +1345,10 @@ class ClientService extends BaseApiService {
       
       const params = { query: query.trim(), limit };
       const response = await this.axios.get(`/clients/collecteur/${collecteurId}/search-unified`, { params });
-      return this.formatResponse(response, 'Recherche unifiée effectuée');
+      const result = this.formatResponse(response, 'Recherche unifiée effectuée');
+      // Index serveur : meilleurs résultats d'abord (compte, téléphone, puis nom)
+      result.data = Array.isArray(result.data) ? result.data.map(client => this.formatClientForSearch(client)) : [];
+      return result;
       
     } catch (error) {
       // Fallback vers recherche normale si endpoint pas encore déployé
@@ -1321,7 +1374,10 @@ class ClientService extends BaseApiService {
       const response = await this.axios.get(
         `/clients/collecteur/${collecteurId}/by-account/${encodeURIComponent(accountNumber.trim())}`
       );
-      return this.formatResponse(response, 'Client trouvé par numéro de compte');
+      const result = this.formatResponse(response, 'Client trouvé par numéro de compte');
+      // Aucun client : data null (le 404 est réservé à un serveur sans cet endpoint)
+      result.data = result.data?.id ? this.formatClientForSearch(result.data) : null;
+      return result;
       
     } catch (error) {
       // Fallback vers recherche manuelle
@@ -1475,6 +1531,17 @@ class ClientService extends BaseApiService {
   // 🔧 UTILITAIRES AMÉLIORÉS
   // ========================================
 
+  /**
+   * Format commun des résultats de recherche (suggestions, sélection)
+   */
+  formatClientForSearch(client) {
+    return {
+      ...client,
+      displayName: `${client.prenom || ''} ${client.nom || ''}`.trim(),
+      hasPhone: !!(client.telephone && client.telephone.trim() !== '')
+    };
+  }
+
   /**
    * Détection automatique du type de recherche (nom vs numéro)
    */
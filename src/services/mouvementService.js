@@ -106,6 +106,22 @@ class MouvementService extends BaseApiService {
     }
   }
 
+  // ✅ LOT DE MOUVEMENTS SAISIS HORS LIGNE (un résultat par élément, clé d'idempotence obligatoire)
+  async enregistrerLot(collecteurId, mouvements) {
+    try {
+      console.log('📥 API: POST /mouvements/bulk -', mouvements.length, 'mouvement(s)');
+      const response = await this.axios.post('/mouvements/bulk', {
+        collecteurId,
+        mouvements,
+      });
+
+      return this.formatResponse(response, 'Lot de mouvements traité');
+    } catch (error) {
+      console.error('Erreur lors de l\'envoi du lot de mouvements:', error);
+      throw this.handleError(error, 'Erreur lors de l\'envoi du lot de mouvements');
+    }
+  }
+
   // ✅ NOUVELLE MÉTHODE: Vérification du solde avant retrait
   async verifierSoldeRetrait(clientId, montant) {
     try {